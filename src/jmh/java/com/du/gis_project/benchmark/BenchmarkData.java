@@ -0,0 +1,203 @@
+package com.du.gis_project.benchmark;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.entity.RiskPoint;
+import com.du.gis_project.domain.entity.RiskType;
+import com.du.gis_project.repository.RiskPointBulkWriter;
+import com.du.gis_project.service.CsvImportService;
+import com.du.gis_project.service.ImportProgress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 벤치마크 공용 데이터
+ *
+ * 배율 1은 번들된 static/data/*.csv를 그대로 사용하고, 10/100배는 원본 시설물마다 좌표를 약 100m 이내로
+ * 흔든 복제본을 추가하여 같은 형식의 CSV로 만듭니다. (시드 고정, JVM마다 한 번 생성)
+ * DB 없이 실행하기 위해 적재는 메모리에 모으기만 하는 RiskPointBulkWriter를 사용합니다.
+ */
+final class BenchmarkData {
+
+    private static final String[] FILES = { "cctv.csv", "police.csv", "streetlight.csv" };
+    // 복제본 좌표 흔들기 폭 (도)
+    private static final double JITTER = 0.001;
+
+    private static final Map<Integer, Path> DATASETS = new HashMap<>();
+    private static final Map<Integer, List<RiskPoint>> FACILITIES = new HashMap<>();
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * application.yml의 gis 설정을 바인딩합니다. (스프링 컨텍스트 없이)
+     */
+    static GisConfig loadConfig() {
+        try {
+            Binder binder = new Binder(ConfigurationPropertySources.from(
+                    new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"))));
+            return binder.bind("gis", GisConfig.class).get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 배율별 CSV 디렉터리 (gis.import.data-location에 그대로 쓸 수 있는 file: URI)
+     */
+    static synchronized String dataLocation(int scale) {
+        Path dir = DATASETS.get(scale);
+        if (dir == null) {
+            try {
+                dir = scale == 1 ? copyBundled() : synthesize(scale);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            DATASETS.put(scale, dir);
+        }
+        return dir.toUri().toString();
+    }
+
+    /**
+     * 배율별 전체 시설물 목록 (임포트 결과와 동일한 좌표/가중치)
+     */
+    static synchronized List<RiskPoint> facilities(int scale) {
+        List<RiskPoint> points = FACILITIES.get(scale);
+        if (points == null) {
+            points = new ArrayList<>();
+            for (List<RiskPoint> typed : importAll(dataLocation(scale)).values()) {
+                points.addAll(typed);
+            }
+            FACILITIES.put(scale, points);
+        }
+        return points;
+    }
+
+    /**
+     * 재적재 모드와 메모리 적재기를 사용하는 임포트 서비스 (지오코딩을 쓰지 않으므로 지오코딩 서비스 없음)
+     */
+    static CsvImportService importService(String dataLocation, RiskPointBulkWriter writer, GisConfig config) {
+        config.getImport().setMode("reload");
+        config.getImport().setDataLocation(dataLocation);
+        return new CsvImportService(writer, config, null, event -> {
+        }, new SimpleMeterRegistry());
+    }
+
+    private static Map<RiskType, List<RiskPoint>> importAll(String dataLocation) {
+        GisConfig config = loadConfig();
+        CollectingBulkWriter writer = new CollectingBulkWriter(config);
+        CsvImportService service = importService(dataLocation, writer, config);
+        Map<RiskType, List<RiskPoint>> result = new EnumMap<>(RiskType.class);
+        for (RiskType type : RiskType.values()) {
+            writer.points.clear();
+            service.importType(type, new ImportProgress(type));
+            result.put(type, new ArrayList<>(writer.points));
+        }
+        return result;
+    }
+
+    private static Path copyBundled() throws IOException {
+        Path dir = Files.createTempDirectory("gis-bench-x1-");
+        for (String file : FILES) {
+            try (InputStream in = new ClassPathResource("static/data/" + file).getInputStream()) {
+                Files.copy(in, dir.resolve(file), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return dir;
+    }
+
+    /**
+     * 원본 시설물을 scale배로 복제한 CSV를 만듭니다. 열 배치는 각 타입의 임포트 설정에 맞춤
+     * (CCTV: 관리번호/위도/경도 헤더, 경찰: 0=경도 1=위도, 가로등: 위도/경도 헤더)
+     */
+    private static Path synthesize(int scale) throws IOException {
+        Map<RiskType, List<RiskPoint>> base = importAll(dataLocation(1));
+        Path dir = Files.createTempDirectory("gis-bench-x" + scale + "-");
+        Random random = new Random(scale);
+
+        try (BufferedWriter out = Files.newBufferedWriter(dir.resolve("cctv.csv"), StandardCharsets.UTF_8)) {
+            out.write("관리번호,위도,경도\n");
+            int n = 0;
+            for (double[] p : replicate(base.get(RiskType.CCTV), scale, random)) {
+                out.write("C" + (n++) + "," + p[0] + "," + p[1] + "\n");
+            }
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(dir.resolve("police.csv"), StandardCharsets.UTF_8)) {
+            out.write("경도,위도\n");
+            for (double[] p : replicate(base.get(RiskType.POLICE), scale, random)) {
+                out.write(p[1] + "," + p[0] + "\n");
+            }
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(dir.resolve("streetlight.csv"), StandardCharsets.UTF_8)) {
+            out.write("위도,경도\n");
+            for (double[] p : replicate(base.get(RiskType.STREET_LIGHT), scale, random)) {
+                out.write(p[0] + "," + p[1] + "\n");
+            }
+        }
+        return dir;
+    }
+
+    private static List<double[]> replicate(List<RiskPoint> points, int scale, Random random) {
+        List<double[]> result = new ArrayList<>(points.size() * scale);
+        for (RiskPoint p : points) {
+            result.add(new double[] { p.getLatitude(), p.getLongitude() });
+            for (int k = 1; k < scale; k++) {
+                result.add(new double[] {
+                        p.getLatitude() + (random.nextDouble() * 2 - 1) * JITTER,
+                        p.getLongitude() + (random.nextDouble() * 2 - 1) * JITTER });
+            }
+        }
+        return result;
+    }
+
+    /**
+     * DB 대신 메모리에 모으는 적재기 (points를 비우지 않으면 계속 쌓임)
+     */
+    static final class CollectingBulkWriter extends RiskPointBulkWriter {
+        final List<RiskPoint> points = new ArrayList<>();
+        private final boolean keep;
+
+        CollectingBulkWriter(GisConfig config) {
+            this(config, true);
+        }
+
+        CollectingBulkWriter(GisConfig config, boolean keep) {
+            super(null, null, config);
+            this.keep = keep;
+        }
+
+        @Override
+        public String getMode() {
+            return "memory";
+        }
+
+        @Override
+        public int deleteByType(RiskType type) {
+            return 0;
+        }
+
+        @Override
+        public void insert(List<RiskPoint> batch) {
+            if (keep) {
+                points.addAll(batch);
+            }
+        }
+    }
+}
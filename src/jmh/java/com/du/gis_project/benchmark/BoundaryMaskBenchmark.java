@@ -0,0 +1,70 @@
+package com.du.gis_project.benchmark;
+
+import com.du.gis_project.domain.entity.RiskPoint;
+import com.du.gis_project.service.CityBoundaryMask;
+import com.du.gis_project.service.RiskIntegrationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 성남 구역 판정 (이전 isInsideSeongnam): 시설물 좌표 전체 판정, 마스크 생성, 격자 마스크 계산
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoundaryMaskBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int scale;
+
+    private CityBoundaryMask mask;
+    private double[] lats;
+    private double[] lons;
+    private double[] gridLats;
+    private double[] gridLons;
+
+    @Setup
+    public void setUp() {
+        mask = new CityBoundaryMask();
+        List<RiskPoint> points = BenchmarkData.facilities(scale);
+        lats = new double[points.size()];
+        lons = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            lats[i] = points.get(i).getLatitude();
+            lons[i] = points.get(i).getLongitude();
+        }
+        // 히트맵 계산과 같은 격자 축
+        RiskIntegrationService grid = new RiskIntegrationService(null, BenchmarkData.loadConfig(), mask,
+                new SimpleMeterRegistry());
+        gridLats = grid.getLatAxis();
+        gridLons = grid.getLonAxis();
+    }
+
+    @Benchmark
+    public int containsFacilities() {
+        int inside = 0;
+        for (int i = 0; i < lats.length; i++) {
+            if (mask.contains(lats[i], lons[i])) {
+                inside++;
+            }
+        }
+        return inside;
+    }
+
+    @Benchmark
+    public BitSet buildGridMask() {
+        // 캐시를 거치지 않도록 매번 새 인스턴스 (래스터 분류 포함)
+        return new CityBoundaryMask().gridMask(gridLats, gridLons);
+    }
+}
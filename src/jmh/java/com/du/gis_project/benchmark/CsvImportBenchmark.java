@@ -0,0 +1,48 @@
+package com.du.gis_project.benchmark;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.entity.RiskType;
+import com.du.gis_project.service.CsvImportService;
+import com.du.gis_project.service.ImportProgress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV 임포트 (importFile: 읽기 + 토큰화 + 좌표 파싱 + 자연 키 + 배치 구성)
+ * DB 적재 시간은 제외됩니다. (적재기는 배치를 버림)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvImportBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int scale;
+
+    @Param({ "CCTV", "POLICE", "STREET_LIGHT" })
+    public RiskType type;
+
+    private CsvImportService service;
+
+    @Setup
+    public void setUp() {
+        GisConfig config = BenchmarkData.loadConfig();
+        service = BenchmarkData.importService(BenchmarkData.dataLocation(scale),
+                new BenchmarkData.CollectingBulkWriter(config, false), config);
+    }
+
+    @Benchmark
+    public long importFile() {
+        ImportProgress progress = new ImportProgress(type);
+        service.importType(type, progress);
+        return progress.getSuccessCount();
+    }
+}
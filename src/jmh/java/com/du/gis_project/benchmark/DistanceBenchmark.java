@@ -0,0 +1,60 @@
+package com.du.gis_project.benchmark;
+
+import com.du.gis_project.util.DistanceUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거리 계산 비교: 하버사인 vs 등장방형 제곱거리 (300m 이내 좌표 쌍 1024개)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DistanceBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    private final double[] lat1 = new double[PAIRS];
+    private final double[] lon1 = new double[PAIRS];
+    private final double[] lat2 = new double[PAIRS];
+    private final double[] lon2 = new double[PAIRS];
+    private final double[] scale = new double[PAIRS];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < PAIRS; i++) {
+            lat1[i] = 37.33 + random.nextDouble() * 0.16;
+            lon1[i] = 127.05 + random.nextDouble() * 0.13;
+            lat2[i] = lat1[i] + (random.nextDouble() * 2 - 1) * 0.0027;
+            lon2[i] = lon1[i] + (random.nextDouble() * 2 - 1) * 0.0034;
+            scale[i] = DistanceUtil.lonScale(lat1[i]);
+        }
+    }
+
+    @Benchmark
+    public double haversine() {
+        double sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += DistanceUtil.calculateDistance(lat1[i], lon1[i], lat2[i], lon2[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double projectedSq() {
+        double sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += DistanceUtil.projectedDistanceSq(lat1[i], lon1[i], lat2[i], lon2[i], scale[i]);
+        }
+        return sum;
+    }
+}
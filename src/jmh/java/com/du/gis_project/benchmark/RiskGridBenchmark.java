@@ -0,0 +1,54 @@
+package com.du.gis_project.benchmark;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.repository.InMemoryRiskPointRepository;
+import com.du.gis_project.service.CityBoundaryMask;
+import com.du.gis_project.service.RiskIntegrationService;
+import com.du.gis_project.service.RiskScoreGrid;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 위험도 격자 전체 계산 (calculateGrid: 시설물 필터링 + 인덱스 구성 + 격자 점수)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RiskGridBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int scale;
+
+    @Param({ "true", "false" })
+    public boolean parallel;
+
+    private RiskIntegrationService service;
+
+    @Setup
+    public void setUp() {
+        GisConfig config = BenchmarkData.loadConfig();
+        config.getMap().getGrid().setParallel(parallel);
+        service = new RiskIntegrationService(InMemoryRiskPointRepository.of(BenchmarkData.facilities(scale)), config,
+                new CityBoundaryMask(), new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public RiskScoreGrid calculateScoreGrid() {
+        return service.calculateScoreGrid();
+    }
+}
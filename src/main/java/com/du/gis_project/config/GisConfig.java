@@ -3,6 +3,10 @@ package com.du.gis_project.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * application.yml에 정의된 'gis' 설정을 읽어오는 클래스입니다.
  */
@@ -12,6 +16,9 @@ public class GisConfig {
 
     private Vworld vworld = new Vworld();
     private Map map = new Map();
+    // 'import'는 예약어라 필드명만 다르게 둠 (바인딩은 getter/setter 이름 기준: gis.import.*)
+    private Import importSettings = new Import();
+    private Api api = new Api();
 
     public Vworld getVworld() {
         return vworld;
@@ -29,8 +36,32 @@ public class GisConfig {
         this.map = map;
     }
 
+    public Import getImport() {
+        return importSettings;
+    }
+
+    public void setImport(Import importSettings) {
+        this.importSettings = importSettings;
+    }
+
+    public Api getApi() {
+        return api;
+    }
+
+    public void setApi(Api api) {
+        this.api = api;
+    }
+
     public static class Vworld {
         private String key;
+        // VWorld API 주소 (테스트에서는 로컬 스텁 서버로 변경)
+        private String baseUrl = "https://api.vworld.kr";
+        // 주소 검색 단계 호출 방식: parallel(모든 단계 동시 호출 후 우선순위로 선택), sequential(결과가 나올 때까지 차례로)
+        private String searchMode = "parallel";
+        // parallel 모드 동시 호출 스레드 수
+        private int searchThreads = 16;
+        private Cache cache = new Cache();
+        private Http http = new Http();
 
         public String getKey() {
             return key;
@@ -39,12 +70,159 @@ public class GisConfig {
         public void setKey(String key) {
             this.key = key;
         }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public String getSearchMode() {
+            return searchMode;
+        }
+
+        public void setSearchMode(String searchMode) {
+            this.searchMode = searchMode;
+        }
+
+        public int getSearchThreads() {
+            return searchThreads;
+        }
+
+        public void setSearchThreads(int searchThreads) {
+            this.searchThreads = searchThreads;
+        }
+
+        public Cache getCache() {
+            return cache;
+        }
+
+        public void setCache(Cache cache) {
+            this.cache = cache;
+        }
+
+        public Http getHttp() {
+            return http;
+        }
+
+        public void setHttp(Http http) {
+            this.http = http;
+        }
+
+        public static class Cache {
+            // 캐시별 최대 항목 수 (검색/역지오코딩 각각)
+            private long maxSize = 10000;
+            // 결과가 있는 응답 보관 시간
+            private Duration ttl = Duration.ofHours(24);
+            // 결과 없음(NOT_FOUND) 응답 보관 시간
+            private Duration negativeTtl = Duration.ofHours(1);
+            // 역지오코딩 좌표 반올림 자릿수 (소수점 4자리 = 약 10m)
+            private int coordinatePrecision = 4;
+
+            public long getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(long maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public Duration getTtl() {
+                return ttl;
+            }
+
+            public void setTtl(Duration ttl) {
+                this.ttl = ttl;
+            }
+
+            public Duration getNegativeTtl() {
+                return negativeTtl;
+            }
+
+            public void setNegativeTtl(Duration negativeTtl) {
+                this.negativeTtl = negativeTtl;
+            }
+
+            public int getCoordinatePrecision() {
+                return coordinatePrecision;
+            }
+
+            public void setCoordinatePrecision(int coordinatePrecision) {
+                this.coordinatePrecision = coordinatePrecision;
+            }
+        }
+
+        public static class Http {
+            // 연결 수립 제한 시간
+            private Duration connectTimeout = Duration.ofSeconds(2);
+            // 요청 전송 후 응답 대기 제한 시간
+            private Duration readTimeout = Duration.ofSeconds(5);
+            // 검색/역지오코딩에서 동시에 진행할 수 있는 최대 호출 수 (임포트 지오코딩은 Import.Geocode 한도 사용)
+            private int maxConcurrent = 16;
+            // 동시 호출 한도에 걸렸을 때 빈 자리를 기다리는 최대 시간 (초과 시 바로 실패)
+            private Duration acquireTimeout = Duration.ofSeconds(1);
+            // 서킷을 여는 연속 실패 횟수
+            private int failureThreshold = 5;
+            // 서킷이 열린 뒤 호출을 차단하는 시간 (이후 시험 호출 한 번으로 복구 확인)
+            private Duration openDuration = Duration.ofSeconds(30);
+
+            public Duration getConnectTimeout() {
+                return connectTimeout;
+            }
+
+            public void setConnectTimeout(Duration connectTimeout) {
+                this.connectTimeout = connectTimeout;
+            }
+
+            public Duration getReadTimeout() {
+                return readTimeout;
+            }
+
+            public void setReadTimeout(Duration readTimeout) {
+                this.readTimeout = readTimeout;
+            }
+
+            public int getMaxConcurrent() {
+                return maxConcurrent;
+            }
+
+            public void setMaxConcurrent(int maxConcurrent) {
+                this.maxConcurrent = maxConcurrent;
+            }
+
+            public Duration getAcquireTimeout() {
+                return acquireTimeout;
+            }
+
+            public void setAcquireTimeout(Duration acquireTimeout) {
+                this.acquireTimeout = acquireTimeout;
+            }
+
+            public int getFailureThreshold() {
+                return failureThreshold;
+            }
+
+            public void setFailureThreshold(int failureThreshold) {
+                this.failureThreshold = failureThreshold;
+            }
+
+            public Duration getOpenDuration() {
+                return openDuration;
+            }
+
+            public void setOpenDuration(Duration openDuration) {
+                this.openDuration = openDuration;
+            }
+        }
     }
 
     public static class Map {
         private Center center = new Center();
         private Bounds bounds = new Bounds();
         private Grid grid = new Grid();
+        private Heatmap heatmap = new Heatmap();
 
         public Center getCenter() {
             return center;
@@ -70,6 +248,14 @@ public class GisConfig {
             this.grid = grid;
         }
 
+        public Heatmap getHeatmap() {
+            return heatmap;
+        }
+
+        public void setHeatmap(Heatmap heatmap) {
+            this.heatmap = heatmap;
+        }
+
         public static class Center {
             private double lon;
             private double lat;
@@ -133,6 +319,19 @@ public class GisConfig {
         public static class Grid {
             private double stepLat;
             private double stepLon;
+            // 위도 행 단위 병렬 계산 사용 여부
+            private boolean parallel = true;
+            // 병렬 계산 스레드 수 (0 이하이면 CPU 코어 수)
+            private int parallelism = 0;
+            // 계산 격자 세분 배수 (계산 간격 = step / refine). 기본 1은 설정 간격 그대로 계산하며(가장 세밀한 레벨 = step),
+            // 2 이상이면 더 세밀한 레벨이 생기는 대신 전체 계산 칸 수가 refine^2배로 늘어남 (선택 사항)
+            private int refine = 1;
+            // 피라미드 레벨: 계산 격자 칸을 몇 칸씩 묶는지 (1 = 계산 격자, refine = step 간격의 기본 레벨)
+            private List<Integer> pyramidFactors = new ArrayList<>(List.of(1, 4, 8));
+            // 줌별 레벨 선택 기준: 화면에서 한 칸이 최소 이 픽셀 이상이 되는 가장 세밀한 레벨
+            private int targetCellPixels = 8;
+            // 화면 영역 응답의 최대 칸 수 (넘으면 더 성긴 레벨 사용)
+            private int maxCellsPerView = 40000;
 
             public double getStepLat() {
                 return stepLat;
@@ -149,6 +348,225 @@ public class GisConfig {
             public void setStepLon(double stepLon) {
                 this.stepLon = stepLon;
             }
+
+            public boolean isParallel() {
+                return parallel;
+            }
+
+            public void setParallel(boolean parallel) {
+                this.parallel = parallel;
+            }
+
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            public void setParallelism(int parallelism) {
+                this.parallelism = parallelism;
+            }
+
+            public int getRefine() {
+                return refine;
+            }
+
+            public void setRefine(int refine) {
+                this.refine = refine;
+            }
+
+            public List<Integer> getPyramidFactors() {
+                return pyramidFactors;
+            }
+
+            public void setPyramidFactors(List<Integer> pyramidFactors) {
+                this.pyramidFactors = pyramidFactors;
+            }
+
+            public int getTargetCellPixels() {
+                return targetCellPixels;
+            }
+
+            public void setTargetCellPixels(int targetCellPixels) {
+                this.targetCellPixels = targetCellPixels;
+            }
+
+            public int getMaxCellsPerView() {
+                return maxCellsPerView;
+            }
+
+            public void setMaxCellsPerView(int maxCellsPerView) {
+                this.maxCellsPerView = maxCellsPerView;
+            }
+        }
+
+        public static class Heatmap {
+            // 타일 색상 그라디언트 (heatmap.js의 ol.layer.Heatmap gradient와 동일)
+            private List<String> gradient = new ArrayList<>(
+                    List.of("#0000ff", "#00ffff", "#00ff00", "#ffff00", "#ff0000"));
+            // 렌더링된 타일 PNG를 보관할 최대 개수 (LRU)
+            private int tileCacheSize = 2048;
+
+            public List<String> getGradient() {
+                return gradient;
+            }
+
+            public void setGradient(List<String> gradient) {
+                this.gradient = gradient;
+            }
+
+            public int getTileCacheSize() {
+                return tileCacheSize;
+            }
+
+            public void setTileCacheSize(int tileCacheSize) {
+                this.tileCacheSize = tileCacheSize;
+            }
+        }
+    }
+
+    public static class Import {
+        // 재적재 방식: delta(자연 키 기준 변경분만 반영), reload(타입별 전체 삭제 후 재적재)
+        private String mode = "delta";
+        // CSV 적재 방식: copy(PostgreSQL COPY), batch(JDBC 배치 INSERT), jpa(saveAll)
+        private String bulkMode = "copy";
+        // 한 번에 적재할 행 수
+        private int batchSize = 5000;
+        // CSV 파일 위치 (classpath: 또는 file: 경로, 끝에 / 포함)
+        private String dataLocation = "classpath:static/data/";
+        private Geocode geocode = new Geocode();
+
+        public String getMode() {
+            return mode;
+        }
+
+        public void setMode(String mode) {
+            this.mode = mode;
+        }
+
+        public String getBulkMode() {
+            return bulkMode;
+        }
+
+        public void setBulkMode(String bulkMode) {
+            this.bulkMode = bulkMode;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public String getDataLocation() {
+            return dataLocation;
+        }
+
+        public void setDataLocation(String dataLocation) {
+            this.dataLocation = dataLocation;
+        }
+
+        public Geocode getGeocode() {
+            return geocode;
+        }
+
+        public void setGeocode(Geocode geocode) {
+            this.geocode = geocode;
+        }
+
+        public static class Geocode {
+            // 초당 VWorld 지오코딩 호출 수 (토큰 버킷 충전 속도)
+            private double ratePerSecond = 20;
+            // 한꺼번에 보낼 수 있는 최대 호출 수 (토큰 버킷 크기)
+            private int burst = 20;
+            // 동시에 진행할 수 있는 최대 호출 수 (VWorld 클라이언트의 지오코딩 전용 동시 호출 한도)
+            private int maxConcurrent = 8;
+            // 주소 하나당 최대 시도 횟수 (시간 초과, 5xx, 429만 재시도)
+            private int maxAttempts = 3;
+            // 첫 재시도 대기 시간 (시도마다 두 배, max-backoff까지)
+            private Duration initialBackoff = Duration.ofMillis(200);
+            private Duration maxBackoff = Duration.ofSeconds(5);
+            // 결과 없음으로 저장된 주소를 다시 조회하지 않는 기간
+            private Duration negativeTtl = Duration.ofDays(7);
+            // 한 번에 모아서 지오코딩할 행 수
+            private int batchSize = 500;
+
+            public double getRatePerSecond() {
+                return ratePerSecond;
+            }
+
+            public void setRatePerSecond(double ratePerSecond) {
+                this.ratePerSecond = ratePerSecond;
+            }
+
+            public int getBurst() {
+                return burst;
+            }
+
+            public void setBurst(int burst) {
+                this.burst = burst;
+            }
+
+            public int getMaxConcurrent() {
+                return maxConcurrent;
+            }
+
+            public void setMaxConcurrent(int maxConcurrent) {
+                this.maxConcurrent = maxConcurrent;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public Duration getInitialBackoff() {
+                return initialBackoff;
+            }
+
+            public void setInitialBackoff(Duration initialBackoff) {
+                this.initialBackoff = initialBackoff;
+            }
+
+            public Duration getMaxBackoff() {
+                return maxBackoff;
+            }
+
+            public void setMaxBackoff(Duration maxBackoff) {
+                this.maxBackoff = maxBackoff;
+            }
+
+            public Duration getNegativeTtl() {
+                return negativeTtl;
+            }
+
+            public void setNegativeTtl(Duration negativeTtl) {
+                this.negativeTtl = negativeTtl;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+        }
+    }
+
+    public static class Api {
+        // 전체/타입별 시설물 JSON 스트리밍 시 DB 커서에서 한 번에 가져올 행 수
+        private int streamFetchSize = 2000;
+
+        public int getStreamFetchSize() {
+            return streamFetchSize;
+        }
+
+        public void setStreamFetchSize(int streamFetchSize) {
+            this.streamFetchSize = streamFetchSize;
         }
     }
 }
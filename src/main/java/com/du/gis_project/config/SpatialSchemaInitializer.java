@@ -0,0 +1,47 @@
+package com.du.gis_project.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * risk_points 공간 컬럼의 부가 스키마를 준비하는 초기화 클래스
+ *
+ * JPA(ddl-auto)로는 GiST 인덱스를 만들 수 없으므로 기동 시 직접 생성하고,
+ * location 컬럼 추가 이전에 적재된 행은 위경도 값으로 채웁니다.
+ * (데이터베이스에 PostGIS 확장이 설치되어 있어야 합니다: CREATE EXTENSION postgis)
+ *
+ * 반경/영역 조회는 location 컬럼만 사용하므로, 채우기나 인덱스 생성에 실패하면 조회 결과가 빠지거나
+ * 전체 테이블을 훑게 됩니다. 이런 상태로 서비스하지 않도록 실패 시 기동을 중단합니다.
+ */
+@Component
+public class SpatialSchemaInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SpatialSchemaInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SpatialSchemaInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int filled = jdbcTemplate.update("UPDATE risk_points "
+                    + "SET location = CAST(ST_SetSRID(ST_MakePoint(longitude, latitude), 4326) AS geography) "
+                    + "WHERE location IS NULL");
+            if (filled > 0) {
+                log.info("risk_points.location 채움: {}건", filled);
+            }
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_risk_points_location "
+                    + "ON risk_points USING GIST (location)");
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("공간 스키마 초기화 실패 (PostGIS 설치 여부 확인 필요): " + e.getMessage(), e);
+        }
+    }
+}
@@ -1,52 +1,190 @@
 package com.du.gis_project.controller;
 
+import com.du.gis_project.domain.dto.AddressSearchResultDto;
+import com.du.gis_project.domain.dto.RiskClusterDto;
+import com.du.gis_project.domain.dto.RiskGrid;
 import com.du.gis_project.domain.dto.RiskPointDto;
+import com.du.gis_project.domain.dto.RiskPointPageDto;
 import com.du.gis_project.domain.entity.RiskType;
-import com.du.gis_project.service.CsvImportService;
-import com.du.gis_project.service.RiskService;
+import com.du.gis_project.service.HeatmapSnapshot;
+import com.du.gis_project.service.ImportJob;
+import com.du.gis_project.service.ImportJobService;
+import com.du.gis_project.service.RiskClusterIndex;
+import com.du.gis_project.service.RiskHeatmapCache;
 import com.du.gis_project.service.RiskIntegrationService;
+import com.du.gis_project.service.RiskResponseCache;
+import com.du.gis_project.service.RiskService;
+import com.du.gis_project.service.VWorldClient;
+import com.du.gis_project.service.VWorldService;
 import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.util.CompressedBody;
+import com.du.gis_project.util.RiskBinaryEncoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 public class RiskApiController {
 
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(RiskApiController.class);
 
-    private final CsvImportService csvImportService;
+    // 영역 조회 시 한 페이지 기본/최대 건수
+    private static final int DEFAULT_PAGE_SIZE = 5000;
+    private static final int MAX_PAGE_SIZE = 20000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    // 반경 조회 최대 반경 (미터)
+    private static final double MAX_NEARBY_RADIUS = 5000.0;
+    // 형식(Accept)과 압축(Accept-Encoding)에 따라 본문이 달라지는 응답의 Vary 헤더
+    private static final String[] VARY_HEADERS = { HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING };
+
+    private final ImportJobService importJobService;
     private final RiskService riskService;
-    private final RiskIntegrationService riskIntegrationService;
+    private final RiskHeatmapCache riskHeatmapCache;
+    private final RiskClusterIndex riskClusterIndex;
+    private final VWorldService vworldService;
     private final GisConfig gisConfig;
-
-    public RiskApiController(CsvImportService csvImportService, RiskService riskService,
-            RiskIntegrationService riskIntegrationService, GisConfig gisConfig) {
-        this.csvImportService = csvImportService;
+    private final RiskResponseCache riskResponseCache;
+    private final ObjectMapper objectMapper;
+    // 클라이언트 설정 응답 본문과 ETag (설정은 기동 후 바뀌지 않으므로 첫 요청 때 한 번만 만듦)
+    private volatile CompressedBody configBody;
+    private volatile String configEtag;
+    // 히트맵 조건부 요청 결과 (304 = 클라이언트 캐시 적중)
+    private final Counter heatmapEtagHits;
+    private final Counter heatmapEtagMisses;
+
+    public RiskApiController(ImportJobService importJobService, RiskService riskService,
+            RiskHeatmapCache riskHeatmapCache, RiskClusterIndex riskClusterIndex, VWorldService vworldService,
+            GisConfig gisConfig, RiskResponseCache riskResponseCache, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.importJobService = importJobService;
         this.riskService = riskService;
-        this.riskIntegrationService = riskIntegrationService;
+        this.riskHeatmapCache = riskHeatmapCache;
+        this.riskClusterIndex = riskClusterIndex;
+        this.vworldService = vworldService;
         this.gisConfig = gisConfig;
+        this.riskResponseCache = riskResponseCache;
+        this.objectMapper = objectMapper;
+        this.heatmapEtagHits = meterRegistry.counter("gis.cache.gets", "cache", "heatmap-etag", "result", "hit");
+        this.heatmapEtagMisses = meterRegistry.counter("gis.cache.gets", "cache", "heatmap-etag", "result", "miss");
     }
 
     /**
-     * CSV 데이터 임포트 실행
+     * CSV 데이터 임포트 작업 시작 (백그라운드 실행, 작업 ID를 바로 반환)
+     * 이미 실행 중인 작업이 있으면 그 작업 정보를 반환합니다.
      */
     @PostMapping("/api/import")
     public ResponseEntity<Map<String, Object>> importData() {
         Map<String, Object> result = new HashMap<>();
         try {
-            csvImportService.importAllData();
+            ImportJob job = importJobService.startImportAll();
+            result.put("status", "ACCEPTED");
+            result.put("result", job);
+            result.put("message", "데이터 임포트 작업이 시작되었습니다.");
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, "/api/import/" + job.getId())
+                    .body(result);
+        } catch (Exception e) {
+            log.error("Error in data import: {}", e.getMessage(), e);
+            result.put("status", "ERROR");
+            result.put("message", e.getMessage());
+            return ResponseEntity.status(500).body(result);
+        }
+    }
+
+    /**
+     * 임포트 작업 진행 상황 조회 (파일별 처리 행 수, 처리 속도, 오류)
+     */
+    @GetMapping("/api/import/{id}")
+    public ResponseEntity<Map<String, Object>> getImportJob(@PathVariable String id) {
+        Map<String, Object> result = new HashMap<>();
+        ImportJob job = importJobService.getJob(id);
+        if (job == null) {
+            result.put("status", "NOT_FOUND");
+            result.put("message", "임포트 작업을 찾을 수 없습니다: " + id);
+            return ResponseEntity.status(404).body(result);
+        }
+        result.put("status", "OK");
+        result.put("result", job);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(result);
+    }
+
+    /**
+     * 임포트 작업 진행 상황 스트림 (SSE, 이벤트: progress / done)
+     */
+    @GetMapping(value = "/api/import/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamImportJob(@PathVariable String id) {
+        ImportJob job = importJobService.getJob(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(importJobService.subscribe(job));
+    }
+
+    /**
+     * 관리자용 시설물 추가 (위도/경도/타입 필수, 가중치 생략 시 타입 기본값)
+     * 히트맵은 전체 재계산 없이 추가된 시설 반경만 갱신됩니다.
+     */
+    @PostMapping("/api/admin/facilities")
+    public ResponseEntity<Map<String, Object>> addFacility(@RequestBody RiskPointDto request) {
+        Map<String, Object> result = new HashMap<>();
+        if (request.getType() == null || Math.abs(request.getLatitude()) > 90
+                || Math.abs(request.getLongitude()) > 180) {
+            result.put("status", "INVALID_REQUEST");
+            result.put("message", "type, latitude, longitude 값을 확인해주세요.");
+            return ResponseEntity.badRequest().body(result);
+        }
+        try {
             result.put("status", "OK");
-            result.put("message", "데이터 임포트가 완료되었습니다.");
+            result.put("result", riskService.addFacility(request));
             return ResponseEntity.ok(result);
         } catch (Exception e) {
-            log.error("Error in data import: {}", e.getMessage(), e);
+            log.error("Error in addFacility: {}", e.getMessage(), e);
+            result.put("status", "ERROR");
+            result.put("message", e.getMessage());
+            return ResponseEntity.status(500).body(result);
+        }
+    }
+
+    /**
+     * 관리자용 시설물 삭제
+     */
+    @DeleteMapping("/api/admin/facilities/{id}")
+    public ResponseEntity<Map<String, Object>> removeFacility(@PathVariable long id) {
+        Map<String, Object> result = new HashMap<>();
+        try {
+            return riskService.removeFacility(id)
+                    .map(removed -> {
+                        result.put("status", "OK");
+                        result.put("result", removed);
+                        return ResponseEntity.ok(result);
+                    })
+                    .orElseGet(() -> {
+                        result.put("status", "NOT_FOUND");
+                        result.put("message", "시설물을 찾을 수 없습니다: " + id);
+                        return ResponseEntity.status(404).body(result);
+                    });
+        } catch (Exception e) {
+            log.error("Error in removeFacility: {}", e.getMessage(), e);
             result.put("status", "ERROR");
             result.put("message", e.getMessage());
             return ResponseEntity.status(500).body(result);
@@ -55,20 +193,83 @@ public class RiskApiController {
 
     /**
      * 안전 시설물 데이터 조회 (CCTV, 경찰서, 가로등)
+     * 영역(bbox 또는 minLat/maxLat/minLon/maxLon)이나 limit/cursor를 지정하면 id 순서 페이지 단위로 응답합니다.
+     * ETag는 시설물 데이터 버전 단위입니다. 전체/타입별 목록은 JSON이면 DB 커서에서 바로 응답으로 스트리밍하고,
+     * 바이너리면 버전마다 한 번만 인코딩/압축한 본문을 재사용합니다.
      */
     @GetMapping("/api/risks")
-    public ResponseEntity<Map<String, Object>> getRisks(@RequestParam(required = false) RiskType type) {
+    public ResponseEntity<?> getRisks(WebRequest request, @RequestParam(required = false) RiskType type,
+            @RequestParam(required = false) String bbox,
+            @RequestParam(required = false) Double minLat, @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double minLon, @RequestParam(required = false) Double maxLon,
+            @RequestParam(required = false) Integer limit, @RequestParam(required = false) Long cursor,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         Map<String, Object> result = new HashMap<>();
         try {
-            List<RiskPointDto> list;
-            if (type != null) {
-                list = riskService.getRisksByType(type);
-            } else {
-                list = riskService.getAllRisks();
+            boolean bounded = bbox != null || minLat != null || maxLat != null || minLon != null || maxLon != null;
+            boolean paged = bounded || limit != null || cursor != null;
+
+            // bbox는 OpenLayers/OGC 순서: minLon,minLat,maxLon,maxLat
+            double[] bounds = { -90, 90, -180, 180 };
+            if (bbox != null) {
+                String[] parts = bbox.split(",");
+                if (parts.length != 4) {
+                    return ResponseEntity.badRequest()
+                            .body(Map.of("status", "ERROR", "message", "bbox는 minLon,minLat,maxLon,maxLat 형식이어야 합니다."));
+                }
+                bounds = new double[] { Double.parseDouble(parts[1].trim()), Double.parseDouble(parts[3].trim()),
+                        Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[2].trim()) };
+            }
+            if (minLat != null) bounds[0] = minLat;
+            if (maxLat != null) bounds[1] = maxLat;
+            if (minLon != null) bounds[2] = minLon;
+            if (maxLon != null) bounds[3] = maxLon;
+
+            // 데이터가 바뀌지 않았으면 DB 조회 없이 304 Not Modified
+            boolean binary = acceptsBinary(accept);
+            boolean gzip = CompressedBody.acceptsGzip(acceptEncoding);
+            String etag = variantEtag("\"risks-" + riskResponseCache.getVersionToken() + "\"", binary, gzip);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+
+            if (!paged && binary) {
+                CompressedBody body = riskResponseCache.facilities(type, "binary", () -> RiskBinaryEncoder
+                        .encodeFacilities(type != null ? riskService.getRisksByType(type) : riskService.getAllRisks()));
+                return compressedResponse(ResponseEntity.ok(), etag, true, body, gzip);
             }
+            if (!paged) {
+                return streamRisksJson(type, etag, gzip);
+            }
+
+            int pageSize = Math.max(1, Math.min(limit != null ? limit : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE));
+            long after = cursor != null ? cursor : 0L;
+            // limit/cursor만 지정하면 영역 조건 없이 id 순서로 페이지 조회
+            RiskPointPageDto page = bounded
+                    ? riskService.getRisksInBounds(type, bounds[0], bounds[1], bounds[2], bounds[3], after, pageSize)
+                    : riskService.getRisksPage(type, after, pageSize);
+            Long nextCursor = page.getNextCursor();
+
+            // 바이너리 형식을 요청한 클라이언트에는 컬럼 단위로 묶은 응답 전송 (다음 커서는 헤더로 전달)
+            if (binary) {
+                ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+                if (nextCursor != null) {
+                    builder.header(NEXT_CURSOR_HEADER, String.valueOf(nextCursor));
+                }
+                return compressedResponse(builder, etag, true,
+                        CompressedBody.of(RiskBinaryEncoder.encodeFacilities(page.getItems()), gzip), gzip);
+            }
+
             result.put("status", "OK");
-            result.put("result", list);
-            return ResponseEntity.ok(result);
+            result.put("limit", pageSize);
+            result.put("nextCursor", nextCursor);
+            result.put("result", page.getItems());
+            return compressedResponse(ResponseEntity.ok(), etag, false, CompressedBody.of(toJson(result), gzip), gzip);
+        } catch (NumberFormatException e) {
+            result.put("status", "ERROR");
+            result.put("message", "좌표 값이 올바르지 않습니다: " + e.getMessage());
+            return ResponseEntity.badRequest().body(result);
         } catch (Exception e) {
             log.error("Error in getRisks: {}", e.getMessage(), e);
             result.put("status", "ERROR");
@@ -77,15 +278,170 @@ public class RiskApiController {
         }
     }
 
+    /**
+     * 전체/타입별 JSON 목록을 목록 객체나 본문 배열을 만들지 않고 DB 커서에서 바로 응답에 기록합니다.
+     * (gzip을 받는 클라이언트에는 기록하면서 압축, Tomcat 압축은 강한 ETag 응답을 건너뛰므로 직접 처리)
+     */
+    private ResponseEntity<StreamingResponseBody> streamRisksJson(RiskType type, String etag, boolean gzip) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(VARY_HEADERS)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, CompressedBody.GZIP);
+        }
+        return builder.body(out -> writeRisksJson(type, out, gzip));
+    }
+
+    /**
+     * 스트리밍 본문 기록. 200 헤더와 본문 일부가 이미 전송된 뒤라 오류 응답으로 바꿀 수 없으므로,
+     * DB 오류는 gzip 종료(trailer)도 쓰지 않고 컨테이너까지 전파합니다.
+     * 커밋된 응답에서 예외를 받은 Tomcat은 청크 종료 없이 연결을 끊으므로 클라이언트는 전송 실패로 인식합니다.
+     */
+    private void writeRisksJson(RiskType type, OutputStream out, boolean gzip) throws IOException {
+        try {
+            if (!gzip) {
+                riskService.writeRisksJson(type, out);
+                return;
+            }
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+            riskService.writeRisksJson(type, compressed);
+            compressed.finish();
+        } catch (RuntimeException e) {
+            log.error("Error while streaming risks (type={}), aborting response: {}", type, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * 줌 레벨별 시설물 클러스터 조회 (bbox: minLon,minLat,maxLon,maxLat)
+     */
+    @GetMapping("/api/risks/clusters")
+    public ResponseEntity<Map<String, Object>> getClusters(@RequestParam int z, @RequestParam String bbox,
+            @RequestParam(required = false) RiskType type) {
+        Map<String, Object> result = new HashMap<>();
+        try {
+            String[] parts = bbox.split(",");
+            if (parts.length != 4) {
+                result.put("status", "ERROR");
+                result.put("message", "bbox는 minLon,minLat,maxLon,maxLat 형식이어야 합니다.");
+                return ResponseEntity.badRequest().body(result);
+            }
+            List<RiskClusterDto> clusters = riskClusterIndex.query(z,
+                    Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()), type);
+            if (clusters == null) {
+                result.put("status", "PENDING");
+                result.put("message", "클러스터 인덱스를 생성 중입니다. 잠시 후 다시 시도해주세요.");
+                return ResponseEntity.status(503).body(result);
+            }
+
+            result.put("status", "OK");
+            result.put("zoom", Math.max(RiskClusterIndex.MIN_ZOOM, Math.min(z, RiskClusterIndex.MAX_ZOOM)));
+            result.put("result", clusters);
+            return ResponseEntity.ok(result);
+        } catch (NumberFormatException e) {
+            result.put("status", "ERROR");
+            result.put("message", "좌표 값이 올바르지 않습니다: " + e.getMessage());
+            return ResponseEntity.badRequest().body(result);
+        } catch (Exception e) {
+            log.error("Error in getClusters: {}", e.getMessage(), e);
+            result.put("status", "ERROR");
+            result.put("message", e.getMessage());
+            return ResponseEntity.status(500).body(result);
+        }
+    }
+
+    /**
+     * 지점 주변 반경(미터) 안의 안전 시설물 조회
+     */
+    @GetMapping("/api/risks/nearby")
+    public ResponseEntity<Map<String, Object>> getNearbyRisks(@RequestParam double lat, @RequestParam double lon,
+            @RequestParam(defaultValue = "300") double radius) {
+        Map<String, Object> result = new HashMap<>();
+        try {
+            double limitedRadius = Math.max(0, Math.min(radius, MAX_NEARBY_RADIUS));
+            result.put("status", "OK");
+            result.put("radius", limitedRadius);
+            result.put("result", riskService.getRisksWithinRadius(lat, lon, limitedRadius));
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("Error in getNearbyRisks: {}", e.getMessage(), e);
+            result.put("status", "ERROR");
+            result.put("message", e.getMessage());
+            return ResponseEntity.status(500).body(result);
+        }
+    }
+
     /**
      * 정밀 위험도 히트맵 데이터 조회
+     * bbox(minLon,minLat,maxLon,maxLat)가 있으면 줌(z)에 맞는 해상도 레벨에서 해당 영역만 반환하고,
+     * 없으면 기본 레벨 전체 격자를 반환합니다. (전체 격자 본문은 스냅샷과 함께 미리 압축해 둔 것을 그대로 전송)
      */
     @GetMapping("/api/risks/refined-risk")
-    public ResponseEntity<Map<String, Object>> getRefinedRisk() {
+    public ResponseEntity<?> getRefinedRisk(WebRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam(required = false) Integer z, @RequestParam(required = false) String bbox) {
         try {
-            Map<String, Object> heatmapData = riskIntegrationService.calculateRefinedRiskMap();
-            heatmapData.put("status", "OK");
-            return ResponseEntity.ok(heatmapData);
+            double[] bounds = null;
+            if (bbox != null) {
+                String[] parts = bbox.split(",");
+                if (parts.length != 4) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("status", "ERROR");
+                    error.put("message", "bbox는 minLon,minLat,maxLon,maxLat 형식이어야 합니다.");
+                    return ResponseEntity.badRequest().body(error);
+                }
+                bounds = new double[4];
+                for (int i = 0; i < 4; i++) {
+                    bounds[i] = Double.parseDouble(parts[i].trim());
+                }
+            }
+
+            HeatmapSnapshot snapshot = riskHeatmapCache.getSnapshot();
+            if (snapshot == null) {
+                // 기동 직후 첫 스냅샷이 아직 계산 중인 경우
+                Map<String, Object> pending = new HashMap<>();
+                pending.put("status", "PENDING");
+                pending.put("message", "위험도 히트맵을 계산 중입니다. 잠시 후 다시 시도해주세요.");
+                return ResponseEntity.status(503).body(pending);
+            }
+
+            // 클라이언트가 이미 최신 스냅샷을 가지고 있으면 304 Not Modified
+            boolean binary = acceptsBinary(accept);
+            boolean gzip = CompressedBody.acceptsGzip(acceptEncoding);
+            String etag = variantEtag(snapshot.getEtag(), binary, gzip);
+            if (request.checkNotModified(etag)) {
+                heatmapEtagHits.increment();
+                return null;
+            }
+            heatmapEtagMisses.increment();
+
+            if (bounds != null) {
+                return refinedRiskWindow(snapshot, z, bounds, etag, binary, gzip);
+            }
+
+            // 바이너리 형식: 격자 원점/간격 + 양자화된 점수 배열 (스냅샷 생성 시 미리 인코딩됨)
+            if (binary) {
+                return compressedResponse(ResponseEntity.ok(), etag, true, snapshot.getBinary(), gzip);
+            }
+
+            CompressedBody json = snapshot.getJson(() -> {
+                Map<String, Object> heatmapData = new HashMap<>();
+                heatmapData.put("status", "OK");
+                heatmapData.put("version", snapshot.getVersion());
+                // RiskGrid는 배열에서 바로 [{lat, lon, score}, ...] 형식으로 직렬화됨
+                heatmapData.put("result", snapshot.getGrid());
+                return toJson(heatmapData);
+            });
+            return compressedResponse(ResponseEntity.ok(), etag, false, json, gzip);
+        } catch (NumberFormatException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("status", "ERROR");
+            error.put("message", "좌표 값이 올바르지 않습니다: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             log.error("Error in getRefinedRisk: {}", e.getMessage(), e);
             Map<String, Object> error = new HashMap<>();
@@ -96,25 +452,66 @@ public class RiskApiController {
     }
 
     /**
-     * 클라이언트 설정을 반환합니다.
+     * 화면 영역(bounds: minLon,minLat,maxLon,maxLat)에 맞는 레벨을 골라 영역 안의 칸만 응답합니다.
+     * ETag는 스냅샷 단위이며 URL(z, bbox)별로 캐시되므로 같은 스냅샷이면 같은 응답입니다.
      */
-    @GetMapping("/api/config")
-    public ResponseEntity<Map<String, Object>> getConfig() {
-        try {
-            Map<String, Object> config = new HashMap<>();
+    private ResponseEntity<?> refinedRiskWindow(HeatmapSnapshot snapshot, Integer z, double[] bounds,
+            String etag, boolean binary, boolean gzip) {
+        GisConfig.Map.Grid settings = gisConfig.getMap().getGrid();
+        int level = snapshot.selectLevel(z, bounds[1], bounds[0], bounds[3], bounds[2],
+                settings.getTargetCellPixels(), settings.getMaxCellsPerView());
+        RiskGrid window = snapshot.getLevels().get(level).window(bounds[1], bounds[0], bounds[3], bounds[2]);
+
+        if (binary) {
+            // 헤더에 해당 레벨의 원점/간격이 들어 있으므로 클라이언트는 레벨과 무관하게 같은 방식으로 읽음
+            byte[] encoded = RiskBinaryEncoder.encodeHeatmap(window, RiskIntegrationService.MAX_SCORE);
+            return compressedResponse(ResponseEntity.ok(), etag, true, CompressedBody.of(encoded, gzip), gzip);
+        }
 
-            Map<String, Object> vworld = new HashMap<>();
-            vworld.put("key", gisConfig.getVworld().getKey());
-            config.put("vworld", vworld);
+        Map<String, Object> heatmapData = new HashMap<>();
+        heatmapData.put("status", "OK");
+        heatmapData.put("version", snapshot.getVersion());
+        heatmapData.put("level", level);
+        heatmapData.put("stepLat", window.getStepLat());
+        heatmapData.put("stepLon", window.getStepLon());
+        heatmapData.put("result", window);
+        return compressedResponse(ResponseEntity.ok(), etag, false, CompressedBody.of(toJson(heatmapData), gzip), gzip);
+    }
 
-            Map<String, Object> map = new HashMap<>();
-            Map<String, Object> center = new HashMap<>();
-            center.put("lon", gisConfig.getMap().getCenter().getLon());
-            center.put("lat", gisConfig.getMap().getCenter().getLat());
-            map.put("center", center);
-            config.put("map", map);
+    /**
+     * 클라이언트 설정을 반환합니다. (본문 해시 ETag로 조건부 요청 지원)
+     */
+    @GetMapping("/api/config")
+    public ResponseEntity<?> getConfig(WebRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            CompressedBody body = configBody;
+            if (body == null) {
+                Map<String, Object> config = new HashMap<>();
+
+                Map<String, Object> vworld = new HashMap<>();
+                vworld.put("key", gisConfig.getVworld().getKey());
+                config.put("vworld", vworld);
+
+                Map<String, Object> map = new HashMap<>();
+                Map<String, Object> center = new HashMap<>();
+                center.put("lon", gisConfig.getMap().getCenter().getLon());
+                center.put("lat", gisConfig.getMap().getCenter().getLat());
+                map.put("center", center);
+                config.put("map", map);
+
+                byte[] json = toJson(config);
+                configEtag = "\"config-" + Integer.toHexString(Arrays.hashCode(json)) + "\"";
+                body = CompressedBody.of(json);
+                configBody = body;
+            }
 
-            return ResponseEntity.ok(config);
+            boolean gzip = CompressedBody.acceptsGzip(acceptEncoding);
+            String etag = variantEtag(configEtag, false, gzip);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return compressedResponse(ResponseEntity.ok(), etag, false, body, gzip);
         } catch (Exception e) {
             log.error("Error in getConfig: {}", e.getMessage(), e);
             Map<String, Object> error = new HashMap<>();
@@ -129,24 +526,16 @@ public class RiskApiController {
      */
     @GetMapping("/api/proxy/address")
     public ResponseEntity<Map<String, Object>> getAddress(@RequestParam double lon, @RequestParam double lat) {
-        String apiKey = gisConfig.getVworld().getKey();
-        RestTemplate restTemplate = new RestTemplate();
         Map<String, Object> result = new HashMap<>();
-
         try {
-            // RestTemplate 템플릿 방식 사용하여 인코딩 호환성 높임
-            String url = "https://api.vworld.kr/req/address?service=address&request=getAddress&version=2.0&crs=epsg:4326&point={point}&format=json&type=both&key={key}";
-
-            Map<String, String> params = new HashMap<>();
-            params.put("point", String.format("%.7f,%.7f", lon, lat));
-            params.put("key", apiKey);
-
-            log.info("VWorld GetAddress Calling with lat={}, lon={}", lat, lon);
-            String response = restTemplate.getForObject(url, String.class, params);
-
             result.put("status", "OK");
-            result.put("data", response);
+            result.put("data", vworldService.reverseGeocode(lon, lat));
             return ResponseEntity.ok(result);
+        } catch (VWorldClient.VWorldUnavailableException e) {
+            // 서킷 열림/동시 호출 한도 초과: 외부 API를 기다리지 않고 바로 응답
+            result.put("status", "ERROR");
+            result.put("message", e.getMessage());
+            return ResponseEntity.status(503).body(result);
         } catch (Exception e) {
             log.error("Error in getAddress proxy: {}", e.getMessage(), e);
             result.put("status", "ERROR");
@@ -160,65 +549,24 @@ public class RiskApiController {
      */
     @GetMapping("/api/proxy/search")
     public ResponseEntity<Map<String, Object>> searchAddress(@RequestParam String address) {
-        RestTemplate restTemplate = new RestTemplate();
         Map<String, Object> result = new HashMap<>();
         try {
-            String apiKey = gisConfig.getVworld().getKey();
             String query = address != null ? address.trim() : "";
             if (query.isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of("status", "ERROR", "message", "검색어가 비어있습니다."));
             }
 
-            // 1단계: 장소(place) 검색
-            String response = callVWorldSearch(restTemplate, apiKey, "place", null, query);
-            String foundType = "place";
-
-            // 2단계: 도로명 주소(road) 검색 - 원본 쿼리
-            if (isNotFound(response)) {
-                response = callVWorldSearch(restTemplate, apiKey, "address", "road", query);
-                foundType = "road";
-            }
-
-            // 2.5단계: 도로명 주소(road) 검색 - 정제된 쿼리 (괄호 제거 및 도로명만 추출)
-            if (isNotFound(response)) {
-                String cleanQuery = refineRoadQuery(query);
-                if (!cleanQuery.equals(query)) {
-                    response = callVWorldSearch(restTemplate, apiKey, "address", "road", cleanQuery);
-                    foundType = "road";
-                }
-            }
-
-            // 3단계: 지번 주소(parcel) 검색 - 원본 쿼리
-            if (isNotFound(response)) {
-                response = callVWorldSearch(restTemplate, apiKey, "address", "parcel", query);
-                foundType = "parcel";
-            }
-
-            // 3.5단계: 지번 주소(parcel) 검색 - 정제된 쿼리 (동+지번만 추출)
-            if (isNotFound(response)) {
-                String cleanParcel = refineParcelQuery(query);
-                if (!cleanParcel.equals(query)) {
-                    response = callVWorldSearch(restTemplate, apiKey, "address", "parcel", cleanParcel);
-                    foundType = "parcel";
-                }
-            }
-
-            // 4단계: 행정구역(district) 검색
-            if (isNotFound(response)) {
-                response = callVWorldSearch(restTemplate, apiKey, "district", null, query);
-                foundType = "district";
-            }
-
-            // 최종 결과 확인
-            if (isNotFound(response)) {
-                log.warn("All search stages failed for query: {}", query);
-            }
-
+            AddressSearchResultDto found = vworldService.search(query);
             result.put("status", "OK");
-            result.put("data", response);
-            result.put("foundType", foundType);
-            result.put("query", query);
+            result.put("data", found.getData());
+            result.put("foundType", found.getFoundType());
+            result.put("query", found.getQuery());
             return ResponseEntity.ok(result);
+        } catch (VWorldClient.VWorldUnavailableException e) {
+            // 서킷 열림/동시 호출 한도 초과: 하위 단계 결과로 대신하지 않고 바로 응답
+            result.put("status", "ERROR");
+            result.put("message", e.getMessage());
+            return ResponseEntity.status(503).body(result);
         } catch (Exception e) {
             log.error("Error in Smart searchAddress proxy: {}", e.getMessage(), e);
             result.put("status", "ERROR");
@@ -227,58 +575,38 @@ public class RiskApiController {
         }
     }
 
-    private String callVWorldSearch(RestTemplate restTemplate, String apiKey, String type, String category,
-            String query) {
-        // RestTemplate 템플릿 방식 사용하여 인코딩 자동 처리 (+ vs %20 문제 해결)
-        String url = "https://api.vworld.kr/req/search?service=search&request=search&version=2.0&crs=epsg:3857&size=1&type={type}&query={query}&key={key}";
-        if (category != null) {
-            url += "&category=" + category;
-        }
-
-        Map<String, String> params = new HashMap<>();
-        params.put("type", type);
-        params.put("query", query);
-        params.put("key", apiKey);
-
-        log.info("VWorld API [{}][{}] Calling for: {}", type, (category != null ? category : "-"), query);
-        try {
-            return restTemplate.getForObject(url, String.class, params);
-        } catch (Exception e) {
-            log.error("VWorld API Call Exception: {}", e.getMessage());
-            return null;
-        }
+    private boolean acceptsBinary(String accept) {
+        return accept != null && accept.contains(RiskBinaryEncoder.MEDIA_TYPE);
     }
 
-    private String refineRoadQuery(String query) {
-        // 1. 괄호 내용 제거: "수정로 100 (여수동)" -> "수정로 100"
-        String cleaned = query.replaceAll("\\s*\\([^)]*\\)", "").trim();
-
-        // 2. 도로명 주소 패턴 추출 시도: "성남시 중원구 성남대로 997" -> "성남대로 997"
-        // (VWorld는 시/도 정보가 너무 길면 오히려 검색 실패할 때가 있음)
-        Pattern roadPattern = Pattern.compile("([가-힣a-zA-Z0-9·]+([로|길]))\\s*(\\d+[-]?\\d*)");
-        Matcher matcher = roadPattern.matcher(cleaned);
-        if (matcher.find()) {
-            return matcher.group(0).trim();
-        }
-
-        return cleaned;
+    /**
+     * 표현(형식/압축)별 강한 ETag: 기준 ETag의 닫는 따옴표 앞에 -json/-bin, -gz를 붙입니다.
+     */
+    private static String variantEtag(String etag, boolean binary, boolean gzip) {
+        return etag.substring(0, etag.length() - 1) + (binary ? "-bin" : "-json") + (gzip ? "-gz" : "") + "\"";
     }
 
-    private String refineParcelQuery(String query) {
-        String cleaned = query.replaceAll("\\s*\\([^)]*\\)", "").trim();
-
-        // 지번 주소 패턴 추출 시도: "성남시 분당구 삼평동 717" -> "삼평동 717"
-        Pattern parcelPattern = Pattern.compile("([가-힣0-9]+[동|리|읍|면])\\s*(\\d+[-]?\\d*)");
-        Matcher matcher = parcelPattern.matcher(cleaned);
-        if (matcher.find()) {
-            return matcher.group(0).trim();
+    /**
+     * 미리 만든 본문을 Accept-Encoding에 맞게 전송합니다. (gzip 본문이 없으면 원본 전송)
+     * 캐시는 매번 ETag로 재검증하도록 no-cache를 붙입니다.
+     */
+    private static ResponseEntity<byte[]> compressedResponse(ResponseEntity.BodyBuilder builder, String etag,
+            boolean binary, CompressedBody body, boolean gzip) {
+        builder.eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(VARY_HEADERS)
+                .contentType(binary ? MediaType.APPLICATION_OCTET_STREAM : MediaType.APPLICATION_JSON);
+        if (gzip && body.getGzip() != null) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, CompressedBody.GZIP).body(body.getGzip());
         }
-
-        return cleaned;
+        return builder.body(body.getIdentity());
     }
 
-    private boolean isNotFound(String response) {
-        return response == null || response.contains("\"status\":\"NOT_FOUND\"")
-                || response.contains("\"total\":\"0\"");
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
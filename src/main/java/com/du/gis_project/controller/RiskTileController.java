@@ -0,0 +1,60 @@
+package com.du.gis_project.controller;
+
+import com.du.gis_project.service.HeatmapSnapshot;
+import com.du.gis_project.service.RiskHeatmapCache;
+import com.du.gis_project.service.RiskTileRenderer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+public class RiskTileController {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(RiskTileController.class);
+
+    private final RiskHeatmapCache riskHeatmapCache;
+    private final RiskTileRenderer riskTileRenderer;
+
+    public RiskTileController(RiskHeatmapCache riskHeatmapCache, RiskTileRenderer riskTileRenderer) {
+        this.riskHeatmapCache = riskHeatmapCache;
+        this.riskTileRenderer = riskTileRenderer;
+    }
+
+    /**
+     * 위험도 히트맵 래스터 타일 (XYZ, 256x256 PNG)
+     */
+    @GetMapping("/api/tiles/risk/{z}/{x}/{y}.png")
+    public ResponseEntity<byte[]> getRiskTile(@PathVariable int z, @PathVariable int x, @PathVariable int y,
+            WebRequest request) {
+        HeatmapSnapshot snapshot = riskHeatmapCache.getSnapshot();
+        if (snapshot == null) {
+            // 첫 스냅샷 계산 전에는 타일을 만들 수 없음 (클라이언트는 다음 새로고침 시 다시 요청)
+            return ResponseEntity.status(503).cacheControl(CacheControl.noStore()).build();
+        }
+
+        // 스냅샷 ETag에 타일 좌표를 붙여 타일별 강한 ETag 생성
+        String snapshotTag = snapshot.getEtag();
+        String etag = snapshotTag.substring(0, snapshotTag.length() - 1) + "-" + z + "-" + x + "-" + y + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        try {
+            byte[] png = riskTileRenderer.getTile(snapshot, z, x, y);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.IMAGE_PNG)
+                    .body(png);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error in getRiskTile {}/{}/{}: {}", z, x, y, e.getMessage(), e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.du.gis_project.domain.dto;
+
+/**
+ * 주소 검색 결과 (VWorld 응답 원문과 결과를 찾은 검색 단계)
+ */
+public class AddressSearchResultDto {
+    // VWorld 검색 API 응답 JSON 원문 (모든 단계가 실패하면 마지막 단계의 응답, 호출 오류면 null)
+    private String data;
+    // 결과를 찾은 단계: place, road, parcel, district
+    private String foundType;
+    private String query;
+
+    public AddressSearchResultDto() {
+    }
+
+    public AddressSearchResultDto(String data, String foundType, String query) {
+        this.data = data;
+        this.foundType = foundType;
+        this.query = query;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+    }
+
+    public String getFoundType() {
+        return foundType;
+    }
+
+    public void setFoundType(String foundType) {
+        this.foundType = foundType;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+}
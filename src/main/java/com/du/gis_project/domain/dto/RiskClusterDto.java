@@ -0,0 +1,68 @@
+package com.du.gis_project.domain.dto;
+
+import com.du.gis_project.domain.entity.RiskType;
+
+import java.util.Map;
+
+/**
+ * 줌 레벨별로 묶인 시설물 클러스터 정보를 전달하는 DTO
+ */
+public class RiskClusterDto {
+    private double lat;
+    private double lon;
+    private int count;
+    private Map<RiskType, Integer> counts;
+    private Map<RiskType, Double> weights;
+
+    public RiskClusterDto() {
+    }
+
+    public RiskClusterDto(double lat, double lon, int count, Map<RiskType, Integer> counts,
+            Map<RiskType, Double> weights) {
+        this.lat = lat;
+        this.lon = lon;
+        this.count = count;
+        this.counts = counts;
+        this.weights = weights;
+    }
+
+    public double getLat() {
+        return lat;
+    }
+
+    public void setLat(double lat) {
+        this.lat = lat;
+    }
+
+    public double getLon() {
+        return lon;
+    }
+
+    public void setLon(double lon) {
+        this.lon = lon;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public Map<RiskType, Integer> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<RiskType, Integer> counts) {
+        this.counts = counts;
+    }
+
+    public Map<RiskType, Double> getWeights() {
+        return weights;
+    }
+
+    public void setWeights(Map<RiskType, Double> weights) {
+        this.weights = weights;
+    }
+}
@@ -0,0 +1,252 @@
+package com.du.gis_project.domain.dto;
+
+import com.du.gis_project.util.RiskGridJsonSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 위험도 히트맵 격자 (불변)
+ *
+ * 격자 배치(원점/간격/크기)와 행 우선 float 점수 배열, 성남 내부 칸 BitSet 마스크로 구성됩니다.
+ * 칸마다 객체를 만들지 않으므로 메모리 사용이 작고, JSON/바이너리 직렬화는 배열에서 바로 기록합니다.
+ * 칸 좌표는 계산에 사용한 축 값(간격을 누적한 값)을 그대로 보관하여 기존 응답과 같은 좌표를 제공합니다.
+ */
+@JsonSerialize(using = RiskGridJsonSerializer.class)
+public class RiskGrid {
+
+    private final double stepLat;
+    private final double stepLon;
+    private final double[] latAxis;
+    private final double[] lonAxis;
+    // 범위 제한이 적용된 점수 (마스크 밖 칸은 사용하지 않음)
+    private final float[] scores;
+    private final BitSet mask;
+
+    /**
+     * 배열은 복사하지 않으므로 호출 측은 이후에 수정하지 않아야 합니다.
+     */
+    public RiskGrid(double[] latAxis, double[] lonAxis, double stepLat, double stepLon, float[] scores,
+            BitSet mask) {
+        if (scores.length != latAxis.length * lonAxis.length) {
+            throw new IllegalArgumentException("점수 배열 크기가 격자 크기와 다릅니다.");
+        }
+        this.latAxis = latAxis;
+        this.lonAxis = lonAxis;
+        this.stepLat = stepLat;
+        this.stepLon = stepLon;
+        this.scores = scores;
+        this.mask = mask;
+    }
+
+    public int getRows() {
+        return latAxis.length;
+    }
+
+    public int getCols() {
+        return lonAxis.length;
+    }
+
+    /**
+     * 첫 행의 위도 (빈 격자면 NaN)
+     */
+    public double getOriginLat() {
+        return latAxis.length > 0 ? latAxis[0] : Double.NaN;
+    }
+
+    /**
+     * 첫 열의 경도 (빈 격자면 NaN)
+     */
+    public double getOriginLon() {
+        return lonAxis.length > 0 ? lonAxis[0] : Double.NaN;
+    }
+
+    public double getStepLat() {
+        return stepLat;
+    }
+
+    public double getStepLon() {
+        return stepLon;
+    }
+
+    public double latAt(int row) {
+        return latAxis[row];
+    }
+
+    public double lonAt(int col) {
+        return lonAxis[col];
+    }
+
+    /**
+     * 성남 내부 칸 수
+     */
+    public int getInsideCount() {
+        return mask.cardinality();
+    }
+
+    public boolean isInside(int row, int col) {
+        return row >= 0 && row < latAxis.length && col >= 0 && col < lonAxis.length
+                && mask.get(row * lonAxis.length + col);
+    }
+
+    /**
+     * 행 우선 인덱스의 다음 내부 칸 인덱스 (없으면 -1). 내부 칸만 순회할 때 사용합니다.
+     */
+    public int nextInside(int fromIndex) {
+        return mask.nextSetBit(fromIndex);
+    }
+
+    /**
+     * 행 우선 인덱스의 점수 (마스크 확인 없음)
+     */
+    public float scoreAtIndex(int index) {
+        return scores[index];
+    }
+
+    /**
+     * (row, col) 칸의 점수. 범위 밖이거나 성남 외부 칸이면 NaN을 반환합니다.
+     */
+    public float scoreAt(int row, int col) {
+        if (!isInside(row, col)) {
+            return Float.NaN;
+        }
+        return scores[row * lonAxis.length + col];
+    }
+
+    /**
+     * factor x factor 칸씩 묶은 성긴 격자를 만듭니다. (피라미드 상위 레벨)
+     * 묶음 안에 내부 칸이 하나라도 있으면 내부 칸이 되고, 점수는 내부 칸 점수의 평균입니다.
+     * 좌표는 묶음 중심(첫 칸 + (factor - 1) / 2 간격)이므로 축 간격은 factor배로 균일합니다.
+     */
+    public RiskGrid aggregate(int factor) {
+        if (factor <= 1) {
+            return this;
+        }
+        int rows = latAxis.length;
+        int cols = lonAxis.length;
+        int outRows = (rows + factor - 1) / factor;
+        int outCols = (cols + factor - 1) / factor;
+        double[] outLats = new double[outRows];
+        double[] outLons = new double[outCols];
+        for (int r = 0; r < outRows; r++) {
+            outLats[r] = latAxis[r * factor] + (factor - 1) * stepLat / 2;
+        }
+        for (int c = 0; c < outCols; c++) {
+            outLons[c] = lonAxis[c * factor] + (factor - 1) * stepLon / 2;
+        }
+
+        double[] sums = new double[outRows * outCols];
+        int[] counts = new int[outRows * outCols];
+        for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+            int out = (i / cols / factor) * outCols + (i % cols) / factor;
+            sums[out] += scores[i];
+            counts[out]++;
+        }
+        float[] outScores = new float[outRows * outCols];
+        BitSet outMask = new BitSet(outRows * outCols);
+        for (int i = 0; i < outScores.length; i++) {
+            if (counts[i] > 0) {
+                outMask.set(i);
+                outScores[i] = (float) (sums[i] / counts[i]);
+            }
+        }
+        return new RiskGrid(outLats, outLons, stepLat * factor, stepLon * factor, outScores, outMask);
+    }
+
+    /**
+     * 영역(bbox)과 겹치는 칸만 잘라낸 격자 (가장자리 한 칸 여유 포함, 영역 밖이면 빈 격자)
+     */
+    public RiskGrid window(double minLat, double minLon, double maxLat, double maxLon) {
+        int[] rowRange = windowRange(latAxis, minLat, maxLat);
+        int[] colRange = windowRange(lonAxis, minLon, maxLon);
+        int r0 = rowRange[0];
+        int r1 = rowRange[1];
+        int c0 = colRange[0];
+        int c1 = colRange[1];
+        if (r0 >= r1 || c0 >= c1) {
+            return new RiskGrid(new double[0], new double[0], stepLat, stepLon, new float[0], new BitSet());
+        }
+        if (r0 == 0 && c0 == 0 && r1 == latAxis.length && c1 == lonAxis.length) {
+            return this;
+        }
+
+        int cols = lonAxis.length;
+        int outCols = c1 - c0;
+        float[] outScores = new float[(r1 - r0) * outCols];
+        BitSet outMask = new BitSet(outScores.length);
+        for (int r = r0; r < r1; r++) {
+            int from = r * cols + c0;
+            int outOffset = (r - r0) * outCols;
+            System.arraycopy(scores, from, outScores, outOffset, outCols);
+            for (int i = mask.nextSetBit(from); i >= 0 && i < from + outCols; i = mask.nextSetBit(i + 1)) {
+                outMask.set(outOffset + (i - from));
+            }
+        }
+        return new RiskGrid(Arrays.copyOfRange(latAxis, r0, r1), Arrays.copyOfRange(lonAxis, c0, c1),
+                stepLat, stepLon, outScores, outMask);
+    }
+
+    /**
+     * window로 잘라낼 때의 칸 수 (복사 없이 계산, 레벨 선택용)
+     */
+    public long windowCellCount(double minLat, double minLon, double maxLat, double maxLon) {
+        int[] rowRange = windowRange(latAxis, minLat, maxLat);
+        int[] colRange = windowRange(lonAxis, minLon, maxLon);
+        return (long) Math.max(0, rowRange[1] - rowRange[0]) * Math.max(0, colRange[1] - colRange[0]);
+    }
+
+    // [min, max]와 겹치는 축 구간 [from, to) + 양쪽 한 칸 여유 (축 범위를 완전히 벗어나면 빈 구간)
+    private static int[] windowRange(double[] axis, double min, double max) {
+        int from = lowerBound(axis, min);
+        int to = upperBound(axis, max);
+        if (to == 0 || from == axis.length) {
+            return new int[] { 0, 0 };
+        }
+        return new int[] { Math.max(0, from - 1), Math.min(axis.length, to + 1) };
+    }
+
+    /**
+     * 내부 칸의 좌표/점수로 계산한 해시 (ETag용)
+     */
+    public long contentHash() {
+        long hash = 1125899906842597L;
+        int cols = lonAxis.length;
+        for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+            hash = 31 * hash + Double.doubleToLongBits(latAxis[i / cols]);
+            hash = 31 * hash + Double.doubleToLongBits(lonAxis[i % cols]);
+            hash = 31 * hash + Float.floatToIntBits(scores[i]);
+        }
+        return hash;
+    }
+
+    // 정렬된 축에서 value 이상인 첫 인덱스
+    private static int lowerBound(double[] axis, double value) {
+        int lo = 0;
+        int hi = axis.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (axis[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // 정렬된 축에서 value보다 큰 첫 인덱스
+    private static int upperBound(double[] axis, double value) {
+        int lo = 0;
+        int hi = axis.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (axis[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
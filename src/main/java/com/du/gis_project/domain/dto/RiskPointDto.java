@@ -7,6 +7,7 @@ import com.du.gis_project.domain.entity.RiskType;
  * 안전 시설물(CCTV, 경찰서, 가로등) 정보를 전달하는 DTO
  */
 public class RiskPointDto {
+    private Long id;
     private double latitude;
     private double longitude;
     private double weight;
@@ -24,12 +25,21 @@ public class RiskPointDto {
 
     // Entity -> DTO 변환 생성자
     public RiskPointDto(RiskPoint entity) {
+        this.id = entity.getId();
         this.latitude = entity.getLatitude();
         this.longitude = entity.getLongitude();
         this.weight = entity.getWeight();
         this.type = entity.getType();
     }
 
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public double getLatitude() {
         return latitude;
     }
@@ -0,0 +1,36 @@
+package com.du.gis_project.domain.dto;
+
+import java.util.List;
+
+/**
+ * 영역(bbox) 조회 결과 한 페이지와 다음 페이지 커서를 전달하는 DTO
+ */
+public class RiskPointPageDto {
+    private List<RiskPointDto> items;
+    // 다음 페이지 요청 시 cursor로 넘길 값 (마지막 페이지면 null)
+    private Long nextCursor;
+
+    public RiskPointPageDto() {
+    }
+
+    public RiskPointPageDto(List<RiskPointDto> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<RiskPointDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<RiskPointDto> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,69 @@
+package com.du.gis_project.domain.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * 주소 → 좌표 지오코딩 결과 캐시 (재적재 시 같은 주소를 다시 조회하지 않도록 보관)
+ * 결과 없음(found=false)도 저장하며, 설정된 기간이 지나면 다시 조회합니다.
+ */
+@Entity
+@Table(name = "geocode_cache")
+public class GeocodeCacheEntry {
+
+    // address 컬럼 길이 (이보다 긴 주소는 캐시하지 않음)
+    public static final int MAX_ADDRESS_LENGTH = 500;
+
+    // 정규화한 주소 (앞뒤 공백 제거, 연속 공백 하나로)
+    @Id
+    @Column(length = MAX_ADDRESS_LENGTH)
+    private String address;
+
+    private Double latitude;
+    private Double longitude;
+
+    private boolean found;
+
+    @Column(name = "resolved_at")
+    private Instant resolvedAt;
+
+    public GeocodeCacheEntry() {
+    }
+
+    public GeocodeCacheEntry(String address, Double latitude, Double longitude, boolean found, Instant resolvedAt) {
+        this.address = address;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.found = found;
+        this.resolvedAt = resolvedAt;
+    }
+
+    public static GeocodeCacheEntry found(String address, double latitude, double longitude) {
+        return new GeocodeCacheEntry(address, latitude, longitude, true, Instant.now());
+    }
+
+    public static GeocodeCacheEntry notFound(String address) {
+        return new GeocodeCacheEntry(address, null, null, false, Instant.now());
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public Instant getResolvedAt() {
+        return resolvedAt;
+    }
+}
@@ -1,11 +1,24 @@
 package com.du.gis_project.domain.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
 
 @Entity
-@Table(name = "risk_points")
+@Table(name = "risk_points", indexes = {
+        // 타입별 영역(bbox) 조회용 복합 인덱스
+        @Index(name = "idx_risk_points_type_lat_lon", columnList = "type, latitude, longitude"),
+        // 델타 임포트 시 원본 행과 매칭하는 자연 키
+        @Index(name = "idx_risk_points_type_source_key", columnList = "type, source_key")
+})
 public class RiskPoint {
 
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -17,6 +30,15 @@ public class RiskPoint {
     @Enumerated(EnumType.STRING)
     private RiskType type;
 
+    // 원본 CSV 기준 자연 키 (CCTV 관리번호, 그 외는 좌표 기반 키). 타입 안에서 고유
+    @Column(name = "source_key")
+    private String sourceKey;
+
+    // PostGIS 반경/영역 조회용 좌표 (GiST 인덱스는 SpatialSchemaInitializer에서 생성, 위경도 변경 시 함께 갱신)
+    @JdbcTypeCode(SqlTypes.GEOGRAPHY)
+    @Column(columnDefinition = "geography(Point,4326)")
+    private Point location;
+
     public RiskPoint() {
     }
 
@@ -25,6 +47,12 @@ public class RiskPoint {
         this.longitude = longitude;
         this.weight = weight;
         this.type = type;
+        updateLocation();
+    }
+
+    public RiskPoint(double latitude, double longitude, double weight, RiskType type, String sourceKey) {
+        this(latitude, longitude, weight, type);
+        this.sourceKey = sourceKey;
     }
 
     // Getters and Setters
@@ -42,6 +70,7 @@ public class RiskPoint {
 
     public void setLatitude(double latitude) {
         this.latitude = latitude;
+        updateLocation();
     }
 
     public double getLongitude() {
@@ -50,6 +79,7 @@ public class RiskPoint {
 
     public void setLongitude(double longitude) {
         this.longitude = longitude;
+        updateLocation();
     }
 
     public double getWeight() {
@@ -67,4 +97,21 @@ public class RiskPoint {
     public void setType(RiskType type) {
         this.type = type;
     }
+
+    public String getSourceKey() {
+        return sourceKey;
+    }
+
+    public void setSourceKey(String sourceKey) {
+        this.sourceKey = sourceKey;
+    }
+
+    public Point getLocation() {
+        return location;
+    }
+
+    private void updateLocation() {
+        // JTS 좌표 순서는 (x=경도, y=위도)
+        this.location = GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude));
+    }
 }
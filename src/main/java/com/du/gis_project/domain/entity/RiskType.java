@@ -1,5 +1,6 @@
 package com.du.gis_project.domain.entity;
 
+// 바이너리 응답(RiskBinaryEncoder)에서 ordinal 값을 전송하므로 선언 순서를 바꾸지 않아야 합니다.
 public enum RiskType {
     POLICE,
     CCTV,
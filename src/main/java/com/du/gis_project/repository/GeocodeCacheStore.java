@@ -0,0 +1,80 @@
+package com.du.gis_project.repository;
+
+import com.du.gis_project.domain.entity.GeocodeCacheEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * geocode_cache 조회/저장소
+ *
+ * 임포트 한 묶음의 주소를 한 번의 SELECT(= ANY 배열)로 읽고, 새 결과는 ON CONFLICT 배치 UPSERT로 저장합니다.
+ * (테이블은 GeocodeCacheEntry 엔티티 기준으로 ddl-auto가 생성)
+ */
+@Repository
+public class GeocodeCacheStore {
+
+    private static final String SELECT_SQL = "SELECT address, latitude, longitude, found, resolved_at "
+            + "FROM geocode_cache WHERE address = ANY (?)";
+    private static final String UPSERT_SQL = "INSERT INTO geocode_cache (address, latitude, longitude, found, resolved_at) "
+            + "VALUES (?, ?, ?, ?, ?) ON CONFLICT (address) DO UPDATE SET latitude = EXCLUDED.latitude, "
+            + "longitude = EXCLUDED.longitude, found = EXCLUDED.found, resolved_at = EXCLUDED.resolved_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GeocodeCacheStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 주소 목록 중 캐시에 있는 항목 (키: 주소)
+     */
+    public Map<String, GeocodeCacheEntry> findByAddresses(Collection<String> addresses) {
+        Map<String, GeocodeCacheEntry> result = new HashMap<>();
+        if (addresses.isEmpty()) {
+            return result;
+        }
+        jdbcTemplate.query(con -> {
+            Array array = con.createArrayOf("varchar", addresses.toArray());
+            PreparedStatement ps = con.prepareStatement(SELECT_SQL);
+            ps.setArray(1, array);
+            return ps;
+        }, rs -> {
+            Timestamp resolvedAt = rs.getTimestamp("resolved_at");
+            GeocodeCacheEntry entry = new GeocodeCacheEntry(rs.getString("address"),
+                    rs.getObject("latitude", Double.class), rs.getObject("longitude", Double.class),
+                    rs.getBoolean("found"), resolvedAt != null ? resolvedAt.toInstant() : null);
+            result.put(entry.getAddress(), entry);
+        });
+        return result;
+    }
+
+    /**
+     * 결과 저장은 별도 트랜잭션에서 커밋합니다.
+     * 임포트 트랜잭션 안에서 쓰면 UPSERT 실패가 그 트랜잭션을 중단시켜(PostgreSQL) 이후 적재까지 실패하기 때문입니다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void upsert(List<GeocodeCacheEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(entries.size());
+        for (GeocodeCacheEntry e : entries) {
+            args.add(new Object[] { e.getAddress(), e.getLatitude(), e.getLongitude(), e.isFound(),
+                    Timestamp.from(e.getResolvedAt()) });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, args,
+                new int[] { Types.VARCHAR, Types.DOUBLE, Types.DOUBLE, Types.BOOLEAN, Types.TIMESTAMP });
+    }
+}
@@ -0,0 +1,190 @@
+package com.du.gis_project.repository;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.entity.RiskPoint;
+import com.du.gis_project.domain.entity.RiskType;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * risk_points 대량 적재용 저장소
+ *
+ * RiskPoint는 IDENTITY 키를 사용하므로 JPA saveAll은 행마다 INSERT를 한 번씩 보냅니다.
+ * 이 클래스는 설정(gis.import.bulk-mode)에 따라 PostgreSQL COPY 또는 JDBC 배치 INSERT로 한 번에 적재하며,
+ * id는 컬럼 기본값(IDENTITY 시퀀스)으로 채워집니다. 현재 트랜잭션의 커넥션을 그대로 사용합니다.
+ */
+@Repository
+public class RiskPointBulkWriter {
+
+    public static final String MODE_COPY = "copy";
+    public static final String MODE_BATCH = "batch";
+    public static final String MODE_JPA = "jpa";
+
+    private static final String COPY_SQL = "COPY risk_points (latitude, longitude, weight, type, source_key, location) "
+            + "FROM STDIN";
+    private static final String INSERT_SQL = "INSERT INTO risk_points "
+            + "(latitude, longitude, weight, type, source_key, location) "
+            + "VALUES (?, ?, ?, ?, ?, CAST(ST_SetSRID(ST_MakePoint(?, ?), 4326) AS geography))";
+    private static final String UPDATE_SQL = "UPDATE risk_points SET latitude = ?, longitude = ?, weight = ?, "
+            + "location = CAST(ST_SetSRID(ST_MakePoint(?, ?), 4326) AS geography) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RiskPointRepository riskPointRepository;
+    private final GisConfig gisConfig;
+
+    public RiskPointBulkWriter(JdbcTemplate jdbcTemplate, RiskPointRepository riskPointRepository,
+            GisConfig gisConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.riskPointRepository = riskPointRepository;
+        this.gisConfig = gisConfig;
+    }
+
+    public String getMode() {
+        return gisConfig.getImport().getBulkMode();
+    }
+
+    /**
+     * 한 번에 적재할 행 수 (호출 측은 이 크기만큼 모아서 insert를 호출)
+     */
+    public int getBatchSize() {
+        return Math.max(1, gisConfig.getImport().getBatchSize());
+    }
+
+    /**
+     * 해당 타입의 행을 단일 DELETE 문으로 삭제합니다. (JPA deleteByType은 엔티티를 모두 읽은 뒤 한 건씩 삭제함)
+     */
+    public int deleteByType(RiskType type) {
+        return jdbcTemplate.update("DELETE FROM risk_points WHERE type = ?", type.name());
+    }
+
+    /**
+     * 시설물 목록을 설정된 방식으로 적재합니다.
+     */
+    public void insert(List<RiskPoint> points) {
+        if (points.isEmpty()) {
+            return;
+        }
+        switch (getMode()) {
+            case MODE_JPA:
+                riskPointRepository.saveAll(points);
+                break;
+            case MODE_BATCH:
+                insertBatch(points);
+                break;
+            default:
+                copy(points);
+        }
+    }
+
+    /**
+     * COPY FROM STDIN (텍스트 형식). location은 EWKT 문자열로 넘기면 geography로 변환됨
+     */
+    private void copy(List<RiskPoint> points) {
+        StringBuilder sb = new StringBuilder(points.size() * 96);
+        for (RiskPoint p : points) {
+            sb.append(p.getLatitude()).append('\t')
+                    .append(p.getLongitude()).append('\t')
+                    .append(p.getWeight()).append('\t')
+                    .append(p.getType().name()).append('\t');
+            appendCopyText(sb, p.getSourceKey());
+            sb.append('\t')
+                    .append("SRID=4326;POINT(").append(p.getLongitude()).append(' ').append(p.getLatitude())
+                    .append(")\n");
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(sb.toString()));
+            } catch (IOException e) {
+                throw new SQLException("risk_points COPY 실패", e);
+            }
+        });
+    }
+
+    private void insertBatch(List<RiskPoint> points) {
+        List<Object[]> args = new ArrayList<>(points.size());
+        for (RiskPoint p : points) {
+            args.add(new Object[] { p.getLatitude(), p.getLongitude(), p.getWeight(), p.getType().name(),
+                    p.getSourceKey(), p.getLongitude(), p.getLatitude() });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    /**
+     * 해당 타입의 현재 행을 자연 키 기준으로 읽습니다. (키가 없는 이전 데이터는 "id:{id}" 키로 반환되어 어떤 원본 행과도 매칭되지 않음)
+     */
+    public Map<String, RiskPoint> findByTypeKeyed(RiskType type) {
+        Map<String, RiskPoint> result = new HashMap<>();
+        jdbcTemplate.query("SELECT id, latitude, longitude, weight, source_key FROM risk_points WHERE type = ?",
+                (RowCallbackHandler) rs -> {
+                    RiskPoint p = new RiskPoint(rs.getDouble("latitude"), rs.getDouble("longitude"),
+                            rs.getDouble("weight"), type, rs.getString("source_key"));
+                    p.setId(rs.getLong("id"));
+                    result.put(p.getSourceKey() != null ? p.getSourceKey() : "id:" + p.getId(), p);
+                }, type.name());
+        return result;
+    }
+
+    /**
+     * id로 좌표/가중치를 갱신합니다. (location도 함께 갱신)
+     */
+    public void update(List<RiskPoint> points) {
+        if (points.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(points.size());
+        for (RiskPoint p : points) {
+            args.add(new Object[] { p.getLatitude(), p.getLongitude(), p.getWeight(),
+                    p.getLongitude(), p.getLatitude(), p.getId() });
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+    }
+
+    public void deleteByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            args.add(new Object[] { id });
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM risk_points WHERE id = ?", args);
+    }
+
+    // COPY 텍스트 형식 이스케이프 (null은 \N)
+    private static void appendCopyText(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+    }
+}
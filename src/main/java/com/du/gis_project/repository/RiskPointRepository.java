@@ -1,15 +1,52 @@
 package com.du.gis_project.repository;
 
 import com.du.gis_project.domain.entity.RiskPoint;
-import com.du.gis_project.domain.entity.RiskType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface RiskPointRepository extends JpaRepository<RiskPoint, Long> {
-    List<RiskPoint> findByType(RiskType type);
 
-    void deleteByType(RiskType type);
+    // 반경 조회: geography GiST 인덱스를 사용하는 ST_DWithin (반경 단위 미터)
+    @Query(value = "SELECT * FROM risk_points p WHERE ST_DWithin(p.location, "
+            + "CAST(ST_SetSRID(ST_MakePoint(:lon, :lat), 4326) AS geography), :radius) ORDER BY p.id",
+            nativeQuery = true)
+    List<RiskPoint> findWithinRadius(@Param("lat") double lat, @Param("lon") double lon,
+            @Param("radius") double radius);
+
+    // 영역(bbox) 조회: GiST 인덱스(&&)로 후보를 좁힌 뒤 위경도 범위로 정확히 거름
+    // id 기준 키셋 페이지네이션 (cursor 다음 id부터 limit개), type이 null이면 전체 타입
+    // geography 사각형은 경도/위도 폭이 180도 미만일 때만 영역과 일치하므로 그보다 넓으면 findInRange 사용
+    @Query(value = "SELECT * FROM risk_points p WHERE p.location && "
+            + "CAST(ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326) AS geography) "
+            + "AND p.latitude BETWEEN :minLat AND :maxLat AND p.longitude BETWEEN :minLon AND :maxLon "
+            + "AND (CAST(:type AS varchar) IS NULL OR p.type = CAST(:type AS varchar)) "
+            + "AND p.id > :cursor ORDER BY p.id LIMIT :limit",
+            nativeQuery = true)
+    List<RiskPoint> findInEnvelope(@Param("type") String type,
+            @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+            @Param("minLon") double minLon, @Param("maxLon") double maxLon,
+            @Param("cursor") long cursor, @Param("limit") int limit);
+
+    // 넓은 영역 조회: 인덱스 후보 조건 없이 위경도 범위로만 거름 (id 순서 페이지)
+    @Query(value = "SELECT * FROM risk_points p WHERE "
+            + "p.latitude BETWEEN :minLat AND :maxLat AND p.longitude BETWEEN :minLon AND :maxLon "
+            + "AND (CAST(:type AS varchar) IS NULL OR p.type = CAST(:type AS varchar)) "
+            + "AND p.id > :cursor ORDER BY p.id LIMIT :limit",
+            nativeQuery = true)
+    List<RiskPoint> findInRange(@Param("type") String type,
+            @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+            @Param("minLon") double minLon, @Param("maxLon") double maxLon,
+            @Param("cursor") long cursor, @Param("limit") int limit);
+
+    // 영역 없는 페이지 조회: 기본 키 순서로 cursor 다음 id부터 limit개
+    @Query(value = "SELECT * FROM risk_points p "
+            + "WHERE (CAST(:type AS varchar) IS NULL OR p.type = CAST(:type AS varchar)) "
+            + "AND p.id > :cursor ORDER BY p.id LIMIT :limit",
+            nativeQuery = true)
+    List<RiskPoint> findPage(@Param("type") String type, @Param("cursor") long cursor, @Param("limit") int limit);
 }
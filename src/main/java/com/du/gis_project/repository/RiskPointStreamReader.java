@@ -0,0 +1,50 @@
+package com.du.gis_project.repository;
+
+import com.du.gis_project.domain.dto.RiskPointDto;
+import com.du.gis_project.domain.entity.RiskType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.function.Consumer;
+
+/**
+ * risk_points 전체/타입별 순차 조회 저장소
+ *
+ * JPA 엔티티와 영속성 컨텍스트를 거치지 않고 필요한 컬럼만 읽어 한 행씩 넘깁니다.
+ * PostgreSQL 드라이버는 트랜잭션 안(autocommit off)에서 fetch size가 지정된 경우에만 서버 커서로 나누어 읽으므로,
+ * 호출 측은 읽기 전용 트랜잭션 안에서 호출해야 전체 결과를 드라이버 메모리에 올리지 않습니다.
+ */
+@Repository
+public class RiskPointStreamReader {
+
+    private static final String SELECT_SQL = "SELECT id, latitude, longitude, weight, type FROM risk_points";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RiskPointStreamReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 전체(type == null) 또는 해당 타입의 시설물을 fetchSize 행씩 읽으며 action에 한 건씩 넘깁니다.
+     */
+    public void forEach(RiskType type, int fetchSize, Consumer<RiskPointDto> action) {
+        String sql = type != null ? SELECT_SQL + " WHERE type = ?" : SELECT_SQL;
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Math.max(1, fetchSize));
+            if (type != null) {
+                ps.setString(1, type.name());
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            RiskPointDto dto = new RiskPointDto(rs.getDouble("latitude"), rs.getDouble("longitude"),
+                    rs.getDouble("weight"), RiskType.valueOf(rs.getString("type")));
+            dto.setId(rs.getLong("id"));
+            action.accept(dto);
+        });
+    }
+}
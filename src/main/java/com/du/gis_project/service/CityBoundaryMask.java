@@ -0,0 +1,177 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.util.DistanceUtil;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 성남시 구역 판정 마스크
+ *
+ * 구역은 법정동 중심점에서 2.5km 이내인 영역입니다. 기동 시 구역 주변을 약 100m 래스터로 나누고,
+ * 삼각 부등식으로 칸 전체가 안쪽/바깥쪽인지 미리 분류해 두므로 대부분의 판정은 배열 조회 한 번으로 끝납니다.
+ * 경계에 걸친 칸만 중심점 거리를 직접 계산하며, 결과는 중심점 거리를 모두 계산하는 방식과 항상 같습니다.
+ * 히트맵 격자용 마스크는 격자 배치별로 한 번만 계산하여 재사용합니다.
+ */
+@Service
+public class CityBoundaryMask {
+
+    // 성남시 법정동별 중심점 데이터 (도시 구역 판정용)
+    private static final double[][] SEONGNAM_DONG_CENTERS = {
+            { 37.441, 127.140 }, { 37.446, 127.146 }, { 37.438, 127.144 }, { 37.439, 127.126 },
+            { 37.443, 127.129 }, { 37.440, 127.132 }, { 37.445, 127.133 }, { 37.436, 127.131 },
+            { 37.438, 127.124 }, { 37.452, 127.158 }, { 37.456, 127.150 }, { 37.452, 127.165 },
+            { 37.456, 127.127 }, { 37.429, 127.103 }, { 37.433, 127.098 }, { 37.436, 127.142 },
+            { 37.442, 127.152 }, { 37.446, 127.162 }, { 37.450, 127.168 }, { 37.454, 127.164 },
+            { 37.458, 127.169 }, { 37.439, 127.172 }, { 37.435, 127.165 }, { 37.431, 127.176 },
+            { 37.428, 127.153 }, { 37.422, 127.162 }, { 37.368, 127.135 }, { 37.378, 127.113 },
+            { 37.374, 127.119 }, { 37.366, 127.124 }, { 37.365, 127.106 }, { 37.358, 127.115 },
+            { 37.352, 127.112 }, { 37.388, 127.132 }, { 37.381, 127.140 }, { 37.397, 127.127 },
+            { 37.404, 127.120 }, { 37.408, 127.130 }, { 37.411, 127.122 }, { 37.418, 127.142 },
+            { 37.391, 127.086 }, { 37.401, 127.111 }, { 37.387, 127.107 }, { 37.392, 127.054 }
+    };
+
+    // 법정동 중심점에서 2.5km 이내면 성남시 구역으로 인정 (도시 외곽 산악지대 포함)
+    private static final double COVERAGE_RADIUS = 2500.0;
+
+    private static final double METERS_PER_DEGREE = 6371000.0 * Math.PI / 180.0;
+    private static final double RASTER_CELL_METERS = 100.0;
+
+    private static final byte OUTSIDE = 0;
+    private static final byte INSIDE = 1;
+    private static final byte BOUNDARY = 2;
+
+    // 래스터 범위 (모든 중심점 + 반경을 포함, 범위 밖은 항상 외부)
+    private final double minLat;
+    private final double minLon;
+    private final double cellLat;
+    private final double cellLon;
+    private final int rows;
+    private final int cols;
+    private final byte[] raster;
+
+    // 마지막으로 계산한 격자 마스크 (격자 배치는 설정값으로 고정되므로 사실상 한 번만 계산됨)
+    private volatile GridMask gridMask;
+
+    public CityBoundaryMask() {
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        double lowLat = Double.POSITIVE_INFINITY;
+        double lowLon = Double.POSITIVE_INFINITY;
+        for (double[] c : SEONGNAM_DONG_CENTERS) {
+            lowLat = Math.min(lowLat, c[0]);
+            maxLat = Math.max(maxLat, c[0]);
+            lowLon = Math.min(lowLon, c[1]);
+            maxLon = Math.max(maxLon, c[1]);
+        }
+        double padLat = COVERAGE_RADIUS / METERS_PER_DEGREE * 1.01;
+        double padLon = padLat / Math.cos(Math.toRadians(maxLat + padLat));
+        this.minLat = lowLat - padLat;
+        this.minLon = lowLon - padLon;
+        this.cellLat = RASTER_CELL_METERS / METERS_PER_DEGREE;
+        this.cellLon = cellLat / Math.cos(Math.toRadians((lowLat + maxLat) / 2));
+        this.rows = (int) Math.ceil((maxLat + padLat - minLat) / cellLat);
+        this.cols = (int) Math.ceil((maxLon + padLon - minLon) / cellLon);
+        this.raster = new byte[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                raster[r * cols + c] = classify(r, c);
+            }
+        }
+    }
+
+    /**
+     * 해당 좌표가 성남지역(행정구역 근방)인지 판정합니다.
+     */
+    public boolean contains(double lat, double lon) {
+        int r = (int) Math.floor((lat - minLat) / cellLat);
+        int c = (int) Math.floor((lon - minLon) / cellLon);
+        if (r < 0 || r >= rows || c < 0 || c >= cols) {
+            return false;
+        }
+        byte cls = raster[r * cols + c];
+        if (cls != BOUNDARY) {
+            return cls == INSIDE;
+        }
+        return containsExact(lat, lon);
+    }
+
+    /**
+     * 격자 축(행 우선)에 맞춘 내부 칸 마스크. 같은 축으로 다시 호출하면 계산 없이 재사용합니다.
+     * 반환된 BitSet은 공유되므로 호출 측에서 수정하지 않아야 합니다.
+     */
+    public BitSet gridMask(double[] lats, double[] lons) {
+        GridMask cached = gridMask;
+        if (cached != null && Arrays.equals(cached.lats, lats) && Arrays.equals(cached.lons, lons)) {
+            return cached.mask;
+        }
+        BitSet mask = new BitSet(lats.length * lons.length);
+        for (int r = 0; r < lats.length; r++) {
+            for (int c = 0; c < lons.length; c++) {
+                if (contains(lats[r], lons[c])) {
+                    mask.set(r * lons.length + c);
+                }
+            }
+        }
+        gridMask = new GridMask(lats.clone(), lons.clone(), mask);
+        return mask;
+    }
+
+    /**
+     * 래스터 없이 모든 중심점 거리를 계산하는 판정 (contains와 항상 같은 결과)
+     */
+    static boolean containsExact(double lat, double lon) {
+        for (double[] center : SEONGNAM_DONG_CENTERS) {
+            if (DistanceUtil.calculateDistance(lat, lon, center[0], center[1]) < COVERAGE_RADIUS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 래스터 칸 분류: 칸 중심에서 모서리까지 거리(h)로 삼각 부등식을 적용
+     * 어떤 중심점까지 거리 + h < 반경이면 칸 전체가 내부, 모든 중심점까지 거리 - h >= 반경이면 칸 전체가 외부
+     */
+    private byte classify(int r, int c) {
+        double south = minLat + r * cellLat;
+        double west = minLon + c * cellLon;
+        double centerLat = south + cellLat / 2;
+        double centerLon = west + cellLon / 2;
+
+        double h = 0;
+        for (int dr = 0; dr <= 1; dr++) {
+            for (int dc = 0; dc <= 1; dc++) {
+                h = Math.max(h, DistanceUtil.calculateDistance(centerLat, centerLon,
+                        south + dr * cellLat, west + dc * cellLon));
+            }
+        }
+        // 부동소수점 오차 여유
+        h = h * 1.001 + 0.01;
+
+        boolean allOutside = true;
+        for (double[] center : SEONGNAM_DONG_CENTERS) {
+            double d = DistanceUtil.calculateDistance(centerLat, centerLon, center[0], center[1]);
+            if (d + h < COVERAGE_RADIUS) {
+                return INSIDE;
+            }
+            if (d - h < COVERAGE_RADIUS) {
+                allOutside = false;
+            }
+        }
+        return allOutside ? OUTSIDE : BOUNDARY;
+    }
+
+    private static final class GridMask {
+        final double[] lats;
+        final double[] lons;
+        final BitSet mask;
+
+        GridMask(double[] lats, double[] lons, BitSet mask) {
+            this.lats = lats;
+            this.lons = lons;
+            this.mask = mask;
+        }
+    }
+}
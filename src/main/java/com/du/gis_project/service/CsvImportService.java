@@ -3,214 +3,204 @@ package com.du.gis_project.service;
 import com.du.gis_project.config.GisConfig;
 import com.du.gis_project.domain.entity.RiskPoint;
 import com.du.gis_project.domain.entity.RiskType;
-import com.du.gis_project.repository.RiskPointRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.du.gis_project.repository.RiskPointBulkWriter;
+import com.du.gis_project.util.CsvTokenizer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.BufferedReader;
 
 import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URI;
-import java.net.URL;
-import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import org.springframework.core.io.ClassPathResource;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 
 @Service
 public class CsvImportService {
 
     private static final Logger log = LoggerFactory.getLogger(CsvImportService.class);
-    private final RiskPointRepository riskPointRepository;
+    private final RiskPointBulkWriter bulkWriter;
     private final GisConfig gisConfig;
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    public CsvImportService(RiskPointRepository riskPointRepository,
-            GisConfig gisConfig) {
-        this.riskPointRepository = riskPointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final GeocodingService geocodingService;
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    public CsvImportService(RiskPointBulkWriter bulkWriter, GisConfig gisConfig, GeocodingService geocodingService,
+            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.bulkWriter = bulkWriter;
         this.gisConfig = gisConfig;
+        this.geocodingService = geocodingService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
     }
 
+    /**
+     * Imports a single type in its own transaction. This is the only import entry point
+     * (ImportJobService calls it once per type to run types in parallel).
+     * RiskDataChangedEvent is published inside this transaction so that listeners can track when
+     * exactly the changes commit (the heatmap cache orders its full rebuild reads against that window).
+     *
+     * @return changed rows in delta mode, or null when the type was fully reloaded
+     */
     @Transactional
-    public void importAllData() {
-        log.info("Starting ALL data import...");
-
-        // 1. CCTV (MS949)
-        importCctv();
-
-        // 2. Police (UTF-8)
-        importPolice();
-
-        // 3. Streetlight (UTF-8, Geocoding required)
-        importStreetlight();
-
-        log.info("ALL data import completed.");
+    public List<RiskPointChange> importType(RiskType type, ImportProgress progress) {
+        List<RiskPointChange> changes;
+        switch (type) {
+            case CCTV:
+                changes = importCctv(progress);
+                break;
+            case POLICE:
+                changes = importPolice(progress);
+                break;
+            case STREET_LIGHT:
+                changes = importStreetlight(progress);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+        eventPublisher.publishEvent(new RiskDataChangedEvent("import", changes));
+        return changes;
     }
 
-    @Transactional // Separate transaction for each type to avoid total rollback on partial fail
-    public void importCctv() {
-        // CCTV: index 3(lat), 4(lon), MS949
+    private List<RiskPointChange> importCctv(ImportProgress progress) {
+        // CCTV: 위도/경도 columns, UTF-8 (the bundled file is UTF-8, not MS949)
         log.info("Importing CCTV data...");
-        riskPointRepository.deleteByType(RiskType.CCTV);
-        // Use ClassPathResource to load from classpath (works in IDE and JAR)
-        // Auto-detect columns (pass -2)
-        importFile("static/data/cctv.csv", Charset.forName("MS949"), RiskType.CCTV, -2, -2, -1, false);
+        // Auto-detect columns (pass -2), keyed by 관리번호
+        return importFile("cctv.csv", StandardCharsets.UTF_8, RiskType.CCTV, -2, -2, -1, false,
+                "관리번호", progress);
     }
 
-    @Transactional
-    public void importPolice() {
-        // Police: index 1(lat), 0(lon), UTF-8
+    private List<RiskPointChange> importPolice(ImportProgress progress) {
+        // Police: index 1(lat), 0(lon), UTF-8, keyed by coordinates
         log.info("Importing Police data...");
-        riskPointRepository.deleteByType(RiskType.POLICE);
-        importFile("static/data/police.csv", StandardCharsets.UTF_8, RiskType.POLICE, 1, 0, -1, false);
+        return importFile("police.csv", StandardCharsets.UTF_8, RiskType.POLICE, 1, 0, -1, false,
+                null, progress);
     }
 
-    @Transactional
-    public void importStreetlight() {
+    private List<RiskPointChange> importStreetlight(ImportProgress progress) {
         log.info("Importing Streetlight data (from CSV coordinates)...");
-        riskPointRepository.deleteByType(RiskType.STREET_LIGHT);
 
         // Files now contains Latitude/Longitude columns. Use auto-detect (-2).
-        importFile("static/data/streetlight.csv", StandardCharsets.UTF_8, RiskType.STREET_LIGHT, -2, -2, -1, false);
+        return importFile("streetlight.csv", StandardCharsets.UTF_8, RiskType.STREET_LIGHT, -2, -2, -1,
+                false, null, progress);
     }
 
-    private void importFile(String resourcePath, Charset charset, RiskType type, int latIdx, int lonIdx, int addrIdx,
-            boolean useGeocoding) {
-        List<RiskPoint> points = new ArrayList<>();
-        int successCount = 0;
-        int failCount = 0;
-
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(new ClassPathResource(resourcePath).getInputStream(), charset))) {
-            String line;
-            boolean isFirst = true;
+    /**
+     * Reads a CSV file from gis.import.data-location and stores its rows.
+     * In delta mode (gis.import.mode=delta) rows are matched to the current rows by natural key and only the
+     * differences are written; in reload mode the type is deleted and fully reinserted.
+     *
+     * @param fileName  file name relative to gis.import.data-location
+     * @param keyColumn header name of the natural key column, or null to key rows by coordinates
+     * @return changed rows in delta mode, or null after a full reload
+     */
+    private List<RiskPointChange> importFile(String fileName, Charset charset, RiskType type, int latIdx,
+            int lonIdx, int addrIdx, boolean useGeocoding, String keyColumn, ImportProgress progress) {
+        // classpath: (works in IDE and JAR) or file: location
+        String resourcePath = gisConfig.getImport().getDataLocation() + fileName;
+        Resource resource = resourceLoader.getResource(resourcePath);
+        boolean delta = isDeltaMode();
+        PointSink sink = new PointSink(type, delta, progress);
+        // Address-only rows are geocoded in batches: {address, natural key or null}
+        List<String[]> pendingGeocode = new ArrayList<>();
+        int geocodeBatchSize = Math.max(1, gisConfig.getImport().getGeocode().getBatchSize());
+        progress.start(resourcePath);
+
+        if (!delta) {
+            bulkWriter.deleteByType(type);
+        }
 
+        // Quote-aware streaming tokenizer: numbers are parsed straight from the record buffer
+        try (CsvTokenizer csv = new CsvTokenizer(
+                new InputStreamReader(resource.getInputStream(), charset))) {
             log.info("Reading file: {}", resourcePath);
 
-            while ((line = br.readLine()) != null) {
-                if (isFirst) {
-                    isFirst = false;
-                    continue; // Skip header
-                }
+            if (!csv.next()) {
+                log.warn("Empty file: {}", resourcePath);
+                return delta ? applyDelta(type, new LinkedHashMap<>()) : null;
+            }
 
+            // Coordinate columns are detected once (header first, then the first rows with coordinates)
+            boolean autoDetect = latIdx == -2 || lonIdx == -2 || useGeocoding;
+            int[] columns = autoDetect ? detectColumnsFromHeader(csv) : new int[] { latIdx, lonIdx };
+            boolean detected = columns[0] >= 0 && columns[1] >= 0;
+            if (autoDetect && detected) {
+                log.info("Coordinate columns from header: lat={}, lon={}", columns[0], columns[1]);
+            }
+            int keyIdx = keyColumn != null ? findColumn(csv, keyColumn) : -1;
+
+            while (csv.next()) {
                 try {
-                    // Simple CSV splitting
-                    String[] cols = line.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1);
-
-                    double latitude = 0.0;
-                    double longitude = 0.0;
-
-                    // 1. Try to find Lat/Lon in columns (Hybrid approach)
-                    double autoLat = 0.0;
-                    double autoLon = 0.0;
-                    boolean foundCoords = false;
-
-                    // Helper to check value range
-                    int foundLatIdx = latIdx;
-                    int foundLonIdx = lonIdx;
-
-                    // Check for auto-detect or valid index
-                    if (foundLatIdx == -2 || foundLonIdx == -2 || useGeocoding) {
-                        for (int i = 0; i < cols.length; i++) {
-                            try {
-                                String valStr = cols[i].replace("\"", "").trim();
-                                if (valStr.isEmpty())
-                                    continue;
-                                double val = Double.parseDouble(valStr);
-                                if (val >= 33 && val <= 43)
-                                    foundLatIdx = i;
-                                else if (val >= 124 && val <= 132)
-                                    foundLonIdx = i;
-                            } catch (NumberFormatException e) {
-                                /* ignore */ }
+                    if (!detected) {
+                        columns = detectColumnsFromValues(csv, latIdx, lonIdx);
+                        detected = columns[0] >= 0 && columns[1] >= 0;
+                        if (detected) {
+                            log.info("Coordinate columns from line {}: lat={}, lon={}",
+                                    csv.lineNumber(), columns[0], columns[1]);
                         }
                     }
 
-                    if (foundLatIdx >= 0 && foundLonIdx >= 0 && foundLatIdx < cols.length
-                            && foundLonIdx < cols.length) {
-                        try {
-                            String latStr = cols[foundLatIdx].replace("\"", "").trim();
-                            String lonStr = cols[foundLonIdx].replace("\"", "").trim();
-                            if (!latStr.isEmpty() && !lonStr.isEmpty()) {
-                                autoLat = Double.parseDouble(latStr);
-                                autoLon = Double.parseDouble(lonStr);
-                                foundCoords = true;
-                            }
-                        } catch (Exception e) {
-                        }
+                    double latitude = csv.parseDouble(columns[0]);
+                    double longitude = csv.parseDouble(columns[1]);
+                    if (autoDetect && !(isLatitude(latitude) && isLongitude(longitude))) {
+                        // Detected columns with out-of-range values (e.g. typos) are treated as missing
+                        latitude = Double.NaN;
                     }
 
-                    // 2. Decide: Use Coords OR Geocode
-                    if (foundCoords) {
-                        latitude = autoLat;
-                        longitude = autoLon;
-                    } else if (useGeocoding) {
-                        if (addrIdx >= cols.length)
+                    String sourceKey = keyIdx >= 0 && !csv.isBlank(keyIdx) ? csv.field(keyIdx) : null;
+
+                    // Use Coords OR Geocode
+                    if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+                        if (!useGeocoding || addrIdx < 0 || addrIdx >= csv.fieldCount()) {
+                            progress.rowFailed();
                             continue;
-                        String rawAddress = cols[addrIdx].replace("\"", "").trim();
+                        }
+                        String rawAddress = csv.field(addrIdx);
                         if (rawAddress.contains("/")) {
                             rawAddress = rawAddress.split("/")[0].trim();
                         }
                         String cleanAddress = rawAddress.replaceAll("\\(.*?\\)", "").trim();
-
-                        double[] coords = geocode(cleanAddress);
-                        if (coords == null) {
-                            if (failCount < 10)
-                                log.warn("Geocoding failed for: [{}]", cleanAddress);
-                            failCount++;
+                        if (cleanAddress.isEmpty()) {
+                            progress.rowFailed();
                             continue;
                         }
-                        longitude = coords[0];
-                        latitude = coords[1];
-                    } else {
-                        // Fallback for non-geocoding mode if no coords found
-                        // (Should be covered by foundCoords if logic is correct, but safe check)
-                        if (latIdx >= cols.length || lonIdx >= cols.length)
-                            continue;
 
-                        // If we are here, it means we expected fixed indices but didn't find good
-                        // values
-                        // or we were reliant on auto-detect and failed.
-                        failCount++;
+                        pendingGeocode.add(new String[] { cleanAddress, sourceKey });
+                        if (pendingGeocode.size() >= geocodeBatchSize) {
+                            geocodePending(pendingGeocode, sink, progress);
+                        }
                         continue;
                     }
 
-                    // Weight logic (Refined as per user request)
-                    double weight = 1.0;
-                    if (type == RiskType.CCTV)
-                        weight = 0.7; // User requested 0.7
-                    if (type == RiskType.POLICE)
-                        weight = 1.0; // User requested 1.0
-                    if (type == RiskType.STREET_LIGHT)
-                        weight = 0.4; // User requested 0.4 ("Garodeung")
-
-                    points.add(new RiskPoint(latitude, longitude, weight, type));
-                    successCount++;
-
-                    // Batch insert every 1000
-                    if (points.size() >= 1000) {
-                        riskPointRepository.saveAll(points);
-                        points.clear();
-                    }
+                    sink.add(latitude, longitude, sourceKey);
 
                 } catch (Exception e) {
-                    failCount++;
+                    progress.rowFailed();
                 }
             }
+            geocodePending(pendingGeocode, sink, progress);
 
-            // Save remaining
-            if (!points.isEmpty()) {
-                riskPointRepository.saveAll(points);
-            }
+            List<RiskPointChange> changes = sink.finish();
 
-            log.info("Imported {} : Success={}, Fail={}", type, successCount, failCount);
+            log.info("Imported {} : Success={}, Fail={}, {} ms, {} rows/sec (mode={}, {})", type,
+                    progress.getSuccessCount(), progress.getFailCount(), progress.getElapsedMs(),
+                    progress.getRowsPerSecond(), bulkWriter.getMode(), delta ? "delta" : "reload");
+            recordMetrics(type, progress);
+            return changes;
 
         } catch (Exception e) {
             log.error("Failed to read file: {}", resourcePath, e);
@@ -218,48 +208,230 @@ public class CsvImportService {
         }
     }
 
-    private double[] geocode(String address) {
-        if (address == null || address.isEmpty())
-            return null;
-
-        // Clean address: remove text in parentheses and extra spaces
-        String cleanAddress = address.replaceAll("\\(.*?\\)", "").trim();
-
+    /**
+     * Geocodes the buffered address-only rows in one batch (persistent cache, rate-limited concurrent lookups)
+     * and hands the resolved rows to the sink in file order.
+     */
+    private void geocodePending(List<String[]> pending, PointSink sink, ImportProgress progress) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<String> addresses = new ArrayList<>(pending.size());
+        for (String[] row : pending) {
+            addresses.add(row[0]);
+        }
         try {
-            // Rate limiting to avoid API rejection
-            Thread.sleep(100);
-
-            String encodedAddr = URLEncoder.encode(cleanAddress, StandardCharsets.UTF_8);
-            String apiUrl = "https://api.vworld.kr/req/address?service=address&request=getcoord&version=2.0&crs=epsg:4326&address="
-                    + encodedAddr + "&refine=true&simple=false&format=json&type=PARCEL&key="
-                    + gisConfig.getVworld().getKey();
-
-            URL url = URI.create(apiUrl).toURL();
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            conn.setRequestProperty("Accept", "application/json");
-
-            if (conn.getResponseCode() == 200) {
-                BufferedReader br = new BufferedReader(
-                        new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8));
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = br.readLine()) != null)
-                    response.append(line);
-                br.close();
-
-                JsonNode root = objectMapper.readTree(response.toString());
-                JsonNode responseNode = root.path("response");
-                if ("OK".equals(responseNode.path("status").asText())) {
-                    JsonNode point = responseNode.path("result").path("point");
-                    double x = Double.parseDouble(point.path("x").asText()); // Longitude
-                    double y = Double.parseDouble(point.path("y").asText()); // Latitude
-                    return new double[] { x, y };
+            Map<String, double[]> coords = geocodingService.geocodeAll(addresses);
+            for (String[] row : pending) {
+                double[] lonLat = coords.get(GeocodingService.normalize(row[0]));
+                if (lonLat == null) {
+                    if (progress.getFailCount() < 10)
+                        log.warn("Geocoding failed for: [{}]", row[0]);
+                    progress.rowFailed();
+                    continue;
                 }
+                sink.add(lonLat[1], lonLat[0], row[1]);
             }
-        } catch (Exception e) {
-            // Ignore individual geocode failures, just return null
+        } catch (RuntimeException e) {
+            log.error("Geocoding batch failed ({} rows): {}", pending.size(), e.getMessage());
+            for (int i = 0; i < pending.size(); i++) {
+                progress.rowFailed();
+            }
+        } finally {
+            pending.clear();
+        }
+    }
+
+    /**
+     * Diffs the parsed rows against the stored rows of the type and writes only inserts, updates and deletes.
+     */
+    private List<RiskPointChange> applyDelta(RiskType type, Map<String, RiskPoint> parsed) {
+        Map<String, RiskPoint> existing = bulkWriter.findByTypeKeyed(type);
+        List<RiskPointChange> changes = new ArrayList<>();
+        List<RiskPoint> inserts = new ArrayList<>();
+        List<RiskPoint> updates = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+
+        for (Map.Entry<String, RiskPoint> entry : parsed.entrySet()) {
+            RiskPoint incoming = entry.getValue();
+            RiskPoint current = existing.remove(entry.getKey());
+            if (current == null) {
+                inserts.add(incoming);
+                changes.add(RiskPointChange.inserted(incoming));
+            } else if (current.getLatitude() != incoming.getLatitude()
+                    || current.getLongitude() != incoming.getLongitude()
+                    || current.getWeight() != incoming.getWeight()) {
+                incoming.setId(current.getId());
+                updates.add(incoming);
+                changes.add(RiskPointChange.updated(current, incoming));
+            }
+        }
+        // Rows left over are no longer in the file
+        for (RiskPoint removed : existing.values()) {
+            deletes.add(removed.getId());
+            changes.add(RiskPointChange.deleted(removed));
+        }
+
+        bulkWriter.deleteByIds(deletes);
+        bulkWriter.update(updates);
+        int batchSize = bulkWriter.getBatchSize();
+        for (int i = 0; i < inserts.size(); i += batchSize) {
+            bulkWriter.insert(inserts.subList(i, Math.min(i + batchSize, inserts.size())));
+        }
+
+        log.info("Delta {} : insert={}, update={}, delete={}, unchanged={}", type, inserts.size(), updates.size(),
+                deletes.size(), parsed.size() - inserts.size() - updates.size());
+        return changes;
+    }
+
+    /**
+     * Per-type import metrics: rows by result, duration and throughput (rows/sec).
+     */
+    private void recordMetrics(RiskType type, ImportProgress progress) {
+        String typeTag = type.name();
+        meterRegistry.counter("gis.import.rows", "type", typeTag, "result", "success")
+                .increment(progress.getSuccessCount());
+        meterRegistry.counter("gis.import.rows", "type", typeTag, "result", "fail")
+                .increment(progress.getFailCount());
+        meterRegistry.timer("gis.import.duration", "type", typeTag)
+                .record(progress.getElapsedMs(), TimeUnit.MILLISECONDS);
+        DistributionSummary.builder("gis.import.rows.per.second")
+                .description("CSV import throughput")
+                .tag("type", typeTag)
+                .register(meterRegistry)
+                .record(progress.getRowsPerSecond());
+    }
+
+    private boolean isDeltaMode() {
+        return "delta".equalsIgnoreCase(gisConfig.getImport().getMode());
+    }
+
+    // Coordinate-based natural key (1e-7 degree ≈ 1 cm) for files without an id column
+    private static String coordinateKey(double latitude, double longitude) {
+        return "@" + Math.round(latitude * 1e7) + "," + Math.round(longitude * 1e7);
+    }
+
+    // Repeated keys (e.g. two facilities at the same coordinates) get an occurrence suffix
+    private static String uniqueKey(String key, Map<String, Integer> keyCounts) {
+        int n = keyCounts.merge(key, 1, Integer::sum);
+        return n == 1 ? key : key + "#" + n;
+    }
+
+    private static int findColumn(CsvTokenizer header, String name) {
+        for (int i = 0; i < header.fieldCount(); i++) {
+            if (header.field(i).equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Weight logic (Refined as per user request), also used for facilities added through the admin API
+    static double defaultWeight(RiskType type) {
+        switch (type) {
+            case CCTV:
+                return 0.7; // User requested 0.7
+            case POLICE:
+                return 1.0; // User requested 1.0
+            case STREET_LIGHT:
+                return 0.4; // User requested 0.4 ("Garodeung")
+            default:
+                return 1.0;
+        }
+    }
+
+    /**
+     * Finds lat/lon columns by header name (위도/경도, Latitude/Longitude). Returns -1 for columns not found.
+     */
+    private static int[] detectColumnsFromHeader(CsvTokenizer header) {
+        int[] columns = { -1, -1 };
+        for (int i = 0; i < header.fieldCount(); i++) {
+            String name = header.field(i).toLowerCase(Locale.ROOT);
+            if (name.equals("위도") || name.equals("latitude") || name.equals("lat")) {
+                columns[0] = i;
+            } else if (name.equals("경도") || name.equals("longitude") || name.equals("lon") || name.equals("lng")) {
+                columns[1] = i;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Finds lat/lon columns by value range in the current row (last matching column wins).
+     */
+    private static int[] detectColumnsFromValues(CsvTokenizer row, int latIdx, int lonIdx) {
+        int[] columns = { latIdx, lonIdx };
+        for (int i = 0; i < row.fieldCount(); i++) {
+            double val = row.parseDouble(i);
+            if (isLatitude(val))
+                columns[0] = i;
+            else if (isLongitude(val))
+                columns[1] = i;
+        }
+        return columns;
+    }
+
+    // Rough coordinate ranges of the Korean peninsula
+    private static boolean isLatitude(double val) {
+        return val >= 33 && val <= 43;
+    }
+
+    private static boolean isLongitude(double val) {
+        return val >= 124 && val <= 132;
+    }
+
+    /**
+     * Collects the rows of one file: assigns natural keys, then either keeps the rows for the delta diff or
+     * bulk-inserts them every batch-size rows (COPY / JDBC batch / saveAll).
+     */
+    private final class PointSink {
+        private final RiskType type;
+        private final boolean delta;
+        private final ImportProgress progress;
+        private final double weight;
+        private final int batchSize = bulkWriter.getBatchSize();
+        private final List<RiskPoint> points = new ArrayList<>(batchSize);
+        private final Map<String, RiskPoint> parsed = new LinkedHashMap<>();
+        private final Map<String, Integer> keyCounts = new HashMap<>();
+
+        PointSink(RiskType type, boolean delta, ImportProgress progress) {
+            this.type = type;
+            this.delta = delta;
+            this.progress = progress;
+            this.weight = defaultWeight(type);
+        }
+
+        /**
+         * @param sourceKey natural key from the key column, or null to key the row by coordinates
+         */
+        void add(double latitude, double longitude, String sourceKey) {
+            String key = uniqueKey(sourceKey != null ? sourceKey : coordinateKey(latitude, longitude), keyCounts);
+            RiskPoint point = new RiskPoint(latitude, longitude, weight, type, key);
+            progress.rowSucceeded();
+
+            if (delta) {
+                parsed.put(key, point);
+                return;
+            }
+            points.add(point);
+            if (points.size() >= batchSize) {
+                bulkWriter.insert(points);
+                points.clear();
+            }
+        }
+
+        /**
+         * @return changed rows in delta mode, or null after a full reload
+         */
+        List<RiskPointChange> finish() {
+            if (delta) {
+                return applyDelta(type, parsed);
+            }
+            if (!points.isEmpty()) {
+                // Save remaining
+                bulkWriter.insert(points);
+            }
+            return null;
         }
-        return null;
     }
 }
@@ -0,0 +1,238 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.entity.GeocodeCacheEntry;
+import com.du.gis_project.repository.GeocodeCacheStore;
+import com.du.gis_project.util.TokenBucket;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 주소 → 좌표 일괄 지오코딩
+ *
+ * 임포트에서 모은 주소 묶음을 중복 제거한 뒤 geocode_cache 테이블에서 한 번에 조회하고,
+ * 캐시에 없는 주소만 VWorld로 보냅니다. 외부 호출은 토큰 버킷으로 초당 호출 수를 제한하고,
+ * 고정 크기 풀로 동시에 진행하는 호출 수를 제한하며, 일시적인 오류(시간 초과, 5xx, 429, 서킷 열림)는
+ * 지수 백오프로 다시 시도합니다. 조회 결과(결과 없음 포함)는 캐시 테이블에 저장되어 재적재 시 재사용됩니다.
+ */
+@Service
+public class GeocodingService {
+
+    private static final Logger log = LoggerFactory.getLogger(GeocodingService.class);
+
+    private static final String GEOCODE_PATH = "/req/address?service=address&request=getcoord&version=2.0"
+            + "&crs=epsg:4326&address={address}&refine=true&simple=false&format=json&type=PARCEL&key={key}";
+
+    private final VWorldClient vworldClient;
+    private final GeocodeCacheStore cacheStore;
+    private final GisConfig gisConfig;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TokenBucket rateLimiter;
+    // 풀 크기가 동시 진행 호출 수의 상한
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService geocodeExecutor;
+
+    public GeocodingService(VWorldClient vworldClient, GeocodeCacheStore cacheStore, GisConfig gisConfig,
+            MeterRegistry meterRegistry) {
+        this.vworldClient = vworldClient;
+        this.cacheStore = cacheStore;
+        this.gisConfig = gisConfig;
+        this.meterRegistry = meterRegistry;
+        GisConfig.Import.Geocode settings = gisConfig.getImport().getGeocode();
+        this.rateLimiter = new TokenBucket(settings.getRatePerSecond(), settings.getBurst());
+        this.geocodeExecutor = Executors.newFixedThreadPool(Math.max(1, settings.getMaxConcurrent()), r -> {
+            Thread t = new Thread(r, "geocode-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 주소 목록을 좌표로 변환합니다.
+     *
+     * @return 정규화한 주소(normalize) → {경도, 위도}. 결과가 없거나 조회에 실패한 주소는 포함하지 않음
+     */
+    public Map<String, double[]> geocodeAll(Collection<String> addresses) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String address : addresses) {
+            String normalized = normalize(address);
+            if (!normalized.isEmpty()) {
+                unique.add(normalized);
+            }
+        }
+
+        Map<String, double[]> result = new HashMap<>();
+        Instant negativeExpiry = Instant.now().minus(gisConfig.getImport().getGeocode().getNegativeTtl());
+        Map<String, GeocodeCacheEntry> cached = cacheStore.findByAddresses(unique);
+        List<String> misses = new ArrayList<>();
+        for (String address : unique) {
+            GeocodeCacheEntry entry = cached.get(address);
+            if (entry != null && entry.isFound()) {
+                result.put(address, new double[] { entry.getLongitude(), entry.getLatitude() });
+                count("cache_hit");
+            } else if (entry != null && entry.getResolvedAt() != null && entry.getResolvedAt().isAfter(negativeExpiry)) {
+                count("cache_hit");
+            } else {
+                misses.add(address);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        List<Future<GeocodeCacheEntry>> calls = new ArrayList<>(misses.size());
+        for (String address : misses) {
+            calls.add(geocodeExecutor.submit(() -> geocodeWithRetry(address)));
+        }
+        List<GeocodeCacheEntry> resolved = new ArrayList<>(misses.size());
+        try {
+            for (Future<GeocodeCacheEntry> call : calls) {
+                GeocodeCacheEntry entry = call.get();
+                if (entry == null) {
+                    // 재시도 후에도 실패: 캐시하지 않고 다음 적재 때 다시 시도
+                    continue;
+                }
+                resolved.add(entry);
+                if (entry.isFound()) {
+                    result.put(entry.getAddress(), new double[] { entry.getLongitude(), entry.getLatitude() });
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            calls.forEach(call -> call.cancel(true));
+            throw new IllegalStateException("지오코딩이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            calls.forEach(call -> call.cancel(true));
+            throw new IllegalStateException("지오코딩 실패", e.getCause());
+        } finally {
+            // 중단된 경우에도 이미 받은 결과는 저장
+            saveToCache(resolved);
+        }
+
+        log.info("지오코딩 완료 (주소: {}, 캐시: {}, 호출: {}, 결과 있음: {})", unique.size(),
+                unique.size() - misses.size(), misses.size(), result.size());
+        return result;
+    }
+
+    /**
+     * 지오코딩 결과를 캐시에 저장합니다. 컬럼보다 긴 주소는 저장하지 않고,
+     * 저장에 실패해도 캐시는 보조 수단이므로 경고만 남기고 임포트를 계속합니다.
+     */
+    private void saveToCache(List<GeocodeCacheEntry> resolved) {
+        List<GeocodeCacheEntry> entries = new ArrayList<>(resolved.size());
+        for (GeocodeCacheEntry entry : resolved) {
+            if (entry.getAddress().length() <= GeocodeCacheEntry.MAX_ADDRESS_LENGTH) {
+                entries.add(entry);
+            } else {
+                log.debug("캐시하지 않는 긴 주소 (길이: {})", entry.getAddress().length());
+            }
+        }
+        try {
+            cacheStore.upsert(entries);
+        } catch (DataAccessException e) {
+            log.warn("지오코딩 캐시 저장 실패 (건수: {}): {}", entries.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 캐시 키용 주소 정규화: 앞뒤 공백 제거, 연속 공백 하나로
+     */
+    public static String normalize(String address) {
+        return address == null ? "" : address.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 주소 하나를 조회합니다. 일시적인 오류는 백오프 후 다시 시도합니다.
+     *
+     * @return 조회 결과 (결과 없음 포함), 재시도 후에도 실패하면 null
+     */
+    private GeocodeCacheEntry geocodeWithRetry(String address) throws InterruptedException {
+        GisConfig.Import.Geocode settings = gisConfig.getImport().getGeocode();
+        int maxAttempts = Math.max(1, settings.getMaxAttempts());
+        Map<String, String> params = new HashMap<>();
+        params.put("address", address);
+        params.put("key", gisConfig.getVworld().getKey());
+
+        for (int attempt = 1; ; attempt++) {
+            rateLimiter.acquire();
+            try {
+                GeocodeCacheEntry entry = parse(address, vworldClient.get(GEOCODE_PATH, params, VWorldClient.Budget.GEOCODE));
+                count(entry.isFound() ? "found" : "not_found");
+                return entry;
+            } catch (VWorldClient.VWorldCallException e) {
+                if (!e.isRetryable() || attempt >= maxAttempts) {
+                    return failed(address, e);
+                }
+            } catch (VWorldClient.VWorldUnavailableException e) {
+                if (attempt >= maxAttempts) {
+                    return failed(address, e);
+                }
+            } catch (Exception e) {
+                // 응답 형식 오류는 다시 시도해도 같으므로 바로 실패 처리
+                return failed(address, e);
+            }
+            count("retry");
+            Thread.sleep(backoffMillis(attempt, settings));
+        }
+    }
+
+    // 지수 백오프 (시도마다 두 배, 상한 적용) + 최대 50% 지터로 재시도가 한꺼번에 몰리지 않게 함
+    private static long backoffMillis(int attempt, GisConfig.Import.Geocode settings) {
+        long base = settings.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(base, settings.getMaxBackoff().toMillis());
+        return capped + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    private GeocodeCacheEntry parse(String address, String body) throws Exception {
+        JsonNode response = objectMapper.readTree(body).path("response");
+        String status = response.path("status").asText();
+        if ("NOT_FOUND".equals(status)) {
+            return GeocodeCacheEntry.notFound(address);
+        }
+        if (!"OK".equals(status)) {
+            // 인증키 오류 등은 주소와 무관하므로 결과 없음으로 저장하지 않음
+            throw new IllegalStateException("VWorld 지오코딩 오류 응답: " + status);
+        }
+        JsonNode point = response.path("result").path("point");
+        double x = Double.parseDouble(point.path("x").asText()); // 경도
+        double y = Double.parseDouble(point.path("y").asText()); // 위도
+        return GeocodeCacheEntry.found(address, y, x);
+    }
+
+    private GeocodeCacheEntry failed(String address, Exception e) {
+        count("error");
+        log.debug("지오코딩 실패 [{}]: {}", address, e.getMessage());
+        return null;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("gis.geocode.requests", "result", result).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        geocodeExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,124 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.domain.dto.RiskGrid;
+import com.du.gis_project.util.CompressedBody;
+import com.du.gis_project.util.DistanceUtil;
+import com.du.gis_project.util.RiskBinaryEncoder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 한 번 계산된 위험도 히트맵 결과를 담는 불변 스냅샷
+ * 스냅샷은 교체만 되고 수정되지 않으므로 여러 요청이 동시에 읽어도 안전합니다.
+ * 해상도별 격자(피라미드)를 세밀한 레벨부터 보관하며, 기본 레벨은 설정 간격(gis.map.grid.step-*) 격자입니다.
+ */
+public class HeatmapSnapshot {
+
+    // 웹 메르카토르 줌 0의 적도 기준 픽셀당 미터
+    private static final double METERS_PER_PIXEL_Z0 = 156543.03392;
+
+    private final long version;
+    private final String etag;
+    private final Instant builtAt;
+    private final List<RiskGrid> levels;
+    private final int defaultLevel;
+
+    // 기본 레벨 바이너리 응답 본문 (스냅샷 생성 시 한 번만 인코딩/압축)
+    private final CompressedBody binary;
+    // 기본 레벨 JSON 응답 본문 (첫 JSON 요청 때 한 번만 직렬화/압축)
+    private volatile CompressedBody json;
+
+    public HeatmapSnapshot(long version, Instant builtAt, List<RiskGrid> levels, int defaultLevel) {
+        this.version = version;
+        this.builtAt = builtAt;
+        this.levels = List.copyOf(levels);
+        this.defaultLevel = defaultLevel;
+        this.binary = CompressedBody.of(RiskBinaryEncoder.encodeHeatmap(getGrid(), RiskIntegrationService.MAX_SCORE));
+        // 상위 레벨은 계산 격자에서 만들어지므로 가장 세밀한 레벨의 내용으로 식별
+        this.etag = "\"heatmap-" + version + "-" + Long.toHexString(levels.get(0).contentHash()) + "\"";
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * HTTP 조건부 요청(If-None-Match)에 사용하는 강한 ETag (따옴표 포함)
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * 기본 레벨 격자 배치와 점수 (JSON 응답은 RiskGridJsonSerializer가 배열에서 바로 기록)
+     */
+    public RiskGrid getGrid() {
+        return levels.get(defaultLevel);
+    }
+
+    /**
+     * 피라미드 레벨 (0 = 가장 세밀한 계산 격자)
+     */
+    public List<RiskGrid> getLevels() {
+        return levels;
+    }
+
+    public int getDefaultLevel() {
+        return defaultLevel;
+    }
+
+    /**
+     * 화면 영역에 맞는 레벨을 고릅니다.
+     * 줌이 있으면 한 칸이 화면에서 targetCellPixels 이상이 되는 가장 세밀한 레벨을 고르고,
+     * 그 레벨의 영역 칸 수가 maxCells를 넘으면 넘지 않을 때까지 성긴 레벨로 올립니다.
+     *
+     * @param zoom 웹 메르카토르 줌 (null이면 칸 수 기준으로만 선택)
+     */
+    public int selectLevel(Integer zoom, double minLat, double minLon, double maxLat, double maxLon,
+            int targetCellPixels, int maxCells) {
+        int level = 0;
+        if (zoom != null) {
+            double centerLat = (minLat + maxLat) / 2;
+            double metersPerPixel = METERS_PER_PIXEL_Z0 * Math.cos(Math.toRadians(centerLat)) / Math.pow(2, zoom);
+            level = levels.size() - 1;
+            for (int i = 0; i < levels.size(); i++) {
+                double cellMeters = levels.get(i).getStepLat() * DistanceUtil.METERS_PER_DEGREE;
+                if (cellMeters / metersPerPixel >= targetCellPixels) {
+                    level = i;
+                    break;
+                }
+            }
+        }
+        while (level < levels.size() - 1
+                && levels.get(level).windowCellCount(minLat, minLon, maxLat, maxLon) > maxCells) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * 기본 레벨 RiskBinaryEncoder 형식의 히트맵 그리드와 gzip 본문 (호출 측에서 수정하지 않아야 함)
+     */
+    public CompressedBody getBinary() {
+        return binary;
+    }
+
+    /**
+     * 기본 레벨 JSON 응답 본문. 처음 요청될 때 serializer로 만들고 이후에는 재사용합니다.
+     * (동시에 처음 요청되면 중복으로 만들어질 수 있으나 결과는 같음)
+     */
+    public CompressedBody getJson(Supplier<byte[]> serializer) {
+        CompressedBody body = json;
+        if (body == null) {
+            body = CompressedBody.of(serializer.get());
+            json = body;
+        }
+        return body;
+    }
+}
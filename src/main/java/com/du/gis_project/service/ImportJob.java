@@ -0,0 +1,60 @@
+package com.du.gis_project.service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 비동기 임포트 작업 한 건 (타입별 진행 상황 목록을 가짐)
+ */
+public class ImportJob {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final Instant createdAt;
+    private final List<ImportProgress> files;
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+
+    public ImportJob(String id, List<ImportProgress> files) {
+        this.id = id;
+        this.createdAt = Instant.now();
+        this.files = List.copyOf(files);
+    }
+
+    void finish() {
+        boolean anyFailed = files.stream().anyMatch(f -> f.getState() == ImportProgress.State.FAILED);
+        this.finishedAt = Instant.now();
+        this.state = anyFailed ? State.FAILED : State.COMPLETED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isDone() {
+        return state != State.RUNNING;
+    }
+
+    public List<ImportProgress> getFiles() {
+        return files;
+    }
+
+    public long getRowsProcessed() {
+        return files.stream().mapToLong(ImportProgress::getRowsProcessed).sum();
+    }
+}
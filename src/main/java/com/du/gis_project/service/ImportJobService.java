@@ -0,0 +1,180 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.domain.entity.RiskType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CSV 임포트를 백그라운드 작업으로 실행하고 진행 상황을 제공하는 서비스
+ *
+ * 타입별 임포트는 각자의 스레드와 트랜잭션에서 병렬로 실행되므로 전체 소요 시간은 가장 큰 파일 기준이 됩니다.
+ * RiskDataChangedEvent는 타입별 트랜잭션 안에서 발행되어 각 타입이 커밋될 때마다 히트맵/클러스터를 갱신합니다.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    // 조회용으로 보관할 최근 작업 수
+    private static final int MAX_JOBS = 20;
+    // SSE 진행 상황 전송 주기
+    private static final long PROGRESS_INTERVAL_MS = 500;
+    private static final long SSE_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final CsvImportService csvImportService;
+
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+    private ImportJob runningJob;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService importExecutor = Executors.newFixedThreadPool(RiskType.values().length, r -> {
+        Thread t = new Thread(r, "csv-import-" + threadCount.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+    private final ScheduledExecutorService progressScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "import-progress");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ImportJobService(CsvImportService csvImportService) {
+        this.csvImportService = csvImportService;
+    }
+
+    /**
+     * 전체 타입 임포트 작업을 시작합니다. 이미 실행 중인 작업이 있으면 새로 만들지 않고 그 작업을 반환합니다.
+     */
+    public synchronized ImportJob startImportAll() {
+        if (runningJob != null && !runningJob.isDone()) {
+            return runningJob;
+        }
+
+        List<ImportProgress> files = new ArrayList<>();
+        for (RiskType type : RiskType.values()) {
+            files.add(new ImportProgress(type));
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), files);
+        jobs.put(job.getId(), job);
+        while (jobs.size() > MAX_JOBS) {
+            jobs.remove(jobs.keySet().iterator().next());
+        }
+        runningJob = job;
+
+        List<CompletableFuture<List<RiskPointChange>>> tasks = files.stream()
+                .map(progress -> CompletableFuture.supplyAsync(() -> runType(progress), importExecutor))
+                .toList();
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                .whenComplete((v, e) -> finish(job, tasks.stream().map(CompletableFuture::join).toList()));
+
+        log.info("임포트 작업 시작: {}", job.getId());
+        return job;
+    }
+
+    public synchronized ImportJob getJob(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * 작업 진행 상황을 SSE로 주기적으로 전송합니다. (이벤트: progress, 완료 시 done 후 종료)
+     */
+    public SseEmitter subscribe(ImportJob job) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        ProgressPusher pusher = new ProgressPusher(job, emitter);
+        pusher.future = progressScheduler.scheduleAtFixedRate(pusher, 0, PROGRESS_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        emitter.onCompletion(pusher::stop);
+        emitter.onTimeout(pusher::stop);
+        return emitter;
+    }
+
+    /**
+     * @return 델타 임포트의 변경 목록 (전체 재적재면 null, 실패하면 빈 목록 - 롤백되어 바뀐 것이 없음)
+     */
+    private List<RiskPointChange> runType(ImportProgress progress) {
+        try {
+            // 프록시를 통해 호출하므로 타입마다 별도 트랜잭션에서 실행됨
+            List<RiskPointChange> changes = csvImportService.importType(progress.getType(), progress);
+            progress.complete();
+            return changes;
+        } catch (Exception e) {
+            log.error("{} 임포트 실패: {}", progress.getType(), e.getMessage(), e);
+            progress.fail(e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void finish(ImportJob job, List<List<RiskPointChange>> perType) {
+        job.finish();
+        // 타입별 변경분은 각 트랜잭션에서 이미 이벤트로 반영되었으므로 여기서는 건수만 기록
+        boolean reloaded = perType.stream().anyMatch(Objects::isNull);
+        int changed = perType.stream().filter(Objects::nonNull).mapToInt(List::size).sum();
+        log.info("임포트 작업 종료: {} ({}, {}건, 변경 {})", job.getId(), job.getState(), job.getRowsProcessed(),
+                reloaded ? "전체" : changed + "건");
+    }
+
+    /**
+     * 작업 상태를 SSE로 보내는 주기 작업 (완료되었거나 연결이 끊기면 스스로 중단)
+     */
+    private static final class ProgressPusher implements Runnable {
+        private final ImportJob job;
+        private final SseEmitter emitter;
+        private volatile boolean stopped;
+        volatile ScheduledFuture<?> future;
+
+        ProgressPusher(ImportJob job, SseEmitter emitter) {
+            this.job = job;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void run() {
+            if (stopped) {
+                stop();
+                return;
+            }
+            try {
+                boolean done = job.isDone();
+                emitter.send(SseEmitter.event().name(done ? "done" : "progress").data(job));
+                if (done) {
+                    stop();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결 종료
+                stop();
+            }
+        }
+
+        void stop() {
+            stopped = true;
+            ScheduledFuture<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+        progressScheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,109 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.domain.entity.RiskType;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 파일(타입) 하나의 임포트 진행 상황
+ * 임포트 스레드가 갱신하고 진행 조회 API가 동시에 읽으므로 모든 값은 원자적으로 읽고 씁니다.
+ */
+public class ImportProgress {
+
+    public enum State {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private final RiskType type;
+    private volatile String resourcePath;
+    private volatile State state = State.PENDING;
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong failCount = new AtomicLong();
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile String error;
+
+    public ImportProgress(RiskType type) {
+        this.type = type;
+    }
+
+    void start(String resourcePath) {
+        this.resourcePath = resourcePath;
+        this.startedNanos = System.nanoTime();
+        this.state = State.RUNNING;
+    }
+
+    void rowSucceeded() {
+        rowsProcessed.incrementAndGet();
+        successCount.incrementAndGet();
+    }
+
+    void rowFailed() {
+        rowsProcessed.incrementAndGet();
+        failCount.incrementAndGet();
+    }
+
+    void complete() {
+        this.finishedNanos = System.nanoTime();
+        this.state = State.COMPLETED;
+    }
+
+    void fail(String error) {
+        if (startedNanos == 0) {
+            startedNanos = System.nanoTime();
+        }
+        this.error = error;
+        this.finishedNanos = System.nanoTime();
+        this.state = State.FAILED;
+    }
+
+    public RiskType getType() {
+        return type;
+    }
+
+    public String getResourcePath() {
+        return resourcePath;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isDone() {
+        State s = state;
+        return s == State.COMPLETED || s == State.FAILED;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed.get();
+    }
+
+    public long getSuccessCount() {
+        return successCount.get();
+    }
+
+    public long getFailCount() {
+        return failCount.get();
+    }
+
+    public long getElapsedMs() {
+        if (startedNanos == 0) {
+            return 0;
+        }
+        long end = isDone() ? finishedNanos : System.nanoTime();
+        return (end - startedNanos) / 1_000_000;
+    }
+
+    /**
+     * 처리 속도 (초당 처리 행 수)
+     */
+    public long getRowsPerSecond() {
+        long elapsed = getElapsedMs();
+        return elapsed <= 0 ? 0 : getRowsProcessed() * 1000L / elapsed;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,261 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.domain.dto.RiskClusterDto;
+import com.du.gis_project.domain.entity.RiskPoint;
+import com.du.gis_project.domain.entity.RiskType;
+import com.du.gis_project.repository.RiskPointRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 줌 레벨별 시설물 클러스터 인덱스 (계층형 격자)
+ *
+ * Web Mercator 평면을 줌마다 (2^z * 4) x (2^z * 4) 칸(화면상 약 64px)으로 나누고,
+ * 가장 세밀한 레벨에서 시설물을 집계한 뒤 상위 레벨은 자식 4칸을 합쳐 만듭니다.
+ * 조회는 미리 만들어진 칸을 읽기만 하므로 어떤 줌에서도 응답 개수가 화면 칸 수로 제한됩니다.
+ */
+@Service
+public class RiskClusterIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RiskClusterIndex.class);
+
+    public static final int MIN_ZOOM = 5;
+    public static final int MAX_ZOOM = 17;
+    // 타일(256px) 한 변을 나누는 칸 수 (칸 하나 = 64px)
+    private static final int CELLS_PER_TILE = 4;
+    private static final RiskType[] TYPES = RiskType.values();
+
+    private final RiskPointRepository riskPointRepository;
+
+    // 레벨별 칸 목록 (인덱스 = z - MIN_ZOOM). 생성 후에는 읽기 전용으로 통째로 교체됨
+    private volatile List<Map<Long, Cell>> levels;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean(false);
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cluster-rebuild");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public RiskClusterIndex(RiskPointRepository riskPointRepository) {
+        this.riskPointRepository = riskPointRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild("startup");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRiskDataChanged(RiskDataChangedEvent event) {
+        if (event.isEmpty()) {
+            // 델타 임포트 결과 바뀐 시설이 없으면 다시 계산할 필요 없음
+            return;
+        }
+        requestRebuild(event.getSource());
+    }
+
+    public void requestRebuild(String reason) {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.submit(() -> rebuild(reason));
+        }
+    }
+
+    public boolean isReady() {
+        return levels != null;
+    }
+
+    /**
+     * 해당 줌/영역의 클러스터 목록을 반환합니다.
+     *
+     * @param type null이면 모든 타입을 합친 클러스터, 지정하면 해당 타입만의 클러스터 (중심점도 그 타입 기준)
+     * @return 인덱스가 아직 준비되지 않았으면 null
+     */
+    public List<RiskClusterDto> query(int zoom, double minLon, double minLat, double maxLon, double maxLat,
+            RiskType type) {
+        List<Map<Long, Cell>> snapshot = levels;
+        if (snapshot == null) {
+            return null;
+        }
+
+        int z = Math.max(MIN_ZOOM, Math.min(zoom, MAX_ZOOM));
+        Map<Long, Cell> level = snapshot.get(z - MIN_ZOOM);
+        int n = cellsPerAxis(z);
+        int cx0 = toCell(lonToX(minLon), n);
+        int cx1 = toCell(lonToX(maxLon), n);
+        int cy0 = toCell(latToY(maxLat), n); // 북쪽이 y가 작음
+        int cy1 = toCell(latToY(minLat), n);
+
+        List<RiskClusterDto> result = new ArrayList<>();
+        long rangeSize = (long) (cx1 - cx0 + 1) * (cy1 - cy0 + 1);
+        if (rangeSize <= level.size()) {
+            // 화면 영역이 작으면 영역 안의 칸만 직접 조회
+            for (int cx = cx0; cx <= cx1; cx++) {
+                for (int cy = cy0; cy <= cy1; cy++) {
+                    Cell cell = level.get(key(cx, cy));
+                    if (cell != null) {
+                        addCluster(result, cell, type);
+                    }
+                }
+            }
+        } else {
+            for (Cell cell : level.values()) {
+                if (cell.cx >= cx0 && cell.cx <= cx1 && cell.cy >= cy0 && cell.cy <= cy1) {
+                    addCluster(result, cell, type);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void addCluster(List<RiskClusterDto> result, Cell cell, RiskType type) {
+        Map<RiskType, Integer> counts = new EnumMap<>(RiskType.class);
+        Map<RiskType, Double> weights = new EnumMap<>(RiskType.class);
+        if (type != null) {
+            int t = type.ordinal();
+            if (cell.counts[t] == 0) {
+                return;
+            }
+            counts.put(type, cell.counts[t]);
+            weights.put(type, cell.weights[t]);
+            result.add(new RiskClusterDto(cell.sumLat[t] / cell.counts[t], cell.sumLon[t] / cell.counts[t],
+                    cell.counts[t], counts, weights));
+            return;
+        }
+
+        int total = 0;
+        double sumLat = 0;
+        double sumLon = 0;
+        for (RiskType rt : TYPES) {
+            int t = rt.ordinal();
+            if (cell.counts[t] > 0) {
+                counts.put(rt, cell.counts[t]);
+                weights.put(rt, cell.weights[t]);
+                total += cell.counts[t];
+                sumLat += cell.sumLat[t];
+                sumLon += cell.sumLon[t];
+            }
+        }
+        result.add(new RiskClusterDto(sumLat / total, sumLon / total, total, counts, weights));
+    }
+
+    private void rebuild(String reason) {
+        rebuildPending.set(false);
+        long start = System.currentTimeMillis();
+        try {
+            List<RiskPoint> points = riskPointRepository.findAll();
+
+            // 1. 가장 세밀한 레벨에 시설물 집계
+            Map<Long, Cell> finest = new HashMap<>();
+            int n = cellsPerAxis(MAX_ZOOM);
+            for (RiskPoint rp : points) {
+                if (rp.getType() == null) {
+                    continue;
+                }
+                int cx = toCell(lonToX(rp.getLongitude()), n);
+                int cy = toCell(latToY(rp.getLatitude()), n);
+                finest.computeIfAbsent(key(cx, cy), k -> new Cell(cx, cy))
+                        .add(rp.getType().ordinal(), rp.getLatitude(), rp.getLongitude(), rp.getWeight());
+            }
+
+            // 2. 상위 레벨은 자식 칸 4개를 합쳐서 생성
+            Map<Long, Cell>[] built = newLevelArray();
+            built[MAX_ZOOM - MIN_ZOOM] = finest;
+            for (int z = MAX_ZOOM - 1; z >= MIN_ZOOM; z--) {
+                Map<Long, Cell> parent = new HashMap<>();
+                for (Cell child : built[z + 1 - MIN_ZOOM].values()) {
+                    int px = child.cx >> 1;
+                    int py = child.cy >> 1;
+                    parent.computeIfAbsent(key(px, py), k -> new Cell(px, py)).merge(child);
+                }
+                built[z - MIN_ZOOM] = parent;
+            }
+
+            levels = List.of(built);
+            log.info("클러스터 인덱스 갱신 완료 (사유: {}, 시설 수: {}, 최하위 칸: {}, {}ms)",
+                    reason, points.size(), finest.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("클러스터 인덱스 갱신 실패 (사유: {}). 이전 인덱스를 유지합니다.", reason, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, Cell>[] newLevelArray() {
+        return new Map[MAX_ZOOM - MIN_ZOOM + 1];
+    }
+
+    private static int cellsPerAxis(int z) {
+        return (1 << z) * CELLS_PER_TILE;
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private static int toCell(double unit, int n) {
+        return Math.max(0, Math.min(n - 1, (int) Math.floor(unit * n)));
+    }
+
+    // 경도 -> Web Mercator 정규화 x (0~1)
+    private static double lonToX(double lon) {
+        return (lon + 180.0) / 360.0;
+    }
+
+    // 위도 -> Web Mercator 정규화 y (0~1, 북쪽이 0)
+    private static double latToY(double lat) {
+        double clamped = Math.max(-85.05112878, Math.min(85.05112878, lat));
+        double rad = Math.toRadians(clamped);
+        return (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 격자 한 칸의 타입별 집계 (개수, 가중치 합, 좌표 합)
+     */
+    private static final class Cell {
+        final int cx;
+        final int cy;
+        final int[] counts = new int[TYPES.length];
+        final double[] weights = new double[TYPES.length];
+        final double[] sumLat = new double[TYPES.length];
+        final double[] sumLon = new double[TYPES.length];
+
+        Cell(int cx, int cy) {
+            this.cx = cx;
+            this.cy = cy;
+        }
+
+        void add(int t, double lat, double lon, double weight) {
+            counts[t]++;
+            weights[t] += weight;
+            sumLat[t] += lat;
+            sumLon[t] += lon;
+        }
+
+        void merge(Cell other) {
+            for (int t = 0; t < TYPES.length; t++) {
+                counts[t] += other.counts[t];
+                weights[t] += other.weights[t];
+                sumLat[t] += other.sumLat[t];
+                sumLon[t] += other.sumLon[t];
+            }
+        }
+    }
+}
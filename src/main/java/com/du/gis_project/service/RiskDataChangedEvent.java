@@ -0,0 +1,49 @@
+package com.du.gis_project.service;
+
+import java.util.List;
+
+/**
+ * 시설물 데이터(risk_points)가 변경되었음을 알리는 이벤트
+ * 임포트가 커밋된 뒤 히트맵 등 파생 데이터를 다시 계산하는 데 사용됩니다.
+ * 변경 목록이 있으면(델타 임포트) 수신 측은 영향받는 영역만 갱신할 수 있습니다.
+ */
+public class RiskDataChangedEvent {
+
+    private final String source;
+    // null이면 전체가 바뀐 것으로 취급
+    private final List<RiskPointChange> changes;
+
+    public RiskDataChangedEvent(String source) {
+        this(source, null);
+    }
+
+    public RiskDataChangedEvent(String source, List<RiskPointChange> changes) {
+        this.source = source;
+        this.changes = changes == null ? null : List.copyOf(changes);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * 변경 범위를 알 수 없는 전체 변경(삭제 후 재적재 등)인지 여부
+     */
+    public boolean isFullReload() {
+        return changes == null;
+    }
+
+    /**
+     * 변경된 시설물 목록 (전체 변경이면 null)
+     */
+    public List<RiskPointChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * 실제로 바뀐 데이터가 없는지 여부 (델타 임포트 결과 변경 없음)
+     */
+    public boolean isEmpty() {
+        return changes != null && changes.isEmpty();
+    }
+}
@@ -0,0 +1,278 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.domain.dto.RiskGrid;
+import com.du.gis_project.domain.entity.RiskPoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 위험도 히트맵 스냅샷 캐시
+ *
+ * 조회 요청은 항상 마지막으로 성공한 스냅샷을 그대로 반환하며 재계산을 일으키지 않습니다.
+ * 재계산은 기동 직후와 시설물 데이터 변경 이벤트 이후 백그라운드 스레드에서만 수행되고,
+ * 완료된 결과가 원자적으로 교체됩니다.
+ * 변경 목록이 있는 이벤트(델타 임포트, 관리자 추가/삭제)는 전체 재계산 대신
+ * 원시 점수 격자에서 해당 시설 반경의 칸만 갱신한 뒤 새 스냅샷을 만듭니다.
+ *
+ * 변경 이벤트는 변경 트랜잭션 안에서 발행되며, 이 클래스는 그 트랜잭션의 커밋 구간을 기록합니다.
+ * 전체 재계산의 DB 읽기와 커밋 구간이 겹치면 그 변경이 읽기 결과에 들어갔는지 알 수 없으므로,
+ * 겹친 변경은 반영된 것으로 처리(중복 반영 방지)하고 전체 재계산을 한 번 더 수행합니다.
+ */
+@Service
+public class RiskHeatmapCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RiskHeatmapCache.class);
+
+    // 재계산 읽기와 겹친 커밋이 끝나기를 기다리는 최대 시간
+    private static final long COMMIT_WAIT_MS = 10_000;
+
+    private final RiskIntegrationService riskIntegrationService;
+    private final CityBoundaryMask boundaryMask;
+
+    private final AtomicReference<HeatmapSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versionSeq = new AtomicLong();
+    // 이미 대기 중인 재계산이 있으면 추가 요청은 합쳐서 한 번만 수행
+    private final AtomicBoolean rebuildPending = new AtomicBoolean(false);
+    // 커밋된 변경 순번. 전체 재계산은 DB 읽기 전에 커밋이 끝난 변경을 이미 포함하므로 그 이하 순번은 건너뜀
+    private final AtomicLong changeSeq = new AtomicLong();
+    // 커밋을 시작한 변경 트랜잭션 수 / 커밋 중인(beforeCommit ~ afterCompletion) 변경 트랜잭션 수
+    private final AtomicLong commitsStarted = new AtomicLong();
+    private final AtomicInteger commitsInFlight = new AtomicInteger();
+    // 아래 두 필드는 갱신 스레드에서만 접근
+    private RiskScoreGrid scoreGrid;
+    private long coveredSeq;
+    // 계산 시간 (전체 재계산 / 부분 갱신)과 부분 갱신으로 다시 계산한 칸, 반영한 변경 시설 수
+    private final Timer fullTimer;
+    private final Timer incrementalTimer;
+    private final Counter incrementalCells;
+    private final Counter incrementalFacilities;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "heatmap-rebuild");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public RiskHeatmapCache(RiskIntegrationService riskIntegrationService, CityBoundaryMask boundaryMask,
+            MeterRegistry meterRegistry) {
+        this.riskIntegrationService = riskIntegrationService;
+        this.boundaryMask = boundaryMask;
+        this.fullTimer = Timer.builder("gis.heatmap.compute")
+                .description("히트맵 스냅샷 계산 시간")
+                .tag("mode", "full")
+                .register(meterRegistry);
+        this.incrementalTimer = Timer.builder("gis.heatmap.compute")
+                .description("히트맵 스냅샷 계산 시간")
+                .tag("mode", "incremental")
+                .register(meterRegistry);
+        this.incrementalCells = Counter.builder("gis.heatmap.cells.evaluated")
+                .description("위험도 점수를 계산한 격자 칸 수")
+                .tag("mode", "incremental")
+                .register(meterRegistry);
+        this.incrementalFacilities = Counter.builder("gis.heatmap.facilities.considered")
+                .description("위험도 계산에 반영한 시설물 수")
+                .tag("mode", "incremental")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 현재 스냅샷을 반환합니다. 첫 계산이 끝나기 전에는 null입니다.
+     */
+    public HeatmapSnapshot getSnapshot() {
+        return current.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild("startup");
+    }
+
+    /**
+     * 변경 트랜잭션 안에서 발행된 이벤트의 커밋 구간을 기록하고, 커밋된 뒤에 갱신을 예약합니다.
+     */
+    @EventListener
+    public void onRiskDataChanged(RiskDataChangedEvent event) {
+        if (event.isEmpty()) {
+            // 델타 임포트 결과 바뀐 시설이 없으면 다시 계산할 필요 없음
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 트랜잭션 밖에서 발행된 변경은 커밋 시점을 알 수 없어 DB 읽기와 순서를 맞출 수 없으므로 전체 재계산
+            requestRebuild(event.getSource());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new CommitTracker(event));
+    }
+
+    private void onCommitted(RiskDataChangedEvent event) {
+        if (event.isFullReload()) {
+            requestRebuild(event.getSource());
+            return;
+        }
+        long seq = changeSeq.incrementAndGet();
+        rebuildExecutor.submit(() -> applyChanges(seq, event));
+    }
+
+    public void requestRebuild(String reason) {
+        if (!rebuildPending.compareAndSet(false, true)) {
+            log.info("히트맵 재계산이 이미 예약되어 있습니다. (요청: {})", reason);
+            return;
+        }
+        rebuildExecutor.submit(() -> rebuild(reason));
+    }
+
+    private void rebuild(String reason) {
+        // 계산 도중 들어온 변경도 반영되도록 계산 시작 전에 플래그를 해제
+        rebuildPending.set(false);
+        long start = System.currentTimeMillis();
+        try {
+            // 읽기 구간과 겹친 커밋 확인 (CommitTracker의 증가 순서와 짝을 이루므로 읽는 순서를 바꾸지 않아야 함)
+            long startedBefore = commitsStarted.get();
+            boolean overlapped = commitsInFlight.get() > 0;
+            long seq = changeSeq.get();
+            List<RiskPoint> facilities = riskIntegrationService.loadFacilities();
+            overlapped |= commitsStarted.get() != startedBefore;
+
+            RiskScoreGrid grid = riskIntegrationService.calculateScoreGrid(facilities);
+            if (overlapped) {
+                // 겹친 커밋이 모두 끝난 뒤의 순번까지 읽기에 포함된 것으로 처리 (읽기에 포함된 변경의 중복 반영 방지)
+                // 읽기에서 빠졌을 수 있는 변경은 이어지는 전체 재계산에서 반영됨
+                if (!awaitCommits()) {
+                    log.warn("히트맵 재계산 중 커밋이 끝나지 않아 결과를 버리고 다시 계산합니다. (사유: {})", reason);
+                    requestRebuild(reason);
+                    return;
+                }
+                seq = changeSeq.get();
+                log.info("히트맵 재계산 중 시설물 변경이 커밋되어 전체 재계산을 한 번 더 수행합니다. (사유: {})", reason);
+                requestRebuild(reason);
+            }
+            scoreGrid = grid;
+            coveredSeq = seq;
+            publish(grid, reason, start);
+            fullTimer.record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // 실패 시 기존 스냅샷을 계속 제공
+            log.error("히트맵 재계산 실패 (사유: {}). 이전 스냅샷을 유지합니다.", reason, e);
+        }
+    }
+
+    /**
+     * 변경된 시설물의 기여분만 원시 점수 격자에 반영합니다.
+     */
+    private void applyChanges(long seq, RiskDataChangedEvent event) {
+        if (seq <= coveredSeq) {
+            // 이후에 시작한 전체 재계산에 이미 포함됨
+            return;
+        }
+        RiskScoreGrid grid = scoreGrid;
+        if (grid == null) {
+            // 아직 기준 격자가 없으면 전체 계산으로 대체
+            requestRebuild(event.getSource());
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            int touched = 0;
+            for (RiskPointChange change : event.getChanges()) {
+                // 전체 계산과 마찬가지로 성남 외부 시설물은 점수에 반영하지 않음
+                if (change.getKind() != RiskPointChange.Kind.INSERT
+                        && boundaryMask.contains(change.getOldLat(), change.getOldLon())) {
+                    touched += grid.removeFacility(change.getOldLat(), change.getOldLon(), change.getOldWeight());
+                }
+                if (change.getKind() != RiskPointChange.Kind.DELETE
+                        && boundaryMask.contains(change.getNewLat(), change.getNewLon())) {
+                    touched += grid.addFacility(change.getNewLat(), change.getNewLon(), change.getNewWeight());
+                }
+            }
+            coveredSeq = seq;
+            incrementalCells.increment(touched);
+            incrementalFacilities.increment(event.getChanges().size());
+            log.info("히트맵 부분 갱신 (사유: {}, 변경 시설: {}, 갱신 칸: {})", event.getSource(),
+                    event.getChanges().size(), touched);
+            publish(grid, event.getSource(), start);
+            incrementalTimer.record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.error("히트맵 부분 갱신 실패 (사유: {}). 전체 재계산을 요청합니다.", event.getSource(), e);
+            requestRebuild(event.getSource());
+        }
+    }
+
+    // 커밋 중인 변경 트랜잭션이 모두 끝날 때까지 대기 (커밋은 짧으므로 잠시 폴링)
+    private boolean awaitCommits() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + COMMIT_WAIT_MS;
+        while (commitsInFlight.get() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private void publish(RiskScoreGrid grid, String reason, long start) {
+        // 부분 갱신 후에도 상위 레벨은 계산 격자에서 다시 묶어 만듦 (칸 수에 비례, 시설물 수와 무관)
+        List<RiskGrid> levels = riskIntegrationService.buildPyramid(grid);
+        HeatmapSnapshot snapshot = new HeatmapSnapshot(versionSeq.incrementAndGet(), Instant.now(), levels,
+                riskIntegrationService.getDefaultLevel());
+        current.set(snapshot);
+        log.info("히트맵 스냅샷 교체 완료 (사유: {}, 버전: {}, 레벨: {}, 계산 칸: {}, {}ms)", reason,
+                snapshot.getVersion(), levels.size(), levels.get(0).getInsideCount(),
+                System.currentTimeMillis() - start);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 변경 트랜잭션 하나의 커밋 구간 기록
+     * beforeCommit에서 커밋 중 수를 시작 수보다 먼저 올리고, 커밋 후 순번을 받은 다음에 커밋 중 수를 내립니다.
+     */
+    private final class CommitTracker implements TransactionSynchronization {
+        private final RiskDataChangedEvent event;
+        private boolean committing;
+
+        CommitTracker(RiskDataChangedEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitsInFlight.incrementAndGet();
+            commitsStarted.incrementAndGet();
+            committing = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            onCommitted(event);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (committing) {
+                commitsInFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -1,31 +1,57 @@
 package com.du.gis_project.service;
 
 import com.du.gis_project.config.GisConfig;
-import com.du.gis_project.domain.dto.HeatmapPointDto;
+import com.du.gis_project.domain.dto.RiskGrid;
 import com.du.gis_project.domain.entity.RiskPoint;
 import com.du.gis_project.repository.RiskPointRepository;
 import com.du.gis_project.util.DistanceUtil;
+import com.du.gis_project.util.SpatialGridIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 @Service
 public class RiskIntegrationService {
 
     private static final Logger log = LoggerFactory.getLogger(RiskIntegrationService.class);
 
+    // 위험도 점수 상한 (시설물이 없는 지역의 기본 점수는 2.0)
+    public static final double MAX_SCORE = 3.0;
+
     private final RiskPointRepository riskPointRepository;
     private final GisConfig gisConfig;
+    private final CityBoundaryMask boundaryMask;
+    // 전체 계산에서 점수를 계산한 칸 수 / 반영한 시설물 수 (부분 갱신분은 RiskHeatmapCache에서 집계)
+    private final Counter cellsEvaluated;
+    private final Counter facilitiesConsidered;
+
+    // 병렬 계산 모드에서만 생성되는 전용 풀 (공용 풀과 분리하여 크기를 설정값으로 제어)
+    private volatile ForkJoinPool gridPool;
 
     public RiskIntegrationService(RiskPointRepository riskPointRepository,
-            GisConfig gisConfig) {
+            GisConfig gisConfig, CityBoundaryMask boundaryMask, MeterRegistry meterRegistry) {
         this.riskPointRepository = riskPointRepository;
         this.gisConfig = gisConfig;
+        this.boundaryMask = boundaryMask;
+        this.cellsEvaluated = Counter.builder("gis.heatmap.cells.evaluated")
+                .description("위험도 점수를 계산한 격자 칸 수")
+                .tag("mode", "full")
+                .register(meterRegistry);
+        this.facilitiesConsidered = Counter.builder("gis.heatmap.facilities.considered")
+                .description("위험도 계산에 반영한 시설물 수")
+                .tag("mode", "full")
+                .register(meterRegistry);
     }
 
     // 설정 클래스에서 값을 가져와 사용
@@ -45,87 +71,252 @@ public class RiskIntegrationService {
         return gisConfig.getMap().getBounds().getMaxLon();
     }
 
+    private int getRefine() {
+        return Math.max(1, gisConfig.getMap().getGrid().getRefine());
+    }
+
+    // 계산 격자 간격 (설정 간격을 refine으로 나눈 값)
     private double getStepLat() {
-        return gisConfig.getMap().getGrid().getStepLat();
+        return gisConfig.getMap().getGrid().getStepLat() / getRefine();
     }
 
     private double getStepLon() {
-        return gisConfig.getMap().getGrid().getStepLon();
-    }
-
-    // 성남시 법정동별 중심점 데이터 (도시 구역 판정용)
-    private static final double[][] SEONGNAM_DONG_CENTERS = {
-            { 37.441, 127.140 }, { 37.446, 127.146 }, { 37.438, 127.144 }, { 37.439, 127.126 },
-            { 37.443, 127.129 }, { 37.440, 127.132 }, { 37.445, 127.133 }, { 37.436, 127.131 },
-            { 37.438, 127.124 }, { 37.452, 127.158 }, { 37.456, 127.150 }, { 37.452, 127.165 },
-            { 37.456, 127.127 }, { 37.429, 127.103 }, { 37.433, 127.098 }, { 37.436, 127.142 },
-            { 37.442, 127.152 }, { 37.446, 127.162 }, { 37.450, 127.168 }, { 37.454, 127.164 },
-            { 37.458, 127.169 }, { 37.439, 127.172 }, { 37.435, 127.165 }, { 37.431, 127.176 },
-            { 37.428, 127.153 }, { 37.422, 127.162 }, { 37.368, 127.135 }, { 37.378, 127.113 },
-            { 37.374, 127.119 }, { 37.366, 127.124 }, { 37.365, 127.106 }, { 37.358, 127.115 },
-            { 37.352, 127.112 }, { 37.388, 127.132 }, { 37.381, 127.140 }, { 37.397, 127.127 },
-            { 37.404, 127.120 }, { 37.408, 127.130 }, { 37.411, 127.122 }, { 37.418, 127.142 },
-            { 37.391, 127.086 }, { 37.401, 127.111 }, { 37.387, 127.107 }, { 37.392, 127.054 }
-    };
+        return gisConfig.getMap().getGrid().getStepLon() / getRefine();
+    }
+
+    /**
+     * 범위 제한이 적용된 기본 레벨(설정 간격) 위험도 격자를 계산합니다.
+     */
+    public RiskGrid calculateRefinedRiskGrid() {
+        return calculateScoreGrid().toRiskGrid(getStepLat(), getStepLon()).aggregate(getRefine());
+    }
 
     /**
-     * 해당 좌표가 성남지역(행정구역 근방)인지 판정합니다.
+     * 계산 격자에서 다중 해상도 피라미드를 만듭니다. (세밀한 레벨부터, 상위 레벨은 계산 격자를 묶어 평균)
      */
-    public boolean isInsideSeongnam(double lat, double lon) {
-        // 법정동 중심점에서 2.5km 이내면 성남시 구역으로 인정 (도시 외곽 산악지대 포함)
-        double coverageRadius = 2500.0;
-        for (double[] center : SEONGNAM_DONG_CENTERS) {
-            if (DistanceUtil.calculateDistance(lat, lon, center[0], center[1]) < coverageRadius) {
-                return true;
+    public List<RiskGrid> buildPyramid(RiskScoreGrid grid) {
+        RiskGrid finest = grid.toRiskGrid(getStepLat(), getStepLon());
+        List<RiskGrid> levels = new ArrayList<>();
+        for (int factor : getPyramidFactors()) {
+            levels.add(finest.aggregate(factor));
+        }
+        return levels;
+    }
+
+    /**
+     * buildPyramid 결과에서 기본 레벨(설정 간격 = refine배)의 위치
+     */
+    public int getDefaultLevel() {
+        return getPyramidFactors().indexOf(getRefine());
+    }
+
+    // 중복을 제거하고 오름차순 정렬한 묶음 배수 (기본 레벨 배수는 항상 포함)
+    private List<Integer> getPyramidFactors() {
+        TreeSet<Integer> factors = new TreeSet<>();
+        for (Integer factor : gisConfig.getMap().getGrid().getPyramidFactors()) {
+            if (factor != null && factor >= 1) {
+                factors.add(factor);
             }
         }
-        return false;
+        factors.add(getRefine());
+        return new ArrayList<>(factors);
     }
 
-    public Map<String, Object> calculateRefinedRiskMap() {
+    /**
+     * 위험도 격자를 원시 점수 배열로 계산합니다. (시설물 추가/삭제 시 이 배열을 부분 갱신할 수 있음)
+     */
+    public RiskScoreGrid calculateScoreGrid() {
+        return calculateScoreGrid(loadFacilities());
+    }
+
+    /**
+     * 위험도 계산 대상 시설물을 DB에서 읽습니다.
+     * 읽기와 계산을 나누어 호출하면 호출 측(RiskHeatmapCache)이 DB 읽기 시점을 기준으로 변경 이벤트와 순서를 맞출 수 있습니다.
+     */
+    public List<RiskPoint> loadFacilities() {
+        return riskPointRepository.findAll();
+    }
+
+    /**
+     * 읽어 둔 시설물 목록으로 위험도 격자를 계산합니다.
+     */
+    public RiskScoreGrid calculateScoreGrid(List<RiskPoint> allFacilities) {
         // [위험도 히트맵] 시설물 기반 계산 (도시 모양 정밀 쉐이핑 적용)
-        return calculateGrid(2.0, 300.0);
+        return calculateGrid(allFacilities, 2.0, 300.0);
+    }
+
+    /**
+     * 히트맵 격자의 위도 축 좌표 (계산 결과의 행 순서와 동일)
+     */
+    public double[] getLatAxis() {
+        return axis(getMinLat(), getMaxLat(), getStepLat());
     }
 
-    private Map<String, Object> calculateGrid(double baseScore, double facilityRadius) {
-        List<HeatmapPointDto> results = new ArrayList<>();
+    /**
+     * 히트맵 격자의 경도 축 좌표 (계산 결과의 열 순서와 동일)
+     */
+    public double[] getLonAxis() {
+        return axis(getMinLon(), getMaxLon(), getStepLon());
+    }
 
+    private RiskScoreGrid calculateGrid(List<RiskPoint> allFacilities, double baseScore, double facilityRadius) {
         // 1. 성남 지역 내 시설물만 필터링 (타 지역 마커가 계산에 포함되는 것 방지)
-        List<RiskPoint> allFacilities = riskPointRepository.findAll();
         List<RiskPoint> facilities = new ArrayList<>();
         for (RiskPoint rp : allFacilities) {
-            if (isInsideSeongnam(rp.getLatitude(), rp.getLongitude())) {
+            if (boundaryMask.contains(rp.getLatitude(), rp.getLongitude())) {
                 facilities.add(rp);
             }
         }
 
         log.info("위험도 히트맵 계산 시작 (성남 내 시설물 필터링 적용). 시설 수: {}", facilities.size());
+        facilitiesConsidered.increment(facilities.size());
 
-        // 위도/경도 평면을 격자로 순회하며 각 포인트의 점수 계산
-        for (double lat = getMinLat(); lat <= getMaxLat(); lat += getStepLat()) {
-            for (double lon = getMinLon(); lon <= getMaxLon(); lon += getStepLon()) {
+        FacilityField field = new FacilityField(facilities, baseScore, facilityRadius);
 
-                // 2. 성남 행정구역(동 중심점 기준) 바깥은 히트맵 생성 안함 (네모 형태 억제)
-                if (!isInsideSeongnam(lat, lon)) {
-                    continue;
-                }
+        // 격자 축 좌표는 기존과 동일하게 step을 누적하여 미리 계산 (병렬 계산 시에도 같은 좌표 보장)
+        double[] lats = getLatAxis();
+        double[] lons = getLonAxis();
+        // 성남 구역 마스크는 격자 배치가 같으면 재사용됨
+        BitSet mask = boundaryMask.gridMask(lats, lons);
+        boolean[] inside = new boolean[lats.length * lons.length];
+        double[] raw = new double[lats.length * lons.length];
+
+        if (gisConfig.getMap().getGrid().isParallel()) {
+            calculateRowsParallel(field, lats, lons, mask, inside, raw);
+        } else {
+            int[] candidates = field.newBuffer();
+            for (int r = 0; r < lats.length; r++) {
+                calculateRow(field, r, lats, lons, mask, inside, raw, candidates);
+            }
+        }
+        cellsEvaluated.increment(mask.cardinality());
+        return new RiskScoreGrid(lats, lons, inside, raw, baseScore, facilityRadius);
+    }
 
-                double score = baseScore;
+    /**
+     * 위도 행 단위로 작업을 나누어 ForkJoinPool에서 병렬 계산합니다.
+     * 각 행은 배열의 자기 행 구간에만 기록하므로 동기화가 필요 없습니다.
+     */
+    private void calculateRowsParallel(FacilityField field, double[] lats, double[] lons, BitSet mask,
+            boolean[] inside, double[] raw) {
+        ThreadLocal<int[]> buffers = ThreadLocal.withInitial(field::newBuffer);
+        try {
+            getGridPool().submit(() -> IntStream.range(0, lats.length)
+                    .parallel()
+                    .forEach(r -> calculateRow(field, r, lats, lons, mask, inside, raw, buffers.get())))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("히트맵 병렬 계산이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("히트맵 병렬 계산 실패", e.getCause());
+        }
+    }
 
-                for (RiskPoint rp : facilities) {
-                    double dist = DistanceUtil.calculateDistance(lat, lon, rp.getLatitude(), rp.getLongitude());
-                    if (dist < facilityRadius) {
-                        double factor = 1.0 - (dist / facilityRadius);
-                        score -= (rp.getWeight() * factor);
+    private void calculateRow(FacilityField field, int r, double[] lats, double[] lons, BitSet mask,
+            boolean[] inside, double[] raw, int[] candidates) {
+        double lat = lats[r];
+        // 행 내 모든 칸이 같은 위도이므로 경도 축척은 행마다 한 번만 계산
+        double lonScale = DistanceUtil.lonScale(lat);
+        int offset = r * lons.length;
+        for (int c = 0; c < lons.length; c++) {
+            // 2. 성남 행정구역(동 중심점 기준) 바깥은 히트맵 생성 안함 (네모 형태 억제)
+            if (!mask.get(offset + c)) {
+                continue;
+            }
+            double lon = lons[c];
+
+            // 범위 제한(0 ~ MAX_SCORE)은 읽을 때 적용 (RiskScoreGrid.scoreAt)
+            inside[offset + c] = true;
+            raw[offset + c] = field.score(lat, lon, lonScale, candidates);
+        }
+    }
+
+    private static double[] axis(double min, double max, double step) {
+        int count = 0;
+        for (double v = min; v <= max; v += step) {
+            count++;
+        }
+        double[] values = new double[count];
+        int i = 0;
+        for (double v = min; v <= max; v += step) {
+            values[i++] = v;
+        }
+        return values;
+    }
+
+    private ForkJoinPool getGridPool() {
+        ForkJoinPool pool = gridPool;
+        if (pool == null) {
+            synchronized (this) {
+                if (gridPool == null) {
+                    int parallelism = gisConfig.getMap().getGrid().getParallelism();
+                    if (parallelism <= 0) {
+                        parallelism = Runtime.getRuntime().availableProcessors();
                     }
+                    log.info("히트맵 병렬 계산 풀 생성 (parallelism: {})", parallelism);
+                    gridPool = new ForkJoinPool(parallelism);
                 }
+                pool = gridPool;
+            }
+        }
+        return pool;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (gridPool != null) {
+            gridPool.shutdownNow();
+        }
+    }
+
+    /**
+     * 시설물 좌표/가중치와 공간 인덱스를 묶은 계산용 구조
+     * 생성 후에는 읽기 전용이므로 여러 스레드가 공유해도 안전합니다.
+     */
+    private static final class FacilityField {
+        private final double[] lats;
+        private final double[] lons;
+        private final double[] weights;
+        private final SpatialGridIndex index;
+        private final double baseScore;
+        private final double radius;
+
+        FacilityField(List<RiskPoint> facilities, double baseScore, double radius) {
+            int n = facilities.size();
+            this.lats = new double[n];
+            this.lons = new double[n];
+            this.weights = new double[n];
+            for (int i = 0; i < n; i++) {
+                RiskPoint rp = facilities.get(i);
+                lats[i] = rp.getLatitude();
+                lons[i] = rp.getLongitude();
+                weights[i] = rp.getWeight();
+            }
+            // 시설물 좌표를 공간 인덱스에 적재 (각 격자는 반경 근처 버킷의 시설물만 확인)
+            this.index = new SpatialGridIndex(lats, lons, radius);
+            this.baseScore = baseScore;
+            this.radius = radius;
+        }
+
+        int[] newBuffer() {
+            return new int[index.size()];
+        }
 
-                score = Math.max(0.0, Math.min(score, 3.0));
-                results.add(new HeatmapPointDto(lat, lon, score));
+        double score(double lat, double lon, double lonScale, int[] candidates) {
+            double score = baseScore;
+            double radiusSq = radius * radius;
+            int count = index.query(lat, lon, radius, candidates);
+            for (int k = 0; k < count; k++) {
+                int i = candidates[k];
+                // 반경 밖 후보는 제곱거리 비교만으로 걸러냄 (sqrt는 반경 안에서만)
+                double distSq = DistanceUtil.projectedDistanceSq(lat, lon, lats[i], lons[i], lonScale);
+                if (distSq < radiusSq) {
+                    double factor = 1.0 - (Math.sqrt(distSq) / radius);
+                    score -= (weights[i] * factor);
+                }
             }
+            return score;
         }
-        Map<String, Object> response = new HashMap<>();
-        response.put("result", results);
-        return response;
     }
 }
@@ -0,0 +1,83 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.domain.entity.RiskPoint;
+import com.du.gis_project.domain.entity.RiskType;
+
+/**
+ * 시설물 한 건의 변경 내용 (추가/수정/삭제)
+ * 변경 전/후 좌표와 가중치를 함께 담아 히트맵 등에서 영향 범위를 계산할 수 있게 합니다. 해당 없는 값은 NaN입니다.
+ */
+public class RiskPointChange {
+
+    public enum Kind {
+        INSERT, UPDATE, DELETE
+    }
+
+    private final Kind kind;
+    private final RiskType type;
+    private final double oldLat;
+    private final double oldLon;
+    private final double oldWeight;
+    private final double newLat;
+    private final double newLon;
+    private final double newWeight;
+
+    private RiskPointChange(Kind kind, RiskType type, double oldLat, double oldLon, double oldWeight,
+            double newLat, double newLon, double newWeight) {
+        this.kind = kind;
+        this.type = type;
+        this.oldLat = oldLat;
+        this.oldLon = oldLon;
+        this.oldWeight = oldWeight;
+        this.newLat = newLat;
+        this.newLon = newLon;
+        this.newWeight = newWeight;
+    }
+
+    public static RiskPointChange inserted(RiskPoint p) {
+        return new RiskPointChange(Kind.INSERT, p.getType(), Double.NaN, Double.NaN, Double.NaN,
+                p.getLatitude(), p.getLongitude(), p.getWeight());
+    }
+
+    public static RiskPointChange updated(RiskPoint before, RiskPoint after) {
+        return new RiskPointChange(Kind.UPDATE, after.getType(), before.getLatitude(), before.getLongitude(),
+                before.getWeight(), after.getLatitude(), after.getLongitude(), after.getWeight());
+    }
+
+    public static RiskPointChange deleted(RiskPoint p) {
+        return new RiskPointChange(Kind.DELETE, p.getType(), p.getLatitude(), p.getLongitude(), p.getWeight(),
+                Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public RiskType getType() {
+        return type;
+    }
+
+    public double getOldLat() {
+        return oldLat;
+    }
+
+    public double getOldLon() {
+        return oldLon;
+    }
+
+    public double getOldWeight() {
+        return oldWeight;
+    }
+
+    public double getNewLat() {
+        return newLat;
+    }
+
+    public double getNewLon() {
+        return newLon;
+    }
+
+    public double getNewWeight() {
+        return newWeight;
+    }
+}
@@ -0,0 +1,64 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.domain.entity.RiskType;
+import com.du.gis_project.util.CompressedBody;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 시설물 목록 응답 캐시와 데이터 버전
+ *
+ * 시설물 데이터가 바뀔 때(임포트, 관리자 추가/삭제 커밋 후)마다 버전이 올라가며, 이 버전으로 ETag를 만듭니다.
+ * 전체/타입별 바이너리 목록 응답 본문은 버전별로 한 번만 인코딩/압축해 두고 다음 변경 때 버립니다.
+ * (JSON 목록은 크기가 커서 보관하지 않고 RiskService.writeRisksJson으로 요청마다 스트리밍)
+ * 기동 시각을 버전에 포함하므로 재기동 중 DB가 바뀌어도 이전 ETag와 겹치지 않습니다.
+ */
+@Service
+public class RiskResponseCache {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, CompressedBody> bodies = new ConcurrentHashMap<>();
+
+    /**
+     * 현재 데이터 버전 토큰 (ETag 구성용)
+     */
+    public String getVersionToken() {
+        return epoch + "-" + version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRiskDataChanged(RiskDataChangedEvent event) {
+        if (event.isEmpty()) {
+            return;
+        }
+        version.incrementAndGet();
+        bodies.clear();
+    }
+
+    /**
+     * 전체(type == null) 또는 타입별 목록 응답 본문. 현재 버전에 없으면 serializer로 만들어 보관합니다.
+     *
+     * @param format 응답 형식 구분 (json, binary)
+     */
+    public CompressedBody facilities(RiskType type, String format, Supplier<byte[]> serializer) {
+        long current = version.get();
+        String key = current + "|" + (type != null ? type.name() : "ALL") + "|" + format;
+        CompressedBody cached = bodies.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompressedBody body = CompressedBody.of(serializer.get());
+        bodies.put(key, body);
+        if (version.get() != current) {
+            // 직렬화 도중 데이터가 바뀜: 이전 버전 본문은 보관하지 않음
+            bodies.remove(key);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,169 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.domain.dto.RiskGrid;
+import com.du.gis_project.util.DistanceUtil;
+
+import java.util.BitSet;
+
+/**
+ * 위험도 격자의 가변 원시 점수 배열
+ *
+ * 각 칸에는 기본 점수에서 반경 안 시설물들의 기여분을 뺀 값이 상한/하한 적용 없이 저장됩니다.
+ * 시설물 하나가 추가/삭제되면 그 시설의 반경에 걸치는 칸만 기여분을 더하거나 빼서 갱신하고,
+ * [0, MAX_SCORE] 범위 제한은 값을 읽을 때 적용합니다.
+ * 동기화하지 않으므로 한 스레드(히트맵 갱신 스레드)에서만 수정해야 합니다.
+ */
+public class RiskScoreGrid {
+
+    // 경도 범위 계산 여유 (위도에 따른 cos 변화 보정)
+    private static final double LON_MARGIN = 1.01;
+
+    private final double[] lats;
+    private final double[] lons;
+    // 성남 내부 칸 여부 (행 우선, 외부 칸은 점수를 갖지 않음)
+    private final boolean[] inside;
+    private final double[] raw;
+    private final double baseScore;
+    private final double radius;
+
+    public RiskScoreGrid(double[] lats, double[] lons, boolean[] inside, double[] raw, double baseScore,
+            double radius) {
+        this.lats = lats;
+        this.lons = lons;
+        this.inside = inside;
+        this.raw = raw;
+        this.baseScore = baseScore;
+        this.radius = radius;
+    }
+
+    public int getRows() {
+        return lats.length;
+    }
+
+    public int getCols() {
+        return lons.length;
+    }
+
+    public double[] getLatAxis() {
+        return lats;
+    }
+
+    public double[] getLonAxis() {
+        return lons;
+    }
+
+    public double getBaseScore() {
+        return baseScore;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    public boolean isInside(int row, int col) {
+        return inside[row * lons.length + col];
+    }
+
+    /**
+     * 범위 제한을 적용한 점수 (외부 칸은 NaN)
+     */
+    public double scoreAt(int row, int col) {
+        int idx = row * lons.length + col;
+        if (!inside[idx]) {
+            return Double.NaN;
+        }
+        return Math.max(0.0, Math.min(raw[idx], RiskIntegrationService.MAX_SCORE));
+    }
+
+    /**
+     * 시설물을 추가합니다. (반경 안 칸의 점수를 낮춤)
+     *
+     * @return 값이 바뀐 칸 수
+     */
+    public int addFacility(double lat, double lon, double weight) {
+        return applyFacility(lat, lon, weight, 1.0);
+    }
+
+    /**
+     * 시설물을 제거합니다. (추가할 때 뺀 기여분을 되돌림)
+     *
+     * @return 값이 바뀐 칸 수
+     */
+    public int removeFacility(double lat, double lon, double weight) {
+        return applyFacility(lat, lon, weight, -1.0);
+    }
+
+    private int applyFacility(double lat, double lon, double weight, double sign) {
+        double dLat = radius / DistanceUtil.METERS_PER_DEGREE;
+        double dLon = dLat / Math.cos(Math.toRadians(lat)) * LON_MARGIN;
+        int r0 = lowerBound(lats, lat - dLat);
+        int r1 = upperBound(lats, lat + dLat);
+        int c0 = lowerBound(lons, lon - dLon);
+        int c1 = upperBound(lons, lon + dLon);
+
+        double radiusSq = radius * radius;
+        int touched = 0;
+        for (int r = r0; r < r1; r++) {
+            int rowOffset = r * lons.length;
+            double lonScale = DistanceUtil.lonScale(lats[r]);
+            for (int c = c0; c < c1; c++) {
+                int idx = rowOffset + c;
+                if (!inside[idx]) {
+                    continue;
+                }
+                // 전체 계산(RiskIntegrationService)과 같은 거리 함수(칸 위도 기준 축척)와 감쇠식 사용
+                double distSq = DistanceUtil.projectedDistanceSq(lats[r], lons[c], lat, lon, lonScale);
+                if (distSq < radiusSq) {
+                    raw[idx] -= sign * weight * (1.0 - Math.sqrt(distSq) / radius);
+                    touched++;
+                }
+            }
+        }
+        return touched;
+    }
+
+    /**
+     * 범위 제한을 적용한 불변 RiskGrid로 변환합니다. (이후 이 격자를 수정해도 결과에 영향 없음)
+     */
+    public RiskGrid toRiskGrid(double stepLat, double stepLon) {
+        float[] scores = new float[raw.length];
+        BitSet mask = new BitSet(raw.length);
+        for (int i = 0; i < raw.length; i++) {
+            if (inside[i]) {
+                mask.set(i);
+                scores[i] = (float) Math.max(0.0, Math.min(raw[i], RiskIntegrationService.MAX_SCORE));
+            }
+        }
+        return new RiskGrid(lats, lons, stepLat, stepLon, scores, mask);
+    }
+
+    // 정렬된 축에서 value 이상인 첫 인덱스
+    private static int lowerBound(double[] axis, double value) {
+        int lo = 0;
+        int hi = axis.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (axis[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // 정렬된 축에서 value보다 큰 첫 인덱스
+    private static int upperBound(double[] axis, double value) {
+        int lo = 0;
+        int hi = axis.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (axis[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
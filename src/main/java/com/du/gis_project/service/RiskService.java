@@ -1,30 +1,175 @@
 package com.du.gis_project.service;
 
+import com.du.gis_project.config.GisConfig;
 import com.du.gis_project.domain.dto.RiskPointDto;
+import com.du.gis_project.domain.dto.RiskPointPageDto;
+import com.du.gis_project.domain.entity.RiskPoint;
 import com.du.gis_project.domain.entity.RiskType;
 import com.du.gis_project.repository.RiskPointRepository;
+import com.du.gis_project.repository.RiskPointStreamReader;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class RiskService {
 
+    // geography로 변환한 사각형이 위경도 범위와 일치하는 최대 폭(도, 미만)
+    private static final double MAX_ENVELOPE_SPAN = 180.0;
+
     private final RiskPointRepository riskPointRepository;
+    private final RiskPointStreamReader riskPointStreamReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final GisConfig gisConfig;
 
-    public RiskService(RiskPointRepository riskPointRepository) {
+    public RiskService(RiskPointRepository riskPointRepository, RiskPointStreamReader riskPointStreamReader,
+            ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper, GisConfig gisConfig) {
         this.riskPointRepository = riskPointRepository;
+        this.riskPointStreamReader = riskPointStreamReader;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.gisConfig = gisConfig;
     }
 
+    /**
+     * 전체 시설물 목록 (엔티티를 거치지 않고 커서에서 바로 DTO로 읽음)
+     */
+    @Transactional(readOnly = true)
     public List<RiskPointDto> getAllRisks() {
-        return riskPointRepository.findAll().stream()
-                .map(RiskPointDto::new)
-                .toList();
+        return getRisks(null);
     }
 
+    @Transactional(readOnly = true)
     public List<RiskPointDto> getRisksByType(RiskType type) {
-        return riskPointRepository.findByType(type).stream()
+        return getRisks(type);
+    }
+
+    /**
+     * 전체(type == null) 또는 타입별 시설물 목록을 {"status":"OK","result":[...]} JSON으로 out에 바로 기록합니다.
+     * DB 커서에서 fetch size(gis.api.stream-fetch-size)씩 읽은 행을 곧바로 쓰므로 목록 전체를 메모리에 올리지 않습니다.
+     * 커서를 유지하기 위해 기록이 끝날 때까지 읽기 전용 트랜잭션(DB 커넥션)을 사용합니다. (out은 닫지 않음)
+     *
+     * 도중에 DB 읽기가 실패하면 닫는 괄호를 쓰지 않고 예외를 그대로 던집니다.
+     * (이미 200으로 일부가 전송된 응답이 완결된 JSON처럼 보이지 않도록 하고, 연결 중단은 호출 측에 맡김)
+     */
+    @Transactional(readOnly = true)
+    public void writeRisksJson(RiskType type, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // close()가 열린 배열/객체를 자동으로 닫으면 실패한 목록이 잘린 채 정상 응답처럼 끝나므로 끔
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        try (generator) {
+            generator.writeStartObject();
+            generator.writeStringField("status", "OK");
+            generator.writeArrayFieldStart("result");
+            // RiskPointDto의 Jackson 직렬화와 같은 필드 순서/형식으로 기록
+            riskPointStreamReader.forEach(type, gisConfig.getApi().getStreamFetchSize(), dto -> {
+                try {
+                    generator.writeStartObject();
+                    generator.writeNumberField("id", dto.getId());
+                    generator.writeNumberField("latitude", dto.getLatitude());
+                    generator.writeNumberField("longitude", dto.getLongitude());
+                    generator.writeNumberField("weight", dto.getWeight());
+                    generator.writeStringField("type", dto.getType().name());
+                    generator.writeEndObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (UncheckedIOException e) {
+            // 클라이언트 연결 종료 등 응답 기록 실패
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 지점 반경(미터) 안의 시설물을 조회합니다. (PostGIS ST_DWithin)
+     */
+    public List<RiskPointDto> getRisksWithinRadius(double lat, double lon, double radius) {
+        return riskPointRepository.findWithinRadius(lat, lon, radius).stream()
                 .map(RiskPointDto::new)
                 .toList();
     }
+
+    /**
+     * 영역 안의 시설물을 id 순서로 최대 limit개 조회합니다.
+     * 영역은 위도 [-90, 90], 경도 [-180, 180]으로 자르며, 자른 뒤 폭이 180도 이상이면
+     * geography 사각형이 영역을 덮지 못하므로 인덱스 후보 조건 없이 위경도 범위로만 조회합니다.
+     */
+    public RiskPointPageDto getRisksInBounds(RiskType type, double minLat, double maxLat, double minLon,
+            double maxLon, long cursor, int limit) {
+        String typeName = type != null ? type.name() : null;
+        minLat = Math.max(-90, minLat);
+        maxLat = Math.min(90, maxLat);
+        minLon = Math.max(-180, minLon);
+        maxLon = Math.min(180, maxLon);
+        List<RiskPoint> rows = maxLat - minLat < MAX_ENVELOPE_SPAN && maxLon - minLon < MAX_ENVELOPE_SPAN
+                ? riskPointRepository.findInEnvelope(typeName, minLat, maxLat, minLon, maxLon, cursor, limit + 1)
+                : riskPointRepository.findInRange(typeName, minLat, maxLat, minLon, maxLon, cursor, limit + 1);
+        return toPage(rows, limit);
+    }
+
+    /**
+     * 영역 조건 없이 전체/타입별 시설물을 id 순서로 최대 limit개 조회합니다.
+     */
+    public RiskPointPageDto getRisksPage(RiskType type, long cursor, int limit) {
+        return toPage(riskPointRepository.findPage(type != null ? type.name() : null, cursor, limit + 1), limit);
+    }
+
+    // limit보다 한 건 더 읽은 결과로 다음 페이지 존재 여부를 판단하고, 있으면 마지막 id를 커서로 반환
+    private static RiskPointPageDto toPage(List<RiskPoint> rows, int limit) {
+        Long nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = rows.get(limit - 1).getId();
+        }
+        return new RiskPointPageDto(rows.stream().map(RiskPointDto::new).toList(), nextCursor);
+    }
+
+    private List<RiskPointDto> getRisks(RiskType type) {
+        List<RiskPointDto> result = new ArrayList<>();
+        riskPointStreamReader.forEach(type, gisConfig.getApi().getStreamFetchSize(), result::add);
+        return result;
+    }
+
+    /**
+     * 시설물 한 건을 추가합니다. 가중치가 0 이하이면 타입 기본값을 사용합니다.
+     * 커밋 후 히트맵은 이 시설의 반경만 부분 갱신됩니다.
+     */
+    @Transactional
+    public RiskPointDto addFacility(RiskPointDto request) {
+        double weight = request.getWeight() > 0 ? request.getWeight()
+                : CsvImportService.defaultWeight(request.getType());
+        RiskPoint saved = riskPointRepository.save(
+                new RiskPoint(request.getLatitude(), request.getLongitude(), weight, request.getType()));
+        eventPublisher.publishEvent(new RiskDataChangedEvent("admin", List.of(RiskPointChange.inserted(saved))));
+        return new RiskPointDto(saved);
+    }
+
+    /**
+     * 시설물 한 건을 삭제합니다.
+     *
+     * @return 삭제된 시설물 (없으면 empty)
+     */
+    @Transactional
+    public Optional<RiskPointDto> removeFacility(long id) {
+        Optional<RiskPoint> found = riskPointRepository.findById(id);
+        found.ifPresent(rp -> {
+            riskPointRepository.delete(rp);
+            eventPublisher.publishEvent(new RiskDataChangedEvent("admin", List.of(RiskPointChange.deleted(rp))));
+        });
+        return found.map(RiskPointDto::new);
+    }
 }
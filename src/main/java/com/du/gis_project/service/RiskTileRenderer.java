@@ -0,0 +1,189 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.dto.RiskGrid;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 위험도 히트맵 스냅샷을 XYZ(Web Mercator) 256x256 PNG 타일로 렌더링하는 서비스
+ *
+ * 픽셀마다 주변 4개 격자 점수를 쌍선형 보간한 뒤, heatmap.js와 같은 가중치 식과 그라디언트로 색을 칠합니다.
+ * 렌더링 결과는 스냅샷 버전을 포함한 키로 LRU 캐시에 보관되므로, 데이터가 바뀌면 이전 타일은 자연히 밀려납니다.
+ */
+@Service
+public class RiskTileRenderer {
+
+    public static final int TILE_SIZE = 256;
+    public static final int MAX_ZOOM = 22;
+
+    // 보간 시 유효 격자 가중치 합이 이 값 미만이면 투명 처리 (성남 경계 바깥)
+    private static final double MIN_COVERAGE = 0.5;
+
+    private final int[] palette;
+    private final Map<String, byte[]> tileCache;
+    private final byte[] emptyTile;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public RiskTileRenderer(GisConfig gisConfig, MeterRegistry meterRegistry) {
+        GisConfig.Map.Heatmap heatmap = gisConfig.getMap().getHeatmap();
+        this.palette = buildPalette(heatmap.getGradient());
+        int maxEntries = Math.max(1, heatmap.getTileCacheSize());
+        this.tileCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.emptyTile = encodePng(new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB));
+        this.cacheHits = meterRegistry.counter("gis.cache.gets", "cache", "risk-tile", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("gis.cache.gets", "cache", "risk-tile", "result", "miss");
+    }
+
+    /**
+     * 주어진 스냅샷의 z/x/y 타일 PNG를 반환합니다. 같은 버전의 타일은 캐시에서 바로 반환됩니다.
+     */
+    public byte[] getTile(HeatmapSnapshot snapshot, int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM || x < 0 || y < 0 || x >= (1 << z) || y >= (1 << z)) {
+            throw new IllegalArgumentException("잘못된 타일 좌표입니다: " + z + "/" + x + "/" + y);
+        }
+
+        String key = snapshot.getVersion() + "/" + z + "/" + x + "/" + y;
+        byte[] cached = tileCache.get(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+
+        byte[] png = render(snapshot, z, x, y);
+        tileCache.put(key, png);
+        return png;
+    }
+
+    private byte[] render(HeatmapSnapshot snapshot, int z, int x, int y) {
+        RiskGrid grid = snapshot.getGrid();
+        double worldSize = (double) TILE_SIZE * (1L << z);
+
+        // 타일이 격자 범위와 겹치지 않으면 공용 빈 타일 반환
+        double tileWestLon = pixelToLon(x * TILE_SIZE, worldSize);
+        double tileEastLon = pixelToLon((x + 1) * TILE_SIZE, worldSize);
+        double tileNorthLat = pixelToLat(y * TILE_SIZE, worldSize);
+        double tileSouthLat = pixelToLat((y + 1) * TILE_SIZE, worldSize);
+        double gridMaxLat = grid.getOriginLat() + grid.getStepLat() * grid.getRows();
+        double gridMaxLon = grid.getOriginLon() + grid.getStepLon() * grid.getCols();
+        if (tileEastLon < grid.getOriginLon() - grid.getStepLon() || tileWestLon > gridMaxLon
+                || tileNorthLat < grid.getOriginLat() - grid.getStepLat() || tileSouthLat > gridMaxLat) {
+            return emptyTile;
+        }
+
+        // 경도는 열마다 동일하므로 격자 열 좌표를 미리 계산
+        double[] colPos = new double[TILE_SIZE];
+        for (int px = 0; px < TILE_SIZE; px++) {
+            double lon = pixelToLon(x * TILE_SIZE + px + 0.5, worldSize);
+            colPos[px] = (lon - grid.getOriginLon()) / grid.getStepLon();
+        }
+
+        BufferedImage image = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        int[] rowPixels = new int[TILE_SIZE];
+        boolean painted = false;
+        for (int py = 0; py < TILE_SIZE; py++) {
+            double lat = pixelToLat(y * TILE_SIZE + py + 0.5, worldSize);
+            double rowPos = (lat - grid.getOriginLat()) / grid.getStepLat();
+            int r0 = (int) Math.floor(rowPos);
+            double tr = rowPos - r0;
+
+            for (int px = 0; px < TILE_SIZE; px++) {
+                int c0 = (int) Math.floor(colPos[px]);
+                double tc = colPos[px] - c0;
+                double score = interpolate(grid, r0, c0, tr, tc);
+                if (Double.isNaN(score)) {
+                    rowPixels[px] = 0;
+                } else {
+                    rowPixels[px] = colorOf(score);
+                    painted = true;
+                }
+            }
+            image.setRGB(0, py, TILE_SIZE, 1, rowPixels, 0, TILE_SIZE);
+        }
+
+        return painted ? encodePng(image) : emptyTile;
+    }
+
+    /**
+     * NaN(성남 외부) 격자를 제외한 쌍선형 보간
+     */
+    private double interpolate(RiskGrid grid, int r0, int c0, double tr, double tc) {
+        double sum = 0;
+        double weightSum = 0;
+        for (int dr = 0; dr <= 1; dr++) {
+            double wr = dr == 0 ? 1 - tr : tr;
+            for (int dc = 0; dc <= 1; dc++) {
+                double w = wr * (dc == 0 ? 1 - tc : tc);
+                float v = grid.scoreAt(r0 + dr, c0 + dc);
+                if (!Float.isNaN(v) && w > 0) {
+                    sum += v * w;
+                    weightSum += w;
+                }
+            }
+        }
+        return weightSum < MIN_COVERAGE ? Double.NaN : sum / weightSum;
+    }
+
+    private int colorOf(double score) {
+        // heatmap.js의 weight 함수와 동일: 기본 점수 2.0을 최대 강도로 보고 하한 0.1 적용
+        double weight = Math.max(0.1, Math.min(score / 2.0, 1.0));
+        return palette[(int) Math.round(weight * (palette.length - 1))];
+    }
+
+    private static double pixelToLon(double px, double worldSize) {
+        return px / worldSize * 360.0 - 180.0;
+    }
+
+    private static double pixelToLat(double py, double worldSize) {
+        double n = Math.PI * (1 - 2 * py / worldSize);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    /**
+     * 균등 간격 색상 정지점을 선형 보간한 256단계 ARGB 팔레트
+     */
+    private static int[] buildPalette(List<String> gradient) {
+        Color[] stops = gradient.stream().map(Color::decode).toArray(Color[]::new);
+        int[] palette = new int[256];
+        for (int i = 0; i < palette.length; i++) {
+            double t = (double) i / (palette.length - 1) * (stops.length - 1);
+            int s = Math.max(0, Math.min((int) t, stops.length - 2));
+            double f = t - s;
+            Color a = stops[s];
+            Color b = stops[Math.min(s + 1, stops.length - 1)];
+            int red = (int) Math.round(a.getRed() + (b.getRed() - a.getRed()) * f);
+            int green = (int) Math.round(a.getGreen() + (b.getGreen() - a.getGreen()) * f);
+            int blue = (int) Math.round(a.getBlue() + (b.getBlue() - a.getBlue()) * f);
+            palette[i] = 0xFF000000 | (red << 16) | (green << 8) | blue;
+        }
+        return palette;
+    }
+
+    private static byte[] encodePng(BufferedImage image) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("타일 PNG 인코딩 실패", e);
+        }
+    }
+}
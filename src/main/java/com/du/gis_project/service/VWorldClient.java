@@ -0,0 +1,325 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * VWorld API 공용 HTTP 클라이언트
+ *
+ * 하나의 HttpClient를 공유하므로 연결이 keep-alive로 재사용되어 호출마다 TLS 핸드셰이크를 하지 않습니다.
+ * 연결/응답 시간 제한, 동시 호출 수 제한, 서킷 브레이커를 적용하여 외부 API가 느리거나 장애일 때
+ * 요청 스레드가 오래 묶이지 않고 바로 실패(VWorldUnavailableException)하도록 합니다.
+ *
+ * 동시 호출 한도는 용도별로 따로 둡니다. 사용자 요청(검색/역지오코딩)은 gis.vworld.http.max-concurrent,
+ * 임포트 지오코딩은 gis.import.geocode.max-concurrent를 쓰므로 검색이 몰려도 임포트 지오코딩이 한도를 잃지 않고,
+ * 그 반대도 마찬가지입니다. (서킷 브레이커는 같은 외부 API이므로 공유)
+ * 여러 호출로 이루어진 요청(주소 검색의 단계별 동시 호출)은 reserve로 필요한 호출 수만큼 한 번에 예약하여,
+ * 일부 단계만 한도에 걸려 요청 결과가 달라지지 않게 합니다.
+ *
+ * 서킷 브레이커: 연속 실패(5xx, 시간 초과, 연결 오류)가 기준 횟수에 도달하면 열림 상태가 되어 일정 시간 호출을 차단하고,
+ * 이후 한 번의 시험 호출이 성공하면 다시 닫힙니다.
+ */
+@Service
+public class VWorldClient {
+
+    private static final Logger log = LoggerFactory.getLogger(VWorldClient.class);
+
+    public enum CircuitState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * 동시 호출 한도 구분 (SEARCH: 검색/역지오코딩 프록시, GEOCODE: 임포트 지오코딩)
+     */
+    public enum Budget {
+        SEARCH, GEOCODE
+    }
+
+    private final GisConfig.Vworld.Http settings;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Semaphore permits;
+    private final Semaphore geocodePermits;
+    private final MeterRegistry meterRegistry;
+
+    // 서킷 브레이커 상태 (this로 동기화)
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public VWorldClient(GisConfig gisConfig, MeterRegistry meterRegistry) {
+        this.settings = gisConfig.getVworld().getHttp();
+        this.baseUrl = gisConfig.getVworld().getBaseUrl();
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(Math.max(1, settings.getMaxConcurrent()), true);
+        this.geocodePermits = new Semaphore(Math.max(1, gisConfig.getImport().getGeocode().getMaxConcurrent()), true);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(settings.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        meterRegistry.gauge("gis.vworld.circuit.open", Tags.empty(), this,
+                client -> client.getCircuitState() == CircuitState.CLOSED ? 0 : 1);
+    }
+
+    /**
+     * GET 요청을 보내고 응답 본문을 반환합니다.
+     *
+     * @param pathTemplate base-url 뒤에 붙는 경로와 쿼리 ({name} 자리에 params 값을 인코딩하여 채움)
+     * @throws VWorldUnavailableException 서킷이 열려 있거나, 동시 호출 한도를 기다리다 시간 초과된 경우
+     * @throws VWorldCallException        응답 오류(4xx/5xx), 시간 초과, 연결 오류
+     */
+    public String get(String pathTemplate, Map<String, String> params) {
+        return get(pathTemplate, params, Budget.SEARCH);
+    }
+
+    /**
+     * 해당 용도의 동시 호출 한도 안에서 GET 요청을 보냅니다.
+     *
+     * @throws VWorldUnavailableException 서킷이 열려 있거나, 동시 호출 한도를 기다리다 시간 초과된 경우
+     * @throws VWorldCallException        응답 오류(4xx/5xx), 시간 초과, 연결 오류
+     */
+    public String get(String pathTemplate, Map<String, String> params, Budget budget) {
+        return send(pathTemplate, params, budget == Budget.GEOCODE ? geocodePermits : permits, budget, false);
+    }
+
+    /**
+     * 예약한 검색 호출 한도 안에서 GET 요청을 보냅니다. (reserved가 null이면 호출마다 한도를 기다림)
+     *
+     * @throws VWorldUnavailableException 서킷이 열려 있거나, 동시 호출 한도를 기다리다 시간 초과된 경우
+     * @throws VWorldCallException        응답 오류(4xx/5xx), 시간 초과, 연결 오류
+     */
+    public String get(String pathTemplate, Map<String, String> params, Reservation reserved) {
+        if (reserved == null) {
+            return get(pathTemplate, params, Budget.SEARCH);
+        }
+        // 예약한 수보다 많은 호출은 예약 안에서 차례를 기다림 (전체 한도는 넘지 않음)
+        return send(pathTemplate, params, reserved.slots, Budget.SEARCH, true);
+    }
+
+    private String send(String pathTemplate, Map<String, String> params, Semaphore slots, Budget budget,
+            boolean reserved) {
+        boolean trial = acquireCircuit();
+        boolean acquired = false;
+        try {
+            if (reserved) {
+                slots.acquire();
+                acquired = true;
+            } else {
+                acquired = slots.tryAcquire(settings.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (!acquired) {
+                reject("saturated", budget);
+                throw new VWorldUnavailableException("VWorld 동시 호출 한도를 초과했습니다.");
+            }
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + expand(pathTemplate, params)))
+                    .timeout(settings.getReadTimeout())
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            HttpResponse<String> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                // 시간 초과(HttpTimeoutException 포함)와 연결 오류
+                recordFailure(trial);
+                throw new VWorldCallException("VWorld 호출 실패: " + e.getMessage(), 0, e);
+            }
+
+            int status = response.statusCode();
+            if (status >= 500) {
+                recordFailure(trial);
+                throw new VWorldCallException("VWorld 응답 오류: HTTP " + status, status, null);
+            }
+            // 4xx는 요청 문제이므로 서킷 상태에는 반영하지 않음
+            recordSuccess(trial);
+            if (status >= 400) {
+                throw new VWorldCallException("VWorld 요청 오류: HTTP " + status, status, null);
+            }
+            return response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseTrial(trial);
+            throw new VWorldCallException("VWorld 호출이 중단되었습니다.", 0, e);
+        } catch (VWorldUnavailableException e) {
+            releaseTrial(trial);
+            throw e;
+        } finally {
+            if (acquired) {
+                slots.release();
+            }
+        }
+    }
+
+    /**
+     * 검색 동시 호출 한도에서 count개(최대 한도 크기)를 한 번에 예약합니다. 서킷 상태는 호출마다 확인합니다.
+     *
+     * @throws VWorldUnavailableException 한도를 기다리다 시간 초과된 경우
+     */
+    public Reservation reserve(int count) {
+        int size = Math.max(1, Math.min(count, Math.max(1, settings.getMaxConcurrent())));
+        try {
+            if (!permits.tryAcquire(size, settings.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                reject("saturated", Budget.SEARCH);
+                throw new VWorldUnavailableException("VWorld 동시 호출 한도를 초과했습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VWorldCallException("VWorld 호출이 중단되었습니다.", 0, e);
+        }
+        return new Reservation(size);
+    }
+
+    public synchronized CircuitState getCircuitState() {
+        if (state == CircuitState.OPEN && System.currentTimeMillis() - openedAt >= settings.getOpenDuration().toMillis()) {
+            return CircuitState.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * 서킷 상태를 확인하고 호출을 허용합니다.
+     *
+     * @return 반열림 상태의 시험 호출이면 true
+     */
+    private synchronized boolean acquireCircuit() {
+        if (state == CircuitState.OPEN) {
+            if (System.currentTimeMillis() - openedAt < settings.getOpenDuration().toMillis()) {
+                reject("circuit_open", null);
+                throw new VWorldUnavailableException("VWorld 서킷이 열려 있습니다. 잠시 후 다시 시도해주세요.");
+            }
+            state = CircuitState.HALF_OPEN;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (trialInFlight) {
+                reject("circuit_open", null);
+                throw new VWorldUnavailableException("VWorld 서킷 복구를 확인 중입니다. 잠시 후 다시 시도해주세요.");
+            }
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void recordSuccess(boolean trial) {
+        consecutiveFailures = 0;
+        if (trial) {
+            trialInFlight = false;
+            state = CircuitState.CLOSED;
+            log.info("VWorld 서킷 닫힘 (시험 호출 성공)");
+        }
+    }
+
+    private synchronized void recordFailure(boolean trial) {
+        consecutiveFailures++;
+        if (trial || consecutiveFailures >= Math.max(1, settings.getFailureThreshold())) {
+            if (state != CircuitState.OPEN) {
+                log.warn("VWorld 서킷 열림 (연속 실패 {}회, {}초간 호출 차단)", consecutiveFailures,
+                        settings.getOpenDuration().toSeconds());
+            }
+            state = CircuitState.OPEN;
+            openedAt = System.currentTimeMillis();
+            trialInFlight = false;
+        }
+    }
+
+    // 시험 호출이 결과 없이 끝난 경우 (동시 호출 한도 초과, 중단) 다음 호출이 다시 시험할 수 있게 함
+    private synchronized void releaseTrial(boolean trial) {
+        if (trial) {
+            trialInFlight = false;
+        }
+    }
+
+    private void reject(String reason, Budget budget) {
+        meterRegistry.counter("gis.vworld.rejected", "reason", reason,
+                "budget", budget != null ? budget.name().toLowerCase(Locale.ROOT) : "all").increment();
+    }
+
+    // {name} 자리를 UTF-8 퍼센트 인코딩 값으로 치환 (공백은 + 대신 %20)
+    static String expand(String template, Map<String, String> params) {
+        String result = template;
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            String value = entry.getValue() != null ? entry.getValue() : "";
+            String encoded = URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+            result = result.replace("{" + entry.getKey() + "}", encoded);
+        }
+        return result;
+    }
+
+    /**
+     * 예약한 동시 호출 한도 (close 시 한 번만 반환)
+     */
+    public final class Reservation implements AutoCloseable {
+        private final int size;
+        private final Semaphore slots;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Reservation(int size) {
+            this.size = size;
+            this.slots = new Semaphore(size);
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                permits.release(size);
+            }
+        }
+    }
+
+    /**
+     * 서킷이 열려 있거나 동시 호출 한도에 걸려 호출하지 않은 경우
+     */
+    public static class VWorldUnavailableException extends RuntimeException {
+        public VWorldUnavailableException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 호출했으나 실패한 경우 (응답 오류, 시간 초과, 연결 오류)
+     */
+    public static class VWorldCallException extends RuntimeException {
+        // HTTP 상태 코드 (응답을 받지 못한 경우 0)
+        private final int status;
+
+        public VWorldCallException(String message, int status, Throwable cause) {
+            super(message, cause);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * 다시 시도하면 성공할 수 있는 오류인지 (시간 초과/연결 오류, 5xx, 429)
+         */
+        public boolean isRetryable() {
+            return (status == 0 && !(getCause() instanceof InterruptedException)) || status >= 500 || status == 429;
+        }
+    }
+}
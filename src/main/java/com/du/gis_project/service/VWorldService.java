@@ -0,0 +1,371 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.dto.AddressSearchResultDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * VWorld 검색/주소 API 호출 서비스
+ *
+ * 응답은 단계별 검색어(공백 정리, 소문자) 또는 반올림한 좌표를 키로 크기/시간 제한 캐시에 보관합니다.
+ * 결과 없음 응답도 짧은 시간 동안 캐시하여 같은 검색어로 모든 단계를 다시 호출하지 않게 하며,
+ * 호출 오류는 캐시하지 않습니다. 서킷 열림/동시 호출 한도 초과(VWorldUnavailableException)는 결과 없음으로 바꾸지 않고
+ * 그대로 던지므로, 하위 단계 결과로 대신 응답하지 않습니다. 캐시 적중률은 cache.gets 지표(cache=vworld-search, vworld-address)로 확인합니다.
+ * 주소 검색은 설정(gis.vworld.search-mode)에 따라 단계를 차례로 호출하거나 동시에 호출합니다.
+ * 외부 호출은 공용 VWorldClient(연결 재사용, 시간 제한, 서킷 브레이커)를 통해 이루어집니다.
+ */
+@Service
+public class VWorldService {
+
+    private static final Logger log = LoggerFactory.getLogger(VWorldService.class);
+
+    public static final String SEARCH_MODE_SEQUENTIAL = "sequential";
+    public static final String SEARCH_MODE_PARALLEL = "parallel";
+
+    private static final String SEARCH_PATH = "/req/search?service=search&request=search&version=2.0"
+            + "&crs=epsg:3857&size=1&type={type}&query={query}&key={key}";
+    private static final String ADDRESS_PATH = "/req/address?service=address&request=getAddress&version=2.0"
+            + "&crs=epsg:4326&point={point}&format=json&type=both&key={key}";
+
+    private final GisConfig gisConfig;
+    private final MeterRegistry meterRegistry;
+    private final VWorldClient vworldClient;
+    private final Cache<String, String> searchCache;
+    private final Cache<String, String> addressCache;
+    // parallel 검색 모드에서 단계별 호출을 동시에 실행하는 풀
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService searchExecutor;
+
+    public VWorldService(GisConfig gisConfig, VWorldClient vworldClient, MeterRegistry meterRegistry) {
+        this.gisConfig = gisConfig;
+        this.vworldClient = vworldClient;
+        this.meterRegistry = meterRegistry;
+        this.searchCache = buildCache(gisConfig.getVworld().getCache());
+        this.addressCache = buildCache(gisConfig.getVworld().getCache());
+        this.searchExecutor = Executors.newFixedThreadPool(Math.max(1, gisConfig.getVworld().getSearchThreads()),
+                r -> {
+                    Thread t = new Thread(r, "vworld-search-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, searchCache, "vworld-search");
+        CaffeineCacheMetrics.monitor(meterRegistry, addressCache, "vworld-address");
+    }
+
+    /**
+     * 좌표로 주소 조회 (Reverse Geocoding)
+     * 좌표는 설정된 자릿수로 반올림하여 조회하므로 가까운 지점의 클릭은 같은 캐시 항목을 사용합니다.
+     *
+     * @throws RuntimeException VWorld 호출 실패 시 (캐시하지 않음)
+     */
+    public String reverseGeocode(double lon, double lat) {
+        int precision = Math.max(0, gisConfig.getVworld().getCache().getCoordinatePrecision());
+        String point = String.format(Locale.ROOT, "%." + precision + "f,%." + precision + "f", lon, lat);
+        String cached = addressCache.getIfPresent(point);
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<String, String> params = new HashMap<>();
+        params.put("point", point);
+        params.put("key", gisConfig.getVworld().getKey());
+
+        log.info("VWorld GetAddress Calling with point={}", point);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String response;
+        try {
+            response = vworldClient.get(ADDRESS_PATH, params);
+        } catch (RuntimeException e) {
+            sample.stop(upstreamTimer("reverse", "error"));
+            throw e;
+        }
+        sample.stop(upstreamTimer("reverse", isNotFound(response) ? "not_found" : "found"));
+        if (response != null) {
+            addressCache.put(point, response);
+        }
+        return response;
+    }
+
+    /**
+     * 주소 검색 (초정밀 Smart 4단계 파이프라인)
+     * 장소 → 도로명(원본/정제) → 지번(원본/정제) → 행정구역 순으로 결과가 있는 첫 단계를 사용합니다.
+     * parallel 모드에서는 모든 단계를 동시에 호출하고 우선순위 순서대로 결과를 확인하므로,
+     * 선택되는 결과는 순차 모드와 같고 응답 시간은 선택된 단계까지의 가장 느린 호출 하나 수준입니다.
+     * 동시 호출 한도는 요청 단위로 예약합니다. (parallel: 캐시에 없는 단계 수, sequential: 1)
+     *
+     * @throws VWorldClient.VWorldUnavailableException 서킷이 열려 있거나 동시 호출 한도를 예약하지 못한 경우
+     */
+    public AddressSearchResultDto search(String query) {
+        List<SearchStage> stages = buildStages(query);
+        boolean parallel = SEARCH_MODE_PARALLEL.equalsIgnoreCase(gisConfig.getVworld().getSearchMode());
+        int uncached = 0;
+        for (SearchStage stage : stages) {
+            if (!searchCache.asMap().containsKey(stage.cacheKey())) {
+                uncached++;
+            }
+        }
+        SearchStage found = null;
+        String response = null;
+
+        // 모든 단계가 캐시에 있으면 예약하지 않음 (그 사이 만료된 단계는 호출마다 한도를 기다림)
+        try (VWorldClient.Reservation reserved = uncached > 0
+                ? vworldClient.reserve(parallel ? uncached : 1) : null) {
+            if (parallel) {
+                List<Future<String>> calls = new ArrayList<>(stages.size());
+                for (SearchStage stage : stages) {
+                    calls.add(searchExecutor.submit(() -> callSearch(stage, reserved)));
+                }
+                try {
+                    for (int i = 0; i < stages.size(); i++) {
+                        found = stages.get(i);
+                        response = awaitSearch(calls.get(i));
+                        if (!isNotFound(response)) {
+                            break;
+                        }
+                    }
+                } finally {
+                    // 결과가 정해지면 아직 진행 중인 하위 단계 호출은 취소 (시작 전이면 실행되지 않음)
+                    for (Future<String> call : calls) {
+                        call.cancel(true);
+                    }
+                }
+            } else {
+                for (SearchStage stage : stages) {
+                    found = stage;
+                    response = callSearch(stage, reserved);
+                    if (!isNotFound(response)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        // 최종 결과 확인
+        if (isNotFound(response)) {
+            log.warn("All search stages failed for query: {}", query);
+        }
+        return new AddressSearchResultDto(response, found.foundType, query);
+    }
+
+    /**
+     * 우선순위 순서의 검색 단계 목록 (정제된 검색어가 원본과 같으면 해당 단계 생략)
+     */
+    private static List<SearchStage> buildStages(String query) {
+        List<SearchStage> stages = new ArrayList<>();
+        // 1단계: 장소(place) 검색
+        stages.add(new SearchStage("place", "place", null, query, "place"));
+        // 2단계: 도로명 주소(road) 검색 - 원본 쿼리
+        stages.add(new SearchStage("road", "address", "road", query, "road"));
+        // 2.5단계: 도로명 주소(road) 검색 - 정제된 쿼리 (괄호 제거 및 도로명만 추출)
+        String cleanQuery = refineRoadQuery(query);
+        if (!cleanQuery.equals(query)) {
+            stages.add(new SearchStage("road-refined", "address", "road", cleanQuery, "road"));
+        }
+        // 3단계: 지번 주소(parcel) 검색 - 원본 쿼리
+        stages.add(new SearchStage("parcel", "address", "parcel", query, "parcel"));
+        // 3.5단계: 지번 주소(parcel) 검색 - 정제된 쿼리 (동+지번만 추출)
+        String cleanParcel = refineParcelQuery(query);
+        if (!cleanParcel.equals(query)) {
+            stages.add(new SearchStage("parcel-refined", "address", "parcel", cleanParcel, "parcel"));
+        }
+        // 4단계: 행정구역(district) 검색
+        stages.add(new SearchStage("district", "district", null, query, "district"));
+        return stages;
+    }
+
+    // 동시 호출 결과 대기 (호출 오류는 결과 없음으로 처리 - 순차 모드와 동일, 호출 불가는 그대로 던짐)
+    private String awaitSearch(Future<String> call) {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof VWorldClient.VWorldUnavailableException unavailable) {
+                throw unavailable;
+            }
+            return null;
+        } catch (CancellationException e) {
+            return null;
+        }
+    }
+
+    public CacheStats getSearchCacheStats() {
+        return searchCache.stats();
+    }
+
+    public CacheStats getAddressCacheStats() {
+        return addressCache.stats();
+    }
+
+    /**
+     * VWorld 응답에 결과가 없는지 확인합니다. (호출 오류로 응답이 없는 경우 포함)
+     */
+    public static boolean isNotFound(String response) {
+        return response == null || response.contains("\"status\":\"NOT_FOUND\"")
+                || response.contains("\"total\":\"0\"");
+    }
+
+    private String callSearch(SearchStage searchStage, VWorldClient.Reservation reserved) {
+        String stage = searchStage.stage;
+        String type = searchStage.type;
+        String category = searchStage.category;
+        String query = searchStage.query;
+        String cacheKey = searchStage.cacheKey();
+        String cached = searchCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 템플릿 값은 VWorldClient에서 %20 방식으로 인코딩 (+ vs %20 문제 해결)
+        String path = SEARCH_PATH;
+        if (category != null) {
+            path += "&category=" + category;
+        }
+
+        Map<String, String> params = new HashMap<>();
+        params.put("type", type);
+        params.put("query", query);
+        params.put("key", gisConfig.getVworld().getKey());
+
+        log.info("VWorld API [{}][{}] Calling for: {}", type, (category != null ? category : "-"), query);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            String response = vworldClient.get(path, params, reserved);
+            sample.stop(upstreamTimer(stage, isNotFound(response) ? "not_found" : "found"));
+            if (response != null) {
+                searchCache.put(cacheKey, response);
+            }
+            return response;
+        } catch (VWorldClient.VWorldUnavailableException e) {
+            // 호출하지 않았으므로 결과 없음으로 보지 않음 (캐시하지 않고, 하위 단계로 넘어가지 않음)
+            sample.stop(upstreamTimer(stage, "rejected"));
+            throw e;
+        } catch (Exception e) {
+            sample.stop(upstreamTimer(stage, "error"));
+            log.error("VWorld API Call Exception: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // VWorld 외부 API 응답 시간 (단계/결과별, 캐시 적중은 포함하지 않음)
+    private Timer upstreamTimer(String stage, String outcome) {
+        return meterRegistry.timer("gis.vworld.requests", "stage", stage, "outcome", outcome);
+    }
+
+    // 캐시 키용 검색어 정규화: 앞뒤 공백 제거, 연속 공백 하나로, 소문자
+    private static String normalize(String query) {
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String refineRoadQuery(String query) {
+        // 1. 괄호 내용 제거: "수정로 100 (여수동)" -> "수정로 100"
+        String cleaned = query.replaceAll("\\s*\\([^)]*\\)", "").trim();
+
+        // 2. 도로명 주소 패턴 추출 시도: "성남시 중원구 성남대로 997" -> "성남대로 997"
+        // (VWorld는 시/도 정보가 너무 길면 오히려 검색 실패할 때가 있음)
+        Pattern roadPattern = Pattern.compile("([가-힣a-zA-Z0-9·]+([로|길]))\\s*(\\d+[-]?\\d*)");
+        Matcher matcher = roadPattern.matcher(cleaned);
+        if (matcher.find()) {
+            return matcher.group(0).trim();
+        }
+
+        return cleaned;
+    }
+
+    private static String refineParcelQuery(String query) {
+        String cleaned = query.replaceAll("\\s*\\([^)]*\\)", "").trim();
+
+        // 지번 주소 패턴 추출 시도: "성남시 분당구 삼평동 717" -> "삼평동 717"
+        Pattern parcelPattern = Pattern.compile("([가-힣0-9]+[동|리|읍|면])\\s*(\\d+[-]?\\d*)");
+        Matcher matcher = parcelPattern.matcher(cleaned);
+        if (matcher.find()) {
+            return matcher.group(0).trim();
+        }
+
+        return cleaned;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchExecutor.shutdownNow();
+    }
+
+    /**
+     * 크기 제한 + 응답 종류별 만료 시간(결과 있음: ttl, 결과 없음: negative-ttl) 캐시
+     */
+    private static Cache<String, String> buildCache(GisConfig.Vworld.Cache settings) {
+        long ttlNanos = settings.getTtl().toNanos();
+        long negativeTtlNanos = settings.getNegativeTtl().toNanos();
+        return Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSize())
+                .expireAfter(new Expiry<String, String>() {
+                    @Override
+                    public long expireAfterCreate(String key, String value, long currentTime) {
+                        return isNotFound(value) ? negativeTtlNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, String value, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, String value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 검색 단계 (단계 이름은 캐시 키/지표 태그, foundType은 응답에 표시할 결과 종류)
+     */
+    private static final class SearchStage {
+        final String stage;
+        final String type;
+        final String category;
+        final String query;
+        final String foundType;
+
+        SearchStage(String stage, String type, String category, String query, String foundType) {
+            this.stage = stage;
+            this.type = type;
+            this.category = category;
+            this.query = query;
+            this.foundType = foundType;
+        }
+
+        // 캐시 키는 단계 이름 + 정규화한 검색어
+        String cacheKey() {
+            return stage + "|" + normalize(query);
+        }
+    }
+}
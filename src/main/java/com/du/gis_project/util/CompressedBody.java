@@ -0,0 +1,98 @@
+package com.du.gis_project.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 원본 응답 본문과 미리 gzip 압축한 본문을 함께 보관하는 불변 객체
+ *
+ * 스냅샷/캐시와 함께 한 번만 만들어 두고 요청마다 Accept-Encoding에 맞는 쪽을 그대로 보냅니다.
+ * 작은 본문(MIN_COMPRESS_SIZE 미만)이나 압축해도 줄지 않는 본문은 gzip을 만들지 않습니다.
+ */
+public final class CompressedBody {
+
+    public static final String GZIP = "gzip";
+
+    private static final int MIN_COMPRESS_SIZE = 1024;
+
+    private final byte[] identity;
+    private final byte[] gzip;
+
+    private CompressedBody(byte[] identity, byte[] gzip) {
+        this.identity = identity;
+        this.gzip = gzip;
+    }
+
+    /**
+     * 본문을 압축하여 만듭니다. (배열은 복사하지 않으므로 호출 측은 이후에 수정하지 않아야 함)
+     */
+    public static CompressedBody of(byte[] identity) {
+        return of(identity, true);
+    }
+
+    /**
+     * 요청마다 만드는 본문용: 클라이언트가 gzip을 받지 않으면(compress == false) 압축을 건너뜁니다.
+     */
+    public static CompressedBody of(byte[] identity, boolean compress) {
+        if (!compress || identity.length < MIN_COMPRESS_SIZE) {
+            return new CompressedBody(identity, null);
+        }
+        byte[] compressed = gzip(identity);
+        return new CompressedBody(identity, compressed.length < identity.length ? compressed : null);
+    }
+
+    public byte[] getIdentity() {
+        return identity;
+    }
+
+    /**
+     * gzip 본문 (만들지 않았으면 null)
+     */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /**
+     * Accept-Encoding 헤더가 gzip을 허용하는지 확인합니다. (q=0은 거부로 처리)
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals(GZIP) && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out, 8192)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
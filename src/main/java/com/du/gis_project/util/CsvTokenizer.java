@@ -0,0 +1,281 @@
+package com.du.gis_project.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * 따옴표를 인식하는 스트리밍 CSV 토크나이저
+ *
+ * 한 레코드씩 읽어 내부 버퍼에 필드 내용을 (따옴표를 제거한 채로) 이어 붙이고, 필드별 시작/끝 위치만 기록합니다.
+ * 숫자 필드는 parseDouble로 버퍼 위치에서 직접 변환하므로 레코드마다 문자열을 만들지 않습니다.
+ * 버퍼는 다음 레코드에서 재사용되므로 field()로 얻은 문자열 외의 값은 next() 호출 전까지만 유효합니다.
+ */
+public class CsvTokenizer implements Closeable {
+
+    private static final int EOF = -1;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // double로 정확히 표현되는 최대 정수 (2^53)
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final Reader reader;
+    private final char[] input = new char[64 * 1024];
+    private int inputPos;
+    private int inputLimit;
+    private boolean firstChar = true;
+
+    private char[] record = new char[1024];
+    private int recordLen;
+    private int[] starts = new int[32];
+    private int[] ends = new int[32];
+    private int fieldCount;
+    private long lineNumber;
+    // 지금까지 읽은 줄바꿈 수 (따옴표 안의 줄바꿈 포함)
+    private long linesRead;
+
+    public CsvTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 다음 레코드를 읽습니다. 따옴표 안의 쉼표/줄바꿈은 필드 내용으로 취급하며 "" 는 " 로 바뀝니다.
+     *
+     * @return 읽을 레코드가 없으면 false
+     */
+    public boolean next() throws IOException {
+        fieldCount = 0;
+        recordLen = 0;
+
+        int c = read();
+        if (c == EOF) {
+            return false;
+        }
+        lineNumber = linesRead + 1;
+
+        boolean inQuotes = false;
+        int fieldStart = 0;
+        while (true) {
+            if (c == EOF) {
+                endField(fieldStart);
+                return true;
+            }
+            if (inQuotes) {
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        append('"');
+                    } else {
+                        inQuotes = false;
+                        c = n;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        linesRead++;
+                    }
+                    append((char) c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                endField(fieldStart);
+                fieldStart = recordLen;
+            } else if (c == '\n') {
+                linesRead++;
+                endField(fieldStart);
+                return true;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    read();
+                }
+                linesRead++;
+                endField(fieldStart);
+                return true;
+            } else {
+                append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 현재 레코드의 시작 줄 번호 (1부터)
+     */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * 필드 값을 앞뒤 공백을 제거한 문자열로 반환합니다. (헤더/주소 등 문자열이 꼭 필요한 경우에만 사용)
+     */
+    public String field(int index) {
+        if (index < 0 || index >= fieldCount) {
+            return "";
+        }
+        int s = trimStart(index);
+        int e = trimEnd(index, s);
+        return new String(record, s, e - s);
+    }
+
+    /**
+     * 앞뒤 공백을 제외하고 비어 있는 필드인지 확인합니다.
+     */
+    public boolean isBlank(int index) {
+        if (index < 0 || index >= fieldCount) {
+            return true;
+        }
+        return trimStart(index) == trimEnd(index, trimStart(index));
+    }
+
+    /**
+     * 필드를 double로 변환합니다. 숫자가 아니거나 비어 있으면 NaN을 반환합니다.
+     * 가수가 2^53 이하이고 소수 자릿수가 22 이하인 일반 소수는 버퍼에서 바로 정확하게 변환하고,
+     * 그보다 긴 값이나 지수 표기는 Double.parseDouble로 위임하여 결과가 항상 동일하도록 합니다.
+     */
+    public double parseDouble(int index) {
+        if (index < 0 || index >= fieldCount) {
+            return Double.NaN;
+        }
+        int s = trimStart(index);
+        int e = trimEnd(index, s);
+        if (s == e) {
+            return Double.NaN;
+        }
+
+        int i = s;
+        boolean negative = false;
+        if (record[i] == '-' || record[i] == '+') {
+            negative = record[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean seenDot = false;
+        boolean seenDigit = false;
+        for (; i < e; i++) {
+            char ch = record[i];
+            if (ch >= '0' && ch <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && ch == '0') {
+                    // 앞쪽 0은 유효 숫자에 포함하지 않음
+                    if (seenDot) {
+                        scale++;
+                    }
+                    continue;
+                }
+                if (++digits > 18) {
+                    return slowParse(s, e);
+                }
+                mantissa = mantissa * 10 + (ch - '0');
+                if (seenDot) {
+                    scale++;
+                }
+            } else if (ch == '.' && !seenDot) {
+                seenDot = true;
+            } else if (ch == 'e' || ch == 'E') {
+                return seenDigit ? slowParse(s, e) : Double.NaN;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!seenDigit) {
+            return Double.NaN;
+        }
+        if (mantissa > MAX_EXACT_MANTISSA || scale >= POWERS_OF_TEN.length) {
+            return slowParse(s, e);
+        }
+
+        // 가수와 10의 거듭제곱이 모두 double로 정확히 표현되므로 한 번의 나눗셈으로 정확히 반올림됨
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private double slowParse(int s, int e) {
+        try {
+            return Double.parseDouble(new String(record, s, e - s));
+        } catch (NumberFormatException ex) {
+            return Double.NaN;
+        }
+    }
+
+    private int trimStart(int index) {
+        int s = starts[index];
+        int e = ends[index];
+        while (s < e && record[s] <= ' ') {
+            s++;
+        }
+        return s;
+    }
+
+    private int trimEnd(int index, int s) {
+        int e = ends[index];
+        while (e > s && record[e - 1] <= ' ') {
+            e--;
+        }
+        return e;
+    }
+
+    private void endField(int fieldStart) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        starts[fieldCount] = fieldStart;
+        ends[fieldCount] = recordLen;
+        fieldCount++;
+    }
+
+    private void append(char ch) {
+        if (recordLen == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLen++] = ch;
+    }
+
+    private int read() throws IOException {
+        if (inputPos == inputLimit && !fill()) {
+            return EOF;
+        }
+        char ch = input[inputPos++];
+        if (firstChar) {
+            firstChar = false;
+            // UTF-8 BOM 제거
+            if (ch == '\uFEFF') {
+                return read();
+            }
+        }
+        return ch;
+    }
+
+    private int peek() throws IOException {
+        if (inputPos == inputLimit && !fill()) {
+            return EOF;
+        }
+        return input[inputPos];
+    }
+
+    private boolean fill() throws IOException {
+        int n = reader.read(input, 0, input.length);
+        if (n <= 0) {
+            return false;
+        }
+        inputPos = 0;
+        inputLimit = n;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
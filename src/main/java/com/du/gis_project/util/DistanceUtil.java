@@ -7,6 +7,9 @@ public class DistanceUtil {
 
     private static final double EARTH_RADIUS = 6371000; // 지구 반지름 (미터)
 
+    // 위도 1도의 길이 (미터)
+    public static final double METERS_PER_DEGREE = EARTH_RADIUS * Math.PI / 180.0;
+
     /**
      * 하버사인(Haversine) 공식을 이용한 두 지점 사이의 실제 거리(미터) 계산
      * 
@@ -28,4 +31,41 @@ public class DistanceUtil {
 
         return EARTH_RADIUS * c;
     }
+
+    /**
+     * 등장방형 근사에서 경도 방향 축척 (기준 위도의 cos)
+     * 같은 위도의 점들을 반복 계산할 때 한 번만 구해서 projectedDistanceSq에 넘깁니다.
+     *
+     * @param lat 기준 위도
+     * @return cos(위도)
+     */
+    public static double lonScale(double lat) {
+        return Math.cos(Math.toRadians(lat));
+    }
+
+    /**
+     * 등장방형(equirectangular) 근사를 이용한 두 지점 사이 거리의 제곱(제곱미터) 계산
+     * 삼각함수 호출이 없으므로 반경 비교처럼 많이 반복되는 계산에 사용합니다. (반경도 제곱해서 비교)
+     * 수 km 이내에서는 하버사인과 거의 같으며, 기준 위도를 lat1로 잡은 경우 300m에서 오차는 1cm 미만입니다.
+     *
+     * @param lat1     지점1 위도 (lonScale의 기준 위도)
+     * @param lon1     지점1 경도
+     * @param lat2     지점2 위도
+     * @param lon2     지점2 경도
+     * @param lonScale lonScale(lat1)로 미리 구한 값
+     * @return 두 지점 사이 거리의 제곱 (제곱미터)
+     */
+    public static double projectedDistanceSq(double lat1, double lon1, double lat2, double lon2, double lonScale) {
+        double dy = (lat2 - lat1) * METERS_PER_DEGREE;
+        double dx = (lon2 - lon1) * METERS_PER_DEGREE * lonScale;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * 두 지점의 평균 위도를 기준으로 한 등장방형 근사 거리의 제곱(제곱미터)
+     * 기준 위도를 미리 구할 수 없을 때 사용하며, 5km 이내에서 하버사인과의 오차는 1mm 미만입니다.
+     */
+    public static double projectedDistanceSq(double lat1, double lon1, double lat2, double lon2) {
+        return projectedDistanceSq(lat1, lon1, lat2, lon2, lonScale((lat1 + lat2) / 2));
+    }
 }
@@ -0,0 +1,111 @@
+package com.du.gis_project.util;
+
+import com.du.gis_project.domain.dto.RiskGrid;
+import com.du.gis_project.domain.dto.RiskPointDto;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 히트맵/시설물 데이터를 브라우저 TypedArray로 바로 읽을 수 있는 바이너리 형식으로 인코딩하는 유틸리티 클래스
+ * 모든 값은 리틀 엔디언이며, 배열 구간은 4바이트 경계에 정렬됩니다.
+ *
+ * <pre>
+ * [히트맵 그리드] magic "RGRD"
+ *   0  int32   magic
+ *   4  int32   포맷 버전
+ *   8  int32   rows (위도 방향 격자 수)
+ *  12  int32   cols (경도 방향 격자 수)
+ *  16  float64 originLat, 24 float64 originLon
+ *  32  float64 stepLat,   40 float64 stepLon
+ *  48  float32 maxScore
+ *  52  int32   예약
+ *  56  uint8[rows * cols] 점수 (행 우선, 0~254 = score / maxScore 양자화, 255 = 성남 외부)
+ *
+ * [시설물 목록] magic "RPTS"
+ *   0  int32   magic
+ *   4  int32   포맷 버전
+ *   8  int32   count
+ *  12  int32   예약
+ *  16  float64[count] id (bbox 중복 로딩 시 클라이언트 식별용)
+ *      int32[count]   위도 (1e-6도 단위)
+ *      int32[count]   경도 (1e-6도 단위)
+ *      float32[count] 가중치
+ *      uint8[count]   RiskType ordinal
+ * </pre>
+ */
+public class RiskBinaryEncoder {
+
+    public static final String MEDIA_TYPE = "application/octet-stream";
+
+    private static final int GRID_MAGIC = 0x44524752; // "RGRD" (little-endian)
+    private static final int POINTS_MAGIC = 0x53545052; // "RPTS" (little-endian)
+    private static final int GRID_FORMAT_VERSION = 1;
+    private static final int POINTS_FORMAT_VERSION = 2;
+
+    private static final int GRID_HEADER_SIZE = 56;
+    private static final int POINTS_HEADER_SIZE = 16;
+
+    public static final int EMPTY_CELL = 255;
+    private static final int MAX_LEVEL = 254;
+    private static final double COORD_SCALE = 1_000_000.0;
+
+    /**
+     * 격자 점수 배열을 원점/간격과 함께 양자화 배열로 인코딩합니다.
+     * 마스크 밖 격자(성남 외부)는 EMPTY_CELL로 기록됩니다.
+     */
+    public static byte[] encodeHeatmap(RiskGrid grid, double maxScore) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        ByteBuffer buf = ByteBuffer.allocate(GRID_HEADER_SIZE + rows * cols).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(GRID_MAGIC);
+        buf.putInt(GRID_FORMAT_VERSION);
+        buf.putInt(rows);
+        buf.putInt(cols);
+        buf.putDouble(grid.getOriginLat());
+        buf.putDouble(grid.getOriginLon());
+        buf.putDouble(grid.getStepLat());
+        buf.putDouble(grid.getStepLon());
+        buf.putFloat((float) maxScore);
+        buf.putInt(0);
+
+        byte[] out = buf.array();
+        Arrays.fill(out, GRID_HEADER_SIZE, out.length, (byte) EMPTY_CELL);
+        for (int i = grid.nextInside(0); i >= 0; i = grid.nextInside(i + 1)) {
+            double ratio = Math.max(0.0, Math.min(grid.scoreAtIndex(i) / maxScore, 1.0));
+            out[GRID_HEADER_SIZE + i] = (byte) Math.round(ratio * MAX_LEVEL);
+        }
+        return out;
+    }
+
+    /**
+     * 시설물 목록을 컬럼 단위(id/위도/경도/가중치/타입)로 묶어 인코딩합니다.
+     */
+    public static byte[] encodeFacilities(List<RiskPointDto> points) {
+        int n = points.size();
+        ByteBuffer buf = ByteBuffer.allocate(POINTS_HEADER_SIZE + n * (8 + 4 + 4 + 4 + 1))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(POINTS_MAGIC);
+        buf.putInt(POINTS_FORMAT_VERSION);
+        buf.putInt(n);
+        buf.putInt(0);
+        for (RiskPointDto p : points) {
+            buf.putDouble(p.getId() != null ? p.getId() : -1);
+        }
+        for (RiskPointDto p : points) {
+            buf.putInt((int) Math.round(p.getLatitude() * COORD_SCALE));
+        }
+        for (RiskPointDto p : points) {
+            buf.putInt((int) Math.round(p.getLongitude() * COORD_SCALE));
+        }
+        for (RiskPointDto p : points) {
+            buf.putFloat((float) p.getWeight());
+        }
+        for (RiskPointDto p : points) {
+            buf.put((byte) (p.getType() != null ? p.getType().ordinal() : EMPTY_CELL));
+        }
+        return buf.array();
+    }
+}
@@ -0,0 +1,29 @@
+package com.du.gis_project.util;
+
+import com.du.gis_project.domain.dto.RiskGrid;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * RiskGrid를 기존 히트맵 JSON 형식([{lat, lon, score}, ...], 성남 내부 칸만 행 우선)으로 기록하는 직렬화기
+ * 칸 객체를 만들거나 리플렉션을 거치지 않고 배열 값을 바로 출력합니다.
+ */
+public class RiskGridJsonSerializer extends JsonSerializer<RiskGrid> {
+
+    @Override
+    public void serialize(RiskGrid grid, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        int cols = grid.getCols();
+        gen.writeStartArray();
+        for (int i = grid.nextInside(0); i >= 0; i = grid.nextInside(i + 1)) {
+            gen.writeStartObject();
+            gen.writeNumberField("lat", grid.latAt(i / cols));
+            gen.writeNumberField("lon", grid.lonAt(i % cols));
+            gen.writeNumberField("score", grid.scoreAtIndex(i));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+}
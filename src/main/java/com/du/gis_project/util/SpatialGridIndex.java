@@ -0,0 +1,145 @@
+package com.du.gis_project.util;
+
+import java.util.Arrays;
+
+/**
+ * 위경도 좌표를 균일한 버킷 격자로 나누어 저장하는 메모리 공간 인덱스
+ *
+ * 반경 검색 시 검색 원을 감싸는 버킷만 확인하므로 전체 시설물을 순회하지 않아도 됩니다.
+ * 반환되는 후보는 "반경 안에 있을 수 있는" 점들의 상위 집합이며, 정확한 거리 판정은 호출 측에서 수행합니다.
+ */
+public class SpatialGridIndex {
+
+    // 하버사인 계산과 동일한 지구 반지름 기준 위도 1도의 길이 (미터)
+    private static final double METERS_PER_DEGREE = 6371000 * Math.PI / 180.0;
+
+    // 경도 방향 검색 범위 여유율 (구면 거리와 평면 근사 사이의 미세한 오차 흡수)
+    private static final double LON_MARGIN = 1.01;
+
+    private final double minLat;
+    private final double minLon;
+    private final double cellLat;
+    private final double cellLon;
+    private final int rows;
+    private final int cols;
+
+    // 버킷별 시작 위치 (CSR 형식, 길이 rows * cols + 1)
+    private final int[] cellStart;
+    // 버킷 순서로 정렬된 원본 인덱스 (각 버킷 내부는 오름차순)
+    private final int[] items;
+    private final int size;
+
+    /**
+     * @param lats            점들의 위도 배열
+     * @param lons            점들의 경도 배열 (lats와 같은 길이)
+     * @param cellSizeMeters  버킷 한 변의 길이 (보통 검색 반경과 같게 설정)
+     */
+    public SpatialGridIndex(double[] lats, double[] lons, double cellSizeMeters) {
+        if (lats.length != lons.length) {
+            throw new IllegalArgumentException("lats and lons must have the same length");
+        }
+        this.size = lats.length;
+
+        double loLat = Double.POSITIVE_INFINITY, hiLat = Double.NEGATIVE_INFINITY;
+        double loLon = Double.POSITIVE_INFINITY, hiLon = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            loLat = Math.min(loLat, lats[i]);
+            hiLat = Math.max(hiLat, lats[i]);
+            loLon = Math.min(loLon, lons[i]);
+            hiLon = Math.max(hiLon, lons[i]);
+        }
+
+        if (size == 0) {
+            this.minLat = 0;
+            this.minLon = 0;
+            this.cellLat = 1;
+            this.cellLon = 1;
+            this.rows = 0;
+            this.cols = 0;
+            this.cellStart = new int[] { 0 };
+            this.items = new int[0];
+            return;
+        }
+
+        double refCos = Math.cos(Math.toRadians((loLat + hiLat) / 2));
+        this.minLat = loLat;
+        this.minLon = loLon;
+        this.cellLat = cellSizeMeters / METERS_PER_DEGREE;
+        this.cellLon = cellSizeMeters / (METERS_PER_DEGREE * Math.max(refCos, 1e-6));
+        this.rows = (int) ((hiLat - loLat) / cellLat) + 1;
+        this.cols = (int) ((hiLon - loLon) / cellLon) + 1;
+
+        // 1차: 버킷별 개수 집계, 2차: 누적합으로 시작 위치 계산 후 원본 순서대로 채움
+        int[] cellOf = new int[size];
+        this.cellStart = new int[rows * cols + 1];
+        for (int i = 0; i < size; i++) {
+            int cell = rowOf(lats[i]) * cols + colOf(lons[i]);
+            cellOf[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < rows * cols; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        this.items = new int[size];
+        int[] fill = Arrays.copyOf(cellStart, rows * cols);
+        for (int i = 0; i < size; i++) {
+            items[fill[cellOf[i]]++] = i;
+        }
+    }
+
+    /**
+     * 인덱스에 저장된 점의 개수 (query 결과 버퍼의 최대 크기)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 주어진 좌표에서 반경 안에 있을 수 있는 점들의 원본 인덱스를 오름차순으로 buffer에 채웁니다.
+     *
+     * @param lat          검색 중심 위도
+     * @param lon          검색 중심 경도
+     * @param radiusMeters 검색 반경 (미터)
+     * @param buffer       결과를 담을 배열 (길이 size() 이상)
+     * @return buffer에 채워진 후보 개수
+     */
+    public int query(double lat, double lon, double radiusMeters, int[] buffer) {
+        if (size == 0) {
+            return 0;
+        }
+
+        double dLat = radiusMeters / METERS_PER_DEGREE;
+        double farLat = Math.min(90.0, Math.max(Math.abs(lat - dLat), Math.abs(lat + dLat)));
+        double dLon = radiusMeters * LON_MARGIN / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(farLat)), 1e-6));
+
+        int r0 = Math.max(0, (int) Math.floor((lat - dLat - minLat) / cellLat));
+        int r1 = Math.min(rows - 1, (int) Math.floor((lat + dLat - minLat) / cellLat));
+        int c0 = Math.max(0, (int) Math.floor((lon - dLon - minLon) / cellLon));
+        int c1 = Math.min(cols - 1, (int) Math.floor((lon + dLon - minLon) / cellLon));
+        if (r0 > r1 || c0 > c1) {
+            return 0;
+        }
+
+        int count = 0;
+        for (int r = r0; r <= r1; r++) {
+            int base = r * cols;
+            for (int c = c0; c <= c1; c++) {
+                for (int k = cellStart[base + c]; k < cellStart[base + c + 1]; k++) {
+                    buffer[count++] = items[k];
+                }
+            }
+        }
+
+        // 원본 목록 순서와 동일한 순서로 누적되도록 정렬 (부동소수점 합산 결과 일치 보장)
+        Arrays.sort(buffer, 0, count);
+        return count;
+    }
+
+    private int rowOf(double lat) {
+        return Math.min(rows - 1, (int) ((lat - minLat) / cellLat));
+    }
+
+    private int colOf(double lon) {
+        return Math.min(cols - 1, (int) ((lon - minLon) / cellLon));
+    }
+}
@@ -0,0 +1,47 @@
+package com.du.gis_project.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 버킷 속도 제한기
+ *
+ * 초당 permitsPerSecond개씩 토큰이 채워지고 최대 burst개까지 쌓입니다.
+ * acquire는 토큰이 없으면 다음 토큰이 채워질 때까지 기다립니다. 대기 시간은 잠금 안에서 예약하고
+ * 잠금 밖에서 잠들기 때문에 여러 스레드가 동시에 호출해도 전체 속도가 설정값을 넘지 않습니다.
+ */
+public class TokenBucket {
+
+    private final double nanosPerPermit;
+    private final double maxStored;
+    private double stored;
+    private long lastRefillNanos;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.maxStored = Math.max(1, burst);
+        this.stored = maxStored;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 토큰 하나를 얻을 때까지 기다립니다.
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    // 토큰 하나를 예약하고 사용 가능 시점까지 남은 시간을 반환 (부족분은 음수 잔량으로 미리 차감)
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        stored = Math.min(maxStored, stored + (now - lastRefillNanos) / nanosPerPermit);
+        lastRefillNanos = now;
+        stored -= 1;
+        return stored >= 0 ? 0 : (long) (-stored * nanosPerPermit);
+    }
+}
@@ -4,37 +4,98 @@
 
 // 1. 데이터 가져오기 버튼 로직
 const btnImport = document.getElementById('btn-import-data');
+const IMPORT_BUTTON_TEXT = "🔄 데이터 가져오기 (관리자용)";
 if (btnImport) {
     btnImport.addEventListener('click', function () {
-        if (!confirm('데이터 가져오기를 시작하시겠습니까?\n(기존 데이터는 삭제되며, 시간이 수 분 걸릴 수 있습니다.)')) return;
+        if (!confirm('데이터 가져오기를 시작하시겠습니까?\n(기존 데이터는 삭제 후 다시 적재됩니다.)')) return;
 
         this.disabled = true;
-        this.innerText = "가져오기 진행 중... (서버 로그 확인)";
+        this.innerText = "가져오기 시작 중...";
 
+        // 서버는 작업 ID를 바로 반환하고 백그라운드에서 타입별로 병렬 임포트함
         fetch('/api/import', { method: 'POST' })
             .then(res => res.json())
             .then(data => {
-                // 데이터 최신화를 위해 기존 소스 초기화
-                // 각 소스는 layers.js와 heatmap.js에 전역변수로 선언되어 있음
-                if (typeof cctvSource !== 'undefined') cctvSource.clear();
-                if (typeof policeSource !== 'undefined') policeSource.clear();
-                if (typeof lightSource !== 'undefined') lightSource.clear();
-                if (typeof refinedRiskSource !== 'undefined') refinedRiskSource.clear();
-
-                alert('데이터 가져오기 시작됨!\n\n완료까지 1~2분 정도 걸릴 수 있습니다.\n잠시 후 체크박스를 다시 켜면 최신 데이터가 반영됩니다.');
-
-                setTimeout(() => {
-                    this.disabled = false;
-                    this.innerText = "🔄 데이터 가져오기 (관리자용)";
-                }, 3000);
+                if (data.status !== 'ACCEPTED') throw new Error(data.message || data.status);
+                watchImportJob(data.result.id);
             })
             .catch(err => {
                 alert('요청 실패: ' + err);
-                this.disabled = false;
+                resetImportButton();
             });
     });
 }
 
+/**
+ * 임포트 작업 진행 상황을 SSE로 받아 버튼에 표시 (SSE 실패 시 1초 간격 조회로 대체)
+ */
+function watchImportJob(jobId) {
+    if (typeof EventSource === 'undefined') {
+        pollImportJob(jobId);
+        return;
+    }
+    const events = new EventSource(`/api/import/${jobId}/events`);
+    events.addEventListener('progress', e => showImportProgress(JSON.parse(e.data)));
+    events.addEventListener('done', e => {
+        events.close();
+        onImportFinished(JSON.parse(e.data));
+    });
+    events.onerror = function () {
+        events.close();
+        pollImportJob(jobId);
+    };
+}
+
+function pollImportJob(jobId) {
+    fetch(`/api/import/${jobId}`)
+        .then(res => res.json())
+        .then(data => {
+            if (data.status !== 'OK') throw new Error(data.message || data.status);
+            if (data.result.done) {
+                onImportFinished(data.result);
+            } else {
+                showImportProgress(data.result);
+                setTimeout(() => pollImportJob(jobId), 1000);
+            }
+        })
+        .catch(err => {
+            alert('진행 상황 조회 실패: ' + err);
+            resetImportButton();
+        });
+}
+
+function showImportProgress(job) {
+    if (!btnImport) return;
+    // 예: "가져오기 진행 중... POLICE 1200행 · CCTV 800행 · STREET_LIGHT 완료"
+    const parts = job.files.map(f => f.done
+        ? `${f.type} ${f.state === 'FAILED' ? '실패' : '완료'}`
+        : `${f.type} ${f.rowsProcessed}행`);
+    btnImport.innerText = "가져오기 진행 중... " + parts.join(' · ');
+}
+
+function onImportFinished(job) {
+    // 데이터 최신화를 위해 기존 소스 초기화
+    // 각 소스는 layers.js와 heatmap.js에 전역변수로 선언되어 있음
+    if (typeof cctvSource !== 'undefined') cctvSource.clear();
+    if (typeof policeSource !== 'undefined') policeSource.clear();
+    if (typeof lightSource !== 'undefined') lightSource.clear();
+    if (typeof refreshRefinedRisk === 'function') refreshRefinedRisk();
+    if (typeof refreshFacilityClusters === 'function') refreshFacilityClusters();
+
+    const summary = job.files.map(f => f.state === 'FAILED'
+        ? `${f.type}: 실패 (${f.error})`
+        : `${f.type}: ${f.successCount}건 (실패 ${f.failCount}건, ${f.rowsPerSecond}행/초)`).join('\n');
+    alert((job.state === 'COMPLETED' ? '데이터 가져오기 완료!' : '데이터 가져오기 중 오류가 발생했습니다.')
+        + '\n\n' + summary);
+    resetImportButton();
+}
+
+function resetImportButton() {
+    if (!btnImport) return;
+    btnImport.disabled = false;
+    btnImport.innerText = IMPORT_BUTTON_TEXT;
+}
+
 // 2. 어드민 섹션 토글 로직 (숨김/표시 제어)
 const toggleAdmin = document.getElementById('toggle-admin');
 const adminSection = document.getElementById('admin-section');
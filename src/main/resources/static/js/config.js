@@ -6,6 +6,8 @@ const MapConfig = {
     VWORLD_KEY: 'CF0C7D65-44C0-31CD-A6FF-80C2E693894A',
     CENTER: [127.138868, 37.419720], // 성남시청
     ZOOM: 13,
+    // 위험도 히트맵 표시 방식: 'tile' (서버 렌더링 PNG 타일) 또는 'vector' (브라우저 ol.layer.Heatmap)
+    HEATMAP_MODE: 'tile',
 
     /**
      * 서버로부터 최신 설정을 로드합니다. (보안 및 동적 설정을 위함)
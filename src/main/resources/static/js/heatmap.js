@@ -3,12 +3,25 @@
 // ============================
 
 // 1. 데이터 소스 정의
-const refinedRiskSource = new ol.source.Vector(); // 정밀 분석 히트맵 데이터용
+const useRiskTiles = MapConfig.HEATMAP_MODE === 'tile';
+const refinedRiskSource = new ol.source.Vector(); // 정밀 분석 히트맵 데이터용 (vector 모드)
+// 서버에서 렌더링한 위험도 타일 (tile 모드, 색상은 서버 gis.map.heatmap.gradient 설정)
+const refinedRiskTileSource = new ol.source.XYZ({
+    url: '/api/tiles/risk/{z}/{x}/{y}.png'
+});
 
 // 2. 히트맵 레이어 생성 및 설정
 let refinedRiskLayer;
 try {
-    if (typeof ol.layer.Heatmap !== 'undefined') {
+    if (useRiskTiles) {
+        refinedRiskLayer = new ol.layer.Tile({
+            source: refinedRiskTileSource,
+            visible: false,
+            opacity: 0.6, // 시인성 확보를 위한 반투명 설정
+            zIndex: 6
+        });
+        if (map) map.addLayer(refinedRiskLayer);
+    } else if (typeof ol.layer.Heatmap !== 'undefined') {
         refinedRiskLayer = new ol.layer.Heatmap({
             source: refinedRiskSource,
             blur: 50,    // 정밀 맵을 위한 더 부드러운 효과
@@ -30,37 +43,111 @@ try {
     console.error("정밀 히트맵 초기화 에러:", e);
 }
 
+/**
+ * 서버의 바이너리 히트맵 그리드(RGRD)를 히트맵 포인트 피처 목록으로 변환
+ * 헤더: rows, cols, 원점(lat/lon), 간격(lat/lon), 최대 점수 / 본문: 행 우선 uint8 점수 (255 = 성남 외부)
+ */
+function decodeRiskGrid(buffer) {
+    const view = new DataView(buffer);
+    const rows = view.getInt32(8, true);
+    const cols = view.getInt32(12, true);
+    const originLat = view.getFloat64(16, true);
+    const originLon = view.getFloat64(24, true);
+    const stepLat = view.getFloat64(32, true);
+    const stepLon = view.getFloat64(40, true);
+    const maxScore = view.getFloat32(48, true);
+    const cells = new Uint8Array(buffer, 56, rows * cols);
+
+    const features = [];
+    for (let r = 0; r < rows; r++) {
+        const lat = originLat + r * stepLat;
+        for (let c = 0; c < cols; c++) {
+            const level = cells[r * cols + c];
+            if (level === 255) continue;
+            features.push(new ol.Feature({
+                geometry: new ol.geom.Point(ol.proj.fromLonLat([originLon + c * stepLon, lat])),
+                weight: level / 254 * maxScore
+            }));
+        }
+    }
+    return features;
+}
+
+// 마지막으로 불러온 영역(EPSG:3857)과 정수 줌 (vector 모드)
+let loadedRiskExtent = null;
+let loadedRiskZoom = null;
+// 늦게 도착한 이전 요청 응답은 무시하기 위한 요청 순번
+let riskRequestSeq = 0;
+
+/**
+ * 현재 화면에 맞는 해상도 레벨/영역의 히트맵 격자를 불러옴 (vector 모드)
+ * 서버는 줌에 맞는 레벨에서 요청 영역만 잘라 보내므로 화면당 데이터 크기가 줌과 관계없이 비슷함
+ * 작은 이동에는 다시 요청하지 않도록 화면보다 넓은 영역(사방 50%)을 요청함
+ */
+function loadRefinedRisk(force) {
+    if (!map || useRiskTiles || !refinedRiskLayer || !refinedRiskLayer.getVisible()) return;
+    const view = map.getView();
+    const zoom = Math.round(view.getZoom());
+    const extent = view.calculateExtent(map.getSize());
+    if (!force && zoom === loadedRiskZoom && loadedRiskExtent
+        && ol.extent.containsExtent(loadedRiskExtent, extent)) {
+        return;
+    }
+
+    const padded = ol.extent.buffer(extent, Math.max(ol.extent.getWidth(extent), ol.extent.getHeight(extent)) * 0.5);
+    const bbox = ol.proj.transformExtent(padded, view.getProjection(), 'EPSG:4326').join(',');
+    const seq = ++riskRequestSeq;
+    // 바이너리 그리드 형식으로 요청 (격자 원점/간격 + 양자화 점수 배열)
+    fetch(`/api/risks/refined-risk?z=${zoom}&bbox=${bbox}`, { headers: { 'Accept': 'application/octet-stream' } })
+        .then(res => {
+            if (!res.ok) throw new Error('HTTP ' + res.status);
+            return res.arrayBuffer();
+        })
+        .then(buffer => {
+            if (seq !== riskRequestSeq) return;
+            refinedRiskSource.clear();
+            refinedRiskSource.addFeatures(decodeRiskGrid(buffer));
+            loadedRiskExtent = padded;
+            loadedRiskZoom = zoom;
+        })
+        .catch(err => {
+            console.error("정밀 위험도 데이터 수신 에러:", err);
+        });
+}
+
 // 3. 체크박스 이벤트 리스너
 // [위험도 히트맵(정밀)] 토글
 const chkRefinedRisk = document.getElementById('chk-refined-risk');
 if (chkRefinedRisk) {
     chkRefinedRisk.addEventListener('change', function () {
         if (this.checked && refinedRiskLayer) {
-            // 데이터가 없으면 서버에서 가져옴
-            if (refinedRiskSource.getFeatures().length === 0) {
-                const url = '/api/risks/refined-risk';
-                fetch(url)
-                    .then(res => res.json())
-                    .then(data => {
-                        if (data.status === 'OK') {
-                            const features = data.result.map(p => new ol.Feature({
-                                geometry: new ol.geom.Point(ol.proj.fromLonLat([p.lon, p.lat])),
-                                weight: p.score
-                            }));
-                            refinedRiskSource.addFeatures(features);
-                        }
-                    })
-                    .catch(err => {
-                        console.error("정밀 위험도 데이터 수신 에러:", err);
-                    });
-            }
             refinedRiskLayer.setVisible(true);
+            // 화면 영역 데이터를 서버에서 가져옴 (tile 모드는 타일 소스가 직접 요청)
+            loadRefinedRisk(false);
         } else if (refinedRiskLayer) {
             refinedRiskLayer.setVisible(false);
         }
     });
 }
 
+// 줌이 바뀌거나 불러온 영역 밖으로 이동하면 해당 레벨/영역을 다시 요청
+if (map && !useRiskTiles) {
+    map.on('moveend', function () {
+        loadRefinedRisk(false);
+    });
+}
+
+/**
+ * 데이터 임포트 후 히트맵을 최신 데이터로 다시 불러오도록 초기화
+ */
+function refreshRefinedRisk() {
+    refinedRiskSource.clear();
+    loadedRiskExtent = null;
+    loadedRiskZoom = null;
+    loadRefinedRisk(true);
+    refinedRiskTileSource.refresh();
+}
+
 // 4. 줌 연동 동적 반경 조절 (확대 시 색 빠짐 및 화면 가득 참 방지)
 /**
  * 지도의 줌 레벨에 따라 히트맵의 반경(Radius)과 번짐(Blur) 효과를 유동적으로 변경
@@ -74,7 +161,7 @@ function updateHeatmapRadius() {
     const newRadius = Math.max(25, (zoom - 10) * 8);
     const newBlur = newRadius * 1.5; // 자연스러운 그라디언트를 위해 반경보다 크게 설정
 
-    if (refinedRiskLayer) {
+    if (refinedRiskLayer && !useRiskTiles) {
         refinedRiskLayer.setRadius(newRadius);
         refinedRiskLayer.setBlur(newBlur);
     }
@@ -2,10 +2,14 @@
 // 안전 시설 레이어 관리 (Vector 방식)
 // ============================
 
+// 이 줌 이하에서는 개별 시설 대신 서버 클러스터(/api/risks/clusters)를 표시
+const CLUSTER_MAX_ZOOM = 15;
+
 // 1. 데이터 소스 정의 (데이터가 담길 통)
-const cctvSource = new ol.source.Vector();
-const policeSource = new ol.source.Vector();
-const lightSource = new ol.source.Vector();
+// 레이어가 켜져 있을 때 보이는 영역(bbox)만큼만 서버에서 불러옴
+const cctvSource = createFacilitySource('CCTV');
+const policeSource = createFacilitySource('POLICE');
+const lightSource = createFacilitySource('STREET_LIGHT');
 
 // 2. 레이어 정의 (지도에 그려질 스타일 및 설정)
 // CCTV: 빨간색 원
@@ -19,6 +23,7 @@ const cctvLayer = new ol.layer.Vector({
             stroke: new ol.style.Stroke({ color: 'white', width: 2 })
         })
     }),
+    minZoom: CLUSTER_MAX_ZOOM, // 클러스터 최대 줌보다 확대했을 때만 개별 시설 표시
     zIndex: 10
 });
 
@@ -33,6 +38,7 @@ const policeLayer = new ol.layer.Vector({
             stroke: new ol.style.Stroke({ color: 'white', width: 2 })
         })
     }),
+    minZoom: CLUSTER_MAX_ZOOM, // 클러스터 최대 줌보다 확대했을 때만 개별 시설 표시
     zIndex: 11
 });
 
@@ -47,55 +53,190 @@ const lightLayer = new ol.layer.Vector({
             stroke: new ol.style.Stroke({ color: '#333', width: 1 })
         })
     }),
+    minZoom: CLUSTER_MAX_ZOOM, // 클러스터 최대 줌보다 확대했을 때만 개별 시설 표시
     zIndex: 9
 });
 
+// 축소 시 표시할 클러스터 레이어 (타입별 색상은 개별 시설 레이어와 동일)
+const cctvClusterLayer = createClusterLayer('CCTV', 'rgba(231, 76, 60, 0.8)', 10);
+const policeClusterLayer = createClusterLayer('POLICE', 'rgba(41, 128, 185, 0.9)', 11);
+const lightClusterLayer = createClusterLayer('STREET_LIGHT', 'rgba(241, 196, 15, 0.8)', 9);
+const clusterLayers = [cctvClusterLayer, policeClusterLayer, lightClusterLayer];
+
 // 지도에 레이어 추가
 if (map) {
     map.addLayer(cctvLayer);
     map.addLayer(policeLayer);
     map.addLayer(lightLayer);
+    clusterLayers.forEach(layer => map.addLayer(layer));
+
+    // 클러스터는 줌 레벨마다 묶음이 달라지므로 정수 줌이 바뀌면 다시 요청
+    let lastClusterZoom = Math.round(map.getView().getZoom());
+    map.on('moveend', function () {
+        const zoom = Math.round(map.getView().getZoom());
+        if (zoom !== lastClusterZoom) {
+            lastClusterZoom = zoom;
+            refreshFacilityClusters();
+        }
+    });
 }
 
 // 3. 데이터 로드 및 이벤트 리스너 함수
 /**
- * 서버에서 특정 타입의 안전 시설 데이터를 가져와 소스에 추가하는 함수
+ * 특정 타입의 안전 시설 데이터를 화면 영역 단위로 불러오는 소스 생성 함수
+ * 이미 불러온 영역은 다시 요청하지 않으며, 겹치는 영역의 중복 시설물은 id로 걸러짐
  */
-function loadData(type, source) {
-    // 이미 데이터를 가져왔다면 다시 요청하지 않음
-    if (source.getFeatures().length > 0) return;
-
-    const url = `/api/risks?type=${type}`;
-    fetch(url).then(res => res.json()).then(data => {
-        if (data.status === 'OK') {
-            const features = data.result.map(p => new ol.Feature({
-                geometry: new ol.geom.Point(ol.proj.fromLonLat([p.longitude, p.latitude])),
-                weight: p.weight,
-                type: p.type
-            }));
-            source.addFeatures(features);
+function createFacilitySource(type) {
+    const source = new ol.source.Vector({
+        strategy: ol.loadingstrategy.bbox,
+        loader: function (extent, resolution, projection, success, failure) {
+            const bbox = ol.proj.transformExtent(extent, projection, 'EPSG:4326').join(',');
+            loadPage(type, bbox, null, source, [], success, failure);
+        }
+    });
+    return source;
+}
+
+/**
+ * 서버에서 줌 레벨별로 묶은 클러스터를 표시하는 레이어 생성 함수
+ */
+function createClusterLayer(type, color, zIndex) {
+    const source = new ol.source.Vector({
+        strategy: ol.loadingstrategy.bbox,
+        loader: function (extent, resolution, projection, success, failure) {
+            const bbox = ol.proj.transformExtent(extent, projection, 'EPSG:4326').join(',');
+            const z = Math.round(map.getView().getZoomForResolution(resolution));
+            fetch(`/api/risks/clusters?type=${type}&z=${z}&bbox=${bbox}`)
+                .then(res => res.json())
+                .then(data => {
+                    if (data.status !== 'OK') throw new Error(data.message || data.status);
+                    const features = data.result.map(c => new ol.Feature({
+                        geometry: new ol.geom.Point(ol.proj.fromLonLat([c.lon, c.lat])),
+                        count: c.count
+                    }));
+                    source.addFeatures(features);
+                    success(features);
+                })
+                .catch(err => {
+                    console.error("시설물 클러스터 수신 에러:", err);
+                    failure();
+                });
         }
     });
+
+    // 개수별 스타일 캐시 (원 크기는 개수의 로그에 비례)
+    const styleCache = {};
+    return new ol.layer.Vector({
+        source: source,
+        visible: false,
+        maxZoom: CLUSTER_MAX_ZOOM,
+        style: function (feature) {
+            const count = feature.get('count');
+            if (!styleCache[count]) {
+                styleCache[count] = new ol.style.Style({
+                    image: new ol.style.Circle({
+                        radius: Math.min(8 + Math.log2(count) * 3, 30),
+                        fill: new ol.style.Fill({ color: color }),
+                        stroke: new ol.style.Stroke({ color: 'white', width: 2 })
+                    }),
+                    text: count > 1 ? new ol.style.Text({
+                        text: String(count),
+                        fill: new ol.style.Fill({ color: 'white' }),
+                        font: 'bold 11px sans-serif'
+                    }) : undefined
+                });
+            }
+            return styleCache[count];
+        },
+        zIndex: zIndex
+    });
+}
+
+/**
+ * 클러스터 레이어를 비우고 현재 줌/영역 기준으로 다시 불러옴
+ */
+function refreshFacilityClusters() {
+    clusterLayers.forEach(layer => layer.getSource().refresh());
+}
+
+/**
+ * 서버에서 한 페이지를 가져와 소스에 추가하고, 다음 커서가 있으면 이어서 요청하는 함수
+ */
+function loadPage(type, bbox, cursor, source, loaded, success, failure) {
+    let url = `/api/risks?type=${type}&bbox=${bbox}`;
+    if (cursor !== null) url += `&cursor=${cursor}`;
+
+    // 컬럼 단위 바이너리 형식으로 요청 (id/위도/경도/가중치/타입 배열)
+    fetch(url, { headers: { 'Accept': 'application/octet-stream' } })
+        .then(res => {
+            if (!res.ok) throw new Error('HTTP ' + res.status);
+            const next = res.headers.get('X-Next-Cursor');
+            return res.arrayBuffer().then(buffer => ({ buffer, next }));
+        })
+        .then(({ buffer, next }) => {
+            const features = decodeRiskPoints(buffer);
+            source.addFeatures(features);
+            loaded.push(...features);
+            if (next) {
+                loadPage(type, bbox, next, source, loaded, success, failure);
+            } else {
+                success(loaded);
+            }
+        })
+        .catch(err => {
+            console.error("시설물 데이터 수신 에러:", err);
+            failure();
+        });
+}
+
+// 서버 RiskType enum 선언 순서와 동일해야 함
+const RISK_TYPES = ['POLICE', 'CCTV', 'STREET_LIGHT'];
+
+/**
+ * 서버의 바이너리 시설물 목록(RPTS)을 피처 목록으로 변환
+ * 본문: float64 id[n], int32 위도[n], int32 경도[n] (1e-6도 단위), float32 가중치[n], uint8 타입[n]
+ */
+function decodeRiskPoints(buffer) {
+    const count = new DataView(buffer).getInt32(8, true);
+    let offset = 16;
+    const ids = new Float64Array(buffer, offset, count);
+    offset += count * 8;
+    const lats = new Int32Array(buffer, offset, count);
+    offset += count * 4;
+    const lons = new Int32Array(buffer, offset, count);
+    offset += count * 4;
+    const weights = new Float32Array(buffer, offset, count);
+    offset += count * 4;
+    const types = new Uint8Array(buffer, offset, count);
+
+    const features = new Array(count);
+    for (let i = 0; i < count; i++) {
+        features[i] = new ol.Feature({
+            geometry: new ol.geom.Point(ol.proj.fromLonLat([lons[i] / 1e6, lats[i] / 1e6])),
+            weight: weights[i],
+            type: RISK_TYPES[types[i]]
+        });
+        // id가 같은 피처는 소스에 한 번만 추가됨 (인접 영역 중복 방지)
+        features[i].setId(ids[i]);
+    }
+    return features;
 }
 
 /**
  * 체크박스 상태에 따라 레이어를 켜고 끄는 이벤트 설정 함수
  */
-function setupLayerListener(id, layer, type) {
+function setupLayerListener(id, layer, clusterLayer) {
     const checkbox = document.getElementById(id);
     if (checkbox) {
         checkbox.addEventListener('change', function () {
-            if (this.checked) {
-                loadData(type, layer.getSource());
-                layer.setVisible(true);
-            } else {
-                layer.setVisible(false);
-            }
+            // 레이어가 보이게 되면 소스가 현재 영역의 데이터를 자동으로 요청함 (줌에 따라 둘 중 하나만 표시)
+            layer.setVisible(this.checked);
+            clusterLayer.setVisible(this.checked);
         });
     }
 }
 
 // 레이어별 리스너 초기화
-setupLayerListener('chk-cctv', cctvLayer, 'CCTV');
-setupLayerListener('chk-police', policeLayer, 'POLICE');
-setupLayerListener('chk-light', lightLayer, 'STREET_LIGHT');
+setupLayerListener('chk-cctv', cctvLayer, cctvClusterLayer);
+setupLayerListener('chk-police', policeLayer, policeClusterLayer);
+setupLayerListener('chk-light', lightLayer, lightClusterLayer);
@@ -0,0 +1,142 @@
+package com.du.gis_project.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 실제 PostGIS에서의 공간 스키마 초기화 검증 (Docker가 없으면 건너뜀)
+ * location이 비어 있던 행이 위경도로 채워져 반경 조회에 잡히고, GiST 인덱스가 만들어져 실제로 사용되며,
+ * 다시 실행해도 안전하고, PostGIS가 없는 DB에서는 기동이 중단되어야 함
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SpatialSchemaInitializerPostgisTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    // 엔티티(RiskPoint)와 같은 컬럼 구성
+    private static final String CREATE_TABLE = "CREATE TABLE risk_points (id bigserial PRIMARY KEY, "
+            + "latitude double precision NOT NULL, longitude double precision NOT NULL, "
+            + "weight double precision NOT NULL, type varchar(255), source_key varchar(255), %s)";
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource(POSTGIS.getJdbcUrl(), POSTGIS.getUsername(),
+                POSTGIS.getPassword(), true);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS risk_points");
+        jdbc.execute(String.format(CREATE_TABLE, "location geography(Point,4326)"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void backfillsLegacyRowsAndCreatesAUsableGistIndex() {
+        // location 컬럼 추가 이전에 적재된 행 2건 + 이미 채워진 행 1건
+        jdbc.update("INSERT INTO risk_points (latitude, longitude, weight, type) VALUES (?, ?, 0.7, 'CCTV')",
+                37.4201, 127.1265);
+        jdbc.update("INSERT INTO risk_points (latitude, longitude, weight, type) VALUES (?, ?, 1.0, 'POLICE')",
+                37.3512, 127.1089);
+        jdbc.update("INSERT INTO risk_points (latitude, longitude, weight, type, location) VALUES (37.5, 127.0, "
+                + "0.4, 'STREET_LIGHT', CAST(ST_SetSRID(ST_MakePoint(127.0, 37.5), 4326) AS geography))");
+
+        new SpatialSchemaInitializer(jdbc).run(null);
+
+        assertEquals(0, count("SELECT count(*) FROM risk_points WHERE location IS NULL"));
+        List<double[]> mismatched = jdbc.query("SELECT latitude, longitude, ST_Y(location::geometry) AS y, "
+                + "ST_X(location::geometry) AS x FROM risk_points", (rs, i) -> new double[] {
+                        rs.getDouble("latitude") - rs.getDouble("y"), rs.getDouble("longitude") - rs.getDouble("x") })
+                .stream().filter(d -> Math.abs(d[0]) > 1e-9 || Math.abs(d[1]) > 1e-9).toList();
+        assertTrue(mismatched.isEmpty(), mismatched.size() + " rows do not match latitude/longitude");
+
+        // 채운 행이 반경 조회(ST_DWithin)에 잡힘
+        assertEquals(1, count("SELECT count(*) FROM risk_points WHERE ST_DWithin(location, "
+                + "CAST(ST_SetSRID(ST_MakePoint(127.1265, 37.4201), 4326) AS geography), 50)"));
+
+        String indexDef = jdbc.queryForObject("SELECT indexdef FROM pg_indexes WHERE tablename = 'risk_points' "
+                + "AND indexname = 'idx_risk_points_location'", String.class);
+        assertTrue(indexDef.contains("USING gist (location)"), indexDef);
+
+        // 순차 탐색을 끄면 반경 조회가 GiST 인덱스를 사용 (같은 연결이므로 SET이 유지됨)
+        jdbc.execute("SET enable_seqscan = off");
+        String plan = String.join("\n", jdbc.queryForList("EXPLAIN SELECT * FROM risk_points WHERE ST_DWithin("
+                + "location, CAST(ST_SetSRID(ST_MakePoint(127.1, 37.4), 4326) AS geography), 1000)", String.class));
+        assertTrue(plan.contains("idx_risk_points_location"), plan);
+    }
+
+    @Test
+    void runningAgainIsANoOp() {
+        jdbc.update("INSERT INTO risk_points (latitude, longitude, weight, type) "
+                + "VALUES (37.42, 127.12, 0.7, 'CCTV')");
+
+        new SpatialSchemaInitializer(jdbc).run(null);
+        new SpatialSchemaInitializer(jdbc).run(null);
+
+        assertEquals(1, count("SELECT count(*) FROM pg_indexes WHERE tablename = 'risk_points' "
+                + "AND indexdef LIKE '%USING gist (location)%'"));
+        assertEquals(0, count("SELECT count(*) FROM risk_points WHERE location IS NULL"));
+    }
+
+    @Test
+    void databaseWithoutPostgisStopsStartup() {
+        // 확장이 없는 새 DB (template0에는 postgis가 설치되어 있지 않음)
+        jdbc.execute("DROP DATABASE IF EXISTS plain");
+        jdbc.execute("CREATE DATABASE plain TEMPLATE template0");
+        String plainUrl = String.format("jdbc:postgresql://%s:%d/plain", POSTGIS.getHost(),
+                POSTGIS.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT));
+        SingleConnectionDataSource plain = new SingleConnectionDataSource(plainUrl, POSTGIS.getUsername(),
+                POSTGIS.getPassword(), true);
+        try {
+            JdbcTemplate plainJdbc = new JdbcTemplate(plain);
+            plainJdbc.execute(String.format(CREATE_TABLE, "location bytea"));
+            plainJdbc.update("INSERT INTO risk_points (latitude, longitude, weight, type) "
+                    + "VALUES (37.42, 127.12, 0.7, 'CCTV')");
+
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> new SpatialSchemaInitializer(plainJdbc).run(null));
+            assertTrue(e.getMessage().contains("PostGIS"), e.getMessage());
+            // 원인(드라이버 오류)이 그대로 남아 있어야 로그에서 어떤 객체가 없는지 알 수 있음
+            assertInstanceOf(DataAccessException.class, e.getCause());
+            Throwable root = e;
+            while (root.getCause() != null) {
+                root = root.getCause();
+            }
+            assertTrue(root.getMessage().contains("does not exist"), root.getMessage());
+            // 채우기에서 중단되어 인덱스도 만들어지지 않음
+            assertEquals(0, count(plainJdbc, "SELECT count(*) FROM pg_indexes "
+                    + "WHERE indexname = 'idx_risk_points_location'"));
+        } finally {
+            plain.destroy();
+        }
+    }
+
+    private long count(String sql) {
+        return count(jdbc, sql);
+    }
+
+    private static long count(JdbcTemplate jdbc, String sql) {
+        return jdbc.queryForObject(sql, Long.class);
+    }
+}
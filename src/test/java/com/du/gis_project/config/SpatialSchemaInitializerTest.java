@@ -0,0 +1,93 @@
+package com.du.gis_project.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 공간 스키마 초기화 검증: location 채우기/GiST 인덱스 생성 실패는 DB 오류를 원인으로 담은 기동 실패로 이어져야 함
+ * (실제 PostGIS에서의 동작은 SpatialSchemaInitializerPostgisTest)
+ */
+class SpatialSchemaInitializerTest {
+
+    @Test
+    void backfillsLocationThenCreatesIndex() {
+        RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate(null);
+        new SpatialSchemaInitializer(jdbc).run(null);
+
+        assertEquals(2, jdbc.statements.size());
+        assertTrue(jdbc.statements.get(0).startsWith("UPDATE risk_points"));
+        assertTrue(jdbc.statements.get(1).contains("USING GIST (location)"));
+    }
+
+    @Test
+    void backfillFailureStopsStartup() {
+        RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate("UPDATE");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new SpatialSchemaInitializer(jdbc).run(null));
+        assertTrue(e.getMessage().contains("PostGIS"));
+        // DB 오류가 원인으로 남고 메시지에도 포함됨
+        assertSame(jdbc.failure, e.getCause());
+        assertTrue(e.getMessage().contains("type \"geography\" does not exist"), e.getMessage());
+        // 채우기에 실패하면 인덱스 생성으로 넘어가지 않음
+        assertEquals(1, jdbc.statements.size());
+    }
+
+    @Test
+    void indexCreationFailureStopsStartup() {
+        RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate("CREATE INDEX");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new SpatialSchemaInitializer(jdbc).run(null));
+        assertSame(jdbc.failure, e.getCause());
+        assertEquals(2, jdbc.statements.size());
+    }
+
+    /**
+     * 실행한 SQL을 기록하고, failOn으로 시작하는 문장은 실패시키는 JdbcTemplate
+     */
+    private static final class RecordingJdbcTemplate extends JdbcTemplate {
+        final List<String> statements = new ArrayList<>();
+        private final String failOn;
+        DataAccessException failure;
+
+        RecordingJdbcTemplate(String failOn) {
+            this.failOn = failOn;
+        }
+
+        @Override
+        public int update(String sql) {
+            record(sql);
+            return 0;
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            record(sql);
+            return 0;
+        }
+
+        @Override
+        public void execute(String sql) {
+            record(sql);
+        }
+
+        private void record(String sql) {
+            statements.add(sql);
+            if (failOn != null && sql.startsWith(failOn)) {
+                failure = new DataAccessException("ERROR: type \"geography\" does not exist") {
+                };
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.du.gis_project.controller;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.entity.RiskPoint;
+import com.du.gis_project.domain.entity.RiskType;
+import com.du.gis_project.repository.InMemoryRiskPointRepository;
+import com.du.gis_project.service.RiskDataChangedEvent;
+import com.du.gis_project.service.RiskPointChange;
+import com.du.gis_project.service.RiskResponseCache;
+import com.du.gis_project.service.RiskService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 시설물 목록 페이지 조회 검증: limit/cursor만 보내면 영역 조건 없이 전체 테이블을 id 순서로 빠짐없이 넘기고,
+ * 180도 이상으로 넓은 영역은 geography 사각형 조건 없이 조회해야 함.
+ * 조건부 요청 검증: 데이터 버전이 같으면 If-None-Match에 304로 답하고, gzip은 Accept-Encoding이 허용할 때만 보내며,
+ * 데이터가 바뀌면 ETag가 바뀌어야 함
+ */
+class RiskApiControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<RiskPoint> table = facilities(2503);
+    private final RiskResponseCache responseCache = new RiskResponseCache();
+    private final RiskApiController controller = controller(table);
+
+    @Test
+    void pagesThroughTheWholeTableWithOnlyLimit() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = get(null, 700, cursor);
+            assertTrue(page.get("result").size() <= 700);
+            page.get("result").forEach(item -> ids.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asLong();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(allIds(), ids);
+        assertEquals(4, pages);
+    }
+
+    @Test
+    void cursorAloneContinuesAfterThatId() throws IOException {
+        long after = allIds().get(999);
+        JsonNode page = get(null, null, after);
+
+        assertEquals(allIds().get(1000).longValue(), page.get("result").get(0).get("id").asLong());
+        assertEquals(table.size() - 1000, page.get("result").size());
+        assertTrue(page.get("nextCursor").isNull());
+    }
+
+    @Test
+    void worldWideAndOutOfRangeBboxesReturnEveryRow() throws IOException {
+        for (String bbox : new String[] { "-180,-90,180,90", "-200,-100,200,100", "-179,-10,1,10" }) {
+            JsonNode page = get(bbox, 20000, null);
+            List<Long> ids = new ArrayList<>();
+            page.get("result").forEach(item -> ids.add(item.get("id").asLong()));
+            assertEquals(expectedIds(bbox), ids, bbox);
+        }
+    }
+
+    @Test
+    void cityBboxOnlyReturnsRowsInside() throws IOException {
+        String bbox = "127.05,37.33,127.18,37.49";
+        JsonNode page = get(bbox, 20000, null);
+
+        assertEquals(expectedIds(bbox).size(), page.get("result").size());
+        assertTrue(page.get("result").size() < table.size());
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWith304() throws IOException {
+        ResponseEntity<?> first = request(null, null);
+        String etag = first.getHeaders().getETag();
+        assertTrue(etag.startsWith("\"risks-") && etag.endsWith("-json\""), etag);
+        assertEquals("no-cache", first.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL));
+
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        assertNull(request(etag, null, servletResponse));
+        assertEquals(304, servletResponse.getStatus());
+        assertEquals(etag, servletResponse.getHeader(HttpHeaders.ETAG));
+
+        // 다른 표현(gzip)의 ETag로는 304가 아님
+        ResponseEntity<?> gzipped = request(null, "gzip");
+        assertNotEquals(etag, gzipped.getHeaders().getETag());
+        assertEquals(200, request(gzipped.getHeaders().getETag(), null).getStatusCode().value());
+    }
+
+    @Test
+    void gzipIsSentOnlyWhenAcceptEncodingAllowsIt() throws IOException {
+        byte[] identity = (byte[]) request(null, null).getBody();
+        for (String acceptEncoding : new String[] { "gzip", "deflate, gzip;q=0.5", "*", "br;q=1.0, GZIP" }) {
+            ResponseEntity<?> response = request(null, acceptEncoding);
+            assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), acceptEncoding);
+            assertTrue(response.getHeaders().getETag().endsWith("-gz\""), acceptEncoding);
+            assertArrayEquals(identity, gunzip((byte[]) response.getBody()));
+        }
+        for (String acceptEncoding : new String[] { "identity", "deflate, br", "gzip;q=0", "*;q=0" }) {
+            ResponseEntity<?> response = request(null, acceptEncoding);
+            assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), acceptEncoding);
+            assertArrayEquals(identity, (byte[]) response.getBody());
+        }
+        assertTrue(request(null, null).getHeaders().get(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void dataChangeBumpsTheEtag() throws IOException {
+        String before = request(null, null).getHeaders().getETag();
+
+        // 변경 없는 델타 임포트는 버전을 올리지 않음
+        responseCache.onRiskDataChanged(new RiskDataChangedEvent("import", List.of()));
+        assertEquals(304, conditionalStatus(before));
+
+        responseCache.onRiskDataChanged(new RiskDataChangedEvent("admin",
+                List.of(RiskPointChange.inserted(table.get(0)))));
+        assertEquals(200, conditionalStatus(before));
+        String after = request(null, null).getHeaders().getETag();
+        assertNotEquals(before, after);
+        assertEquals(304, conditionalStatus(after));
+    }
+
+    private int conditionalStatus(String ifNoneMatch) {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ResponseEntity<?> response = request(ifNoneMatch, null, servletResponse);
+        return response == null ? servletResponse.getStatus() : response.getStatusCode().value();
+    }
+
+    private ResponseEntity<?> request(String ifNoneMatch, String acceptEncoding) {
+        return request(ifNoneMatch, acceptEncoding, new MockHttpServletResponse());
+    }
+
+    private ResponseEntity<?> request(String ifNoneMatch, String acceptEncoding,
+            MockHttpServletResponse servletResponse) {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/risks");
+        if (ifNoneMatch != null) {
+            servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return controller.getRisks(new ServletWebRequest(servletRequest, servletResponse), null, null, null, null,
+                null, null, 20000, null, null, acceptEncoding);
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private JsonNode get(String bbox, Integer limit, Long cursor) throws IOException {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/risks"),
+                new MockHttpServletResponse());
+        ResponseEntity<?> response = controller.getRisks(request, null, bbox, null, null, null, null, limit, cursor,
+                null, null);
+        assertEquals(200, response.getStatusCode().value());
+        return objectMapper.readTree((byte[]) response.getBody());
+    }
+
+    private List<Long> allIds() {
+        return expectedIds("-180,-90,180,90");
+    }
+
+    private List<Long> expectedIds(String bbox) {
+        String[] parts = bbox.split(",");
+        double minLon = Double.parseDouble(parts[0]);
+        double minLat = Double.parseDouble(parts[1]);
+        double maxLon = Double.parseDouble(parts[2]);
+        double maxLat = Double.parseDouble(parts[3]);
+        List<Long> ids = new ArrayList<>();
+        for (RiskPoint p : table) {
+            if (p.getLatitude() >= minLat && p.getLatitude() <= maxLat
+                    && p.getLongitude() >= minLon && p.getLongitude() <= maxLon) {
+                ids.add(p.getId());
+            }
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private RiskApiController controller(List<RiskPoint> rows) {
+        GisConfig config = new GisConfig();
+        RiskService riskService = new RiskService(InMemoryRiskPointRepository.of(rows), null, null, objectMapper,
+                config);
+        return new RiskApiController(null, riskService, null, null, null, config, responseCache, objectMapper,
+                new SimpleMeterRegistry());
+    }
+
+    // 성남시 안팎의 시설물과 다른 반구의 시설물 (id는 삽입 순서와 다르게 섞음)
+    private static List<RiskPoint> facilities(int count) {
+        Random random = new Random(6);
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            ids.add(id * 3);
+        }
+        Collections.shuffle(ids, random);
+        RiskType[] types = RiskType.values();
+        List<RiskPoint> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            double lat;
+            double lon;
+            if (i % 10 == 0) {
+                lat = -60 + random.nextDouble() * 120;
+                lon = -179.5 + random.nextDouble() * 359;
+            } else {
+                lat = 37.30 + random.nextDouble() * 0.22;
+                lon = 127.02 + random.nextDouble() * 0.19;
+            }
+            RiskPoint p = new RiskPoint(lat, lon, 1.0, types[i % types.length]);
+            p.setId(ids.get(i));
+            rows.add(p);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,61 @@
+package com.du.gis_project.repository;
+
+import com.du.gis_project.domain.entity.RiskPoint;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 테스트/벤치마크 공용 RiskPointRepository
+ *
+ * rows가 돌려주는 목록을 risk_points 테이블로 보고 findAll과 id 순서 페이지 조회(findPage, findInRange,
+ * findInEnvelope)를 SQL과 같은 조건으로 처리합니다. (그 외 메서드는 UnsupportedOperationException)
+ * rows는 호출마다 실행되므로 조회 시점에 맞춰 다른 목록을 돌려주거나 조회 전후 작업을 끼워 넣을 수 있습니다.
+ */
+public final class InMemoryRiskPointRepository {
+
+    private InMemoryRiskPointRepository() {
+    }
+
+    public static RiskPointRepository of(List<RiskPoint> rows) {
+        return of(() -> rows);
+    }
+
+    public static RiskPointRepository of(Supplier<List<RiskPoint>> rows) {
+        return (RiskPointRepository) Proxy.newProxyInstance(RiskPointRepository.class.getClassLoader(),
+                new Class<?>[] { RiskPointRepository.class }, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("findAll") && method.getParameterCount() == 0) {
+                        return new ArrayList<>(rows.get());
+                    }
+                    if (name.equals("findPage")) {
+                        return page(rows.get(), (String) args[0], null, (Long) args[1], (Integer) args[2]);
+                    }
+                    if (name.equals("findInRange") || name.equals("findInEnvelope")) {
+                        double[] bounds = { (Double) args[1], (Double) args[2], (Double) args[3], (Double) args[4] };
+                        if (name.equals("findInEnvelope")
+                                && (bounds[1] - bounds[0] >= 180 || bounds[3] - bounds[2] >= 180)) {
+                            // geography 사각형이 영역과 달라지는 폭: 실제 DB에서는 결과가 빠질 수 있음
+                            throw new IllegalArgumentException("envelope must be narrower than 180 degrees");
+                        }
+                        return page(rows.get(), (String) args[0], bounds, (Long) args[5], (Integer) args[6]);
+                    }
+                    throw new UnsupportedOperationException(name);
+                });
+    }
+
+    // WHERE type/영역 AND id > cursor ORDER BY id LIMIT limit
+    private static List<RiskPoint> page(List<RiskPoint> rows, String type, double[] bounds, long cursor, int limit) {
+        return rows.stream()
+                .filter(p -> type == null || p.getType().name().equals(type))
+                .filter(p -> bounds == null || (p.getLatitude() >= bounds[0] && p.getLatitude() <= bounds[1]
+                        && p.getLongitude() >= bounds[2] && p.getLongitude() <= bounds[3]))
+                .filter(p -> p.getId() > cursor)
+                .sorted(Comparator.comparing(RiskPoint::getId))
+                .limit(limit)
+                .toList();
+    }
+}
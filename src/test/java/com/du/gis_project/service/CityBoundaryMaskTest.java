@@ -0,0 +1,90 @@
+package com.du.gis_project.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 성남 구역 마스크 검증: 래스터로 미리 분류한 판정과 격자 마스크가 중심점 거리를 모두 계산하는 판정과
+ * 표본 격자 전체 및 경계를 가로지르는 촘촘한 선 위에서 한 점도 다르지 않아야 함
+ */
+class CityBoundaryMaskTest {
+
+    private final CityBoundaryMask mask = new CityBoundaryMask();
+
+    @Test
+    void rasterMatchesExactDistanceOnASampleGrid() {
+        int inside = 0;
+        int samples = 0;
+        // 래스터 범위보다 넓은 영역을 래스터 칸(100m)과 어긋나는 간격으로 표본 추출
+        for (double lat = 37.28; lat <= 37.52; lat += 0.00037) {
+            for (double lon = 127.00; lon <= 127.24; lon += 0.00043) {
+                boolean expected = CityBoundaryMask.containsExact(lat, lon);
+                assertEquals(expected, mask.contains(lat, lon), lat + "," + lon);
+                inside += expected ? 1 : 0;
+                samples++;
+            }
+        }
+        // 표본이 안팎을 모두 충분히 포함해야 의미가 있음
+        assertTrue(inside > samples / 10 && inside < samples * 9 / 10, inside + "/" + samples);
+    }
+
+    @Test
+    void rasterMatchesExactDistanceAcrossTheBoundary() {
+        // 동서/남북 방향으로 약 0.1m 간격 선을 그어 경계 칸 안의 전환 지점까지 비교
+        int transitions = 0;
+        boolean previous = false;
+        for (double lon = 127.00; lon <= 127.24; lon += 0.000001) {
+            boolean expected = CityBoundaryMask.containsExact(37.441, lon);
+            assertEquals(expected, mask.contains(37.441, lon), "37.441," + lon);
+            transitions += expected != previous ? 1 : 0;
+            previous = expected;
+        }
+        previous = false;
+        for (double lat = 37.30; lat <= 37.50; lat += 0.000001) {
+            boolean expected = CityBoundaryMask.containsExact(lat, 127.115);
+            assertEquals(expected, mask.contains(lat, 127.115), lat + ",127.115");
+            transitions += expected != previous ? 1 : 0;
+            previous = expected;
+        }
+        assertTrue(transitions >= 4, "transitions " + transitions);
+    }
+
+    @Test
+    void farAwayPointsAreOutside() {
+        assertFalse(mask.contains(37.5665, 126.9780));
+        assertFalse(mask.contains(35.1796, 129.0756));
+        assertFalse(mask.contains(-37.441, -127.140));
+        assertTrue(mask.contains(37.441, 127.140));
+    }
+
+    @Test
+    void gridMaskMatchesContainsAndIsReusedForTheSameAxes() {
+        double[] lats = axis(37.33, 0.00067, 240);
+        double[] lons = axis(127.05, 0.00085, 160);
+
+        BitSet grid = mask.gridMask(lats, lons);
+        for (int r = 0; r < lats.length; r++) {
+            for (int c = 0; c < lons.length; c++) {
+                assertEquals(CityBoundaryMask.containsExact(lats[r], lons[c]), grid.get(r * lons.length + c),
+                        r + "," + c);
+            }
+        }
+        assertSame(grid, mask.gridMask(lats.clone(), lons.clone()));
+        assertNotSame(grid, mask.gridMask(axis(37.33, 0.00067, 239), lons));
+    }
+
+    private static double[] axis(double origin, double step, int count) {
+        double[] axis = new double[count];
+        for (int i = 0; i < count; i++) {
+            axis[i] = origin + i * step;
+        }
+        return axis;
+    }
+}
@@ -0,0 +1,272 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.entity.RiskPoint;
+import com.du.gis_project.domain.entity.RiskType;
+import com.du.gis_project.repository.RiskPointBulkWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 증분(delta) 적재 검증: 기준 CSV를 적재한 뒤 바뀐 CSV를 다시 적재하면 자연 키로 행을 맞춰
+ * 정확히 추가/수정/삭제된 행만 RiskPointChange로 반환하고 테이블에 반영해야 함
+ * (같은 키가 여러 번 나오는 행, 좌표 키, 키가 없는 이전 데이터 포함)
+ */
+class CsvImportServiceTest {
+
+    private Path dataDir;
+    private TableJdbcTemplate table;
+    private CsvImportService service;
+    private final List<RiskDataChangedEvent> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("gis-import-test-");
+        GisConfig config = new GisConfig();
+        config.getImport().setMode("delta");
+        config.getImport().setBulkMode(RiskPointBulkWriter.MODE_BATCH);
+        config.getImport().setBatchSize(2);
+        config.getImport().setDataLocation(dataDir.toUri().toString());
+        table = new TableJdbcTemplate();
+        service = new CsvImportService(new RiskPointBulkWriter(table, null, config), config, null,
+                event -> events.add((RiskDataChangedEvent) event), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dataDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dataDir);
+    }
+
+    @Test
+    void naturalKeyDiffInsertsUpdatesAndDeletes() throws IOException {
+        writeCsv("cctv.csv", "관리번호,위도,경도",
+                "A-1,37.40,127.10",
+                "A-2,37.41,127.11",
+                "A-3,37.42,127.12",
+                // 같은 관리번호가 다시 나오면 A-3#2
+                "A-3,37.43,127.13");
+        assertEquals(List.of("INSERT 37.4,127.1", "INSERT 37.41,127.11", "INSERT 37.42,127.12",
+                "INSERT 37.43,127.13"), describe(importType(RiskType.CCTV)));
+        Map<String, RiskPoint> baseline = table.rowsByKey(RiskType.CCTV);
+        assertEquals(List.of("A-1", "A-2", "A-3", "A-3#2"), new ArrayList<>(baseline.keySet()));
+
+        writeCsv("cctv.csv", "관리번호,위도,경도",
+                "A-2,37.41,127.11",
+                "A-1,37.405,127.10",
+                "A-3,37.42,127.12",
+                "A-4,37.44,127.14");
+        List<RiskPointChange> changes = importType(RiskType.CCTV);
+
+        assertEquals(List.of("DELETE 37.43,127.13", "INSERT 37.44,127.14", "UPDATE 37.4,127.1 -> 37.405,127.1"),
+                describe(changes));
+        Map<String, RiskPoint> rows = table.rowsByKey(RiskType.CCTV);
+        assertEquals(List.of("A-1", "A-2", "A-3", "A-4"), new ArrayList<>(rows.keySet()));
+        // 수정/유지된 행은 id를 그대로 유지
+        assertEquals(baseline.get("A-1").getId(), rows.get("A-1").getId());
+        assertEquals(37.405, rows.get("A-1").getLatitude());
+        assertEquals(baseline.get("A-2").getId(), rows.get("A-2").getId());
+        assertEquals(baseline.get("A-3").getId(), rows.get("A-3").getId());
+        assertEquals(0.7, rows.get("A-4").getWeight());
+        assertEquals(changes, events.get(events.size() - 1).getChanges());
+    }
+
+    @Test
+    void unchangedFileProducesNoChanges() throws IOException {
+        writeCsv("cctv.csv", "관리번호,위도,경도", "A-1,37.40,127.10", "A-2,37.41,127.11");
+        importType(RiskType.CCTV);
+        Map<String, RiskPoint> baseline = table.rowsByKey(RiskType.CCTV);
+
+        assertEquals(List.of(), importType(RiskType.CCTV));
+        assertEquals(baseline.keySet(), table.rowsByKey(RiskType.CCTV).keySet());
+        assertEquals(0, table.writes);
+    }
+
+    @Test
+    void coordinateKeysTreatMovesAsDeleteAndInsert() throws IOException {
+        // police.csv: 0 = 경도, 1 = 위도, 키 컬럼 없음 → 좌표(1e-7도)가 키
+        writeCsv("police.csv", "경도,위도,이름",
+                "127.10,37.40,A",
+                "127.10,37.40,B",
+                "127.11,37.41,C",
+                "127.12,37.42,D");
+        importType(RiskType.POLICE);
+        assertEquals(List.of("@374000000,1271000000", "@374000000,1271000000#2", "@374100000,1271100000",
+                "@374200000,1271200000"), new ArrayList<>(table.rowsByKey(RiskType.POLICE).keySet()));
+
+        writeCsv("police.csv", "경도,위도,이름",
+                "127.10,37.40,A",
+                "127.11,37.41,C",
+                "127.125,37.42,D");
+        List<RiskPointChange> changes = importType(RiskType.POLICE);
+
+        // 같은 좌표 두 행 중 하나가 빠지면 뒤쪽(#2)이 삭제됨
+        assertEquals(List.of("DELETE 37.4,127.1", "DELETE 37.42,127.12", "INSERT 37.42,127.125"),
+                describe(changes));
+        assertEquals(List.of("@374000000,1271000000", "@374100000,1271100000", "@374200000,1271250000"),
+                new ArrayList<>(table.rowsByKey(RiskType.POLICE).keySet()));
+    }
+
+    @Test
+    void rowsStoredWithoutKeysAreReplaced() throws IOException {
+        // 자연 키 도입 전 데이터 (source_key = NULL) → "id:{id}"로 읽혀 어떤 파일 행과도 맞지 않음
+        table.insert(new RiskPoint(37.40, 127.10, 0.7, RiskType.CCTV, null));
+        table.insert(new RiskPoint(37.50, 127.20, 0.7, RiskType.CCTV, null));
+        table.insert(new RiskPoint(37.45, 127.15, 1.0, RiskType.POLICE, null));
+        writeCsv("cctv.csv", "관리번호,위도,경도", "A-1,37.40,127.10");
+
+        List<RiskPointChange> changes = importType(RiskType.CCTV);
+
+        assertEquals(List.of("DELETE 37.4,127.1", "DELETE 37.5,127.2", "INSERT 37.4,127.1"), describe(changes));
+        assertEquals(List.of("A-1"), new ArrayList<>(table.rowsByKey(RiskType.CCTV).keySet()));
+        // 다른 타입의 행은 건드리지 않음
+        assertEquals(1, table.rowsByKey(RiskType.POLICE).size());
+        assertNull(table.rowsByKey(RiskType.POLICE).values().iterator().next().getSourceKey());
+    }
+
+    @Test
+    void emptyFileDeletesEveryRowOfTheType() throws IOException {
+        writeCsv("cctv.csv", "관리번호,위도,경도", "A-1,37.40,127.10", "A-2,37.41,127.11");
+        importType(RiskType.CCTV);
+        writeCsv("cctv.csv");
+
+        assertEquals(List.of("DELETE 37.4,127.1", "DELETE 37.41,127.11"), describe(importType(RiskType.CCTV)));
+        assertEquals(0, table.rowsByKey(RiskType.CCTV).size());
+    }
+
+    private List<RiskPointChange> importType(RiskType type) {
+        table.writes = 0;
+        return service.importType(type, new ImportProgress(type));
+    }
+
+    private void writeCsv(String name, String... lines) throws IOException {
+        Files.writeString(dataDir.resolve(name), lines.length == 0 ? "" : String.join("\n", lines) + "\n",
+                StandardCharsets.UTF_8);
+    }
+
+    // 종류별로 정렬한 "KIND 위도,경도 [-> 위도,경도]" 목록
+    private static List<String> describe(List<RiskPointChange> changes) {
+        List<String> result = new ArrayList<>();
+        for (RiskPointChange c : changes) {
+            switch (c.getKind()) {
+                case INSERT -> result.add("INSERT " + c.getNewLat() + "," + c.getNewLon());
+                case DELETE -> result.add("DELETE " + c.getOldLat() + "," + c.getOldLon());
+                default -> result.add("UPDATE " + c.getOldLat() + "," + c.getOldLon() + " -> " + c.getNewLat()
+                        + "," + c.getNewLon());
+            }
+        }
+        result.sort(Comparator.naturalOrder());
+        return result;
+    }
+
+    /**
+     * risk_points 테이블을 메모리에 두고 RiskPointBulkWriter(batch 모드)가 보내는 SQL만 처리하는 JdbcTemplate
+     */
+    private static final class TableJdbcTemplate extends JdbcTemplate {
+        private final Map<Long, RiskPoint> rows = new TreeMap<>();
+        private long nextId = 1;
+        int writes;
+
+        void insert(RiskPoint p) {
+            p.setId(nextId++);
+            rows.put(p.getId(), p);
+        }
+
+        // 자연 키(없으면 id:{id}) 순서로 정렬한 해당 타입의 행
+        Map<String, RiskPoint> rowsByKey(RiskType type) {
+            Map<String, RiskPoint> result = new TreeMap<>();
+            for (RiskPoint p : rows.values()) {
+                if (p.getType() == type) {
+                    result.put(p.getSourceKey() != null ? p.getSourceKey() : "id:" + p.getId(), p);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (!sql.equals("DELETE FROM risk_points WHERE type = ?")) {
+                throw new UnsupportedOperationException(sql);
+            }
+            writes++;
+            int before = rows.size();
+            rows.values().removeIf(p -> p.getType().name().equals(args[0]));
+            return before - rows.size();
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batch) {
+            writes++;
+            for (Object[] a : batch) {
+                if (sql.startsWith("INSERT INTO risk_points")) {
+                    insert(new RiskPoint((Double) a[0], (Double) a[1], (Double) a[2],
+                            RiskType.valueOf((String) a[3]), (String) a[4]));
+                } else if (sql.startsWith("UPDATE risk_points")) {
+                    RiskPoint p = rows.get((Long) a[5]);
+                    RiskPoint updated = new RiskPoint((Double) a[0], (Double) a[1], (Double) a[2], p.getType(),
+                            p.getSourceKey());
+                    updated.setId(p.getId());
+                    rows.put(p.getId(), updated);
+                } else if (sql.equals("DELETE FROM risk_points WHERE id = ?")) {
+                    rows.remove((Long) a[0]);
+                } else {
+                    throw new UnsupportedOperationException(sql);
+                }
+            }
+            return new int[batch.size()];
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            if (!sql.startsWith("SELECT id, latitude, longitude, weight, source_key FROM risk_points WHERE type = ?")) {
+                throw new UnsupportedOperationException(sql);
+            }
+            try {
+                for (RiskPoint p : new ArrayList<>(rows.values())) {
+                    if (p.getType().name().equals(args[0])) {
+                        rch.processRow(resultSet(p));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static ResultSet resultSet(RiskPoint p) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] { ResultSet.class }, (proxy, method, args) -> switch (args[0] + "") {
+                        case "id" -> p.getId();
+                        case "latitude" -> p.getLatitude();
+                        case "longitude" -> p.getLongitude();
+                        case "weight" -> p.getWeight();
+                        case "source_key" -> p.getSourceKey();
+                        default -> throw new UnsupportedOperationException(method.getName() + " " + args[0]);
+                    });
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.entity.GeocodeCacheEntry;
+import com.du.gis_project.repository.GeocodeCacheStore;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 일괄 지오코딩 검증: 영구 캐시 재사용, 재시도, 동시 호출 수 제한, 초당 호출 수 제한
+ * (주소별 응답/지연/오류를 조절할 수 있는 로컬 스텁 지오코더와 메모리 캐시 저장소 사용)
+ */
+class GeocodingServiceTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    // 주소별 남은 503 응답 횟수
+    private final Map<String, AtomicInteger> failuresLeft = new ConcurrentHashMap<>();
+    private volatile long delayMs;
+    private GisConfig config;
+    private InMemoryCacheStore store;
+    private final List<GeocodingService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/req/address", this::handle);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        config = new GisConfig();
+        config.getVworld().setKey("test-key");
+        config.getVworld().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        config.getVworld().getHttp().setFailureThreshold(1000);
+        GisConfig.Import.Geocode geocode = config.getImport().getGeocode();
+        geocode.setRatePerSecond(1000);
+        geocode.setBurst(1000);
+        geocode.setInitialBackoff(Duration.ofMillis(10));
+        geocode.setMaxBackoff(Duration.ofMillis(50));
+        store = new InMemoryCacheStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(GeocodingService::shutdown);
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void reimportIsServedFromPersistentCache() {
+        List<String> addresses = addresses(30);
+
+        Map<String, double[]> first = newService().geocodeAll(addresses);
+        // 새 서비스 인스턴스(재기동)에서도 같은 저장소를 사용하면 외부 호출 없음
+        Map<String, double[]> second = newService().geocodeAll(addresses);
+
+        assertEquals(30, first.size());
+        assertEquals(30, second.size());
+        assertEquals(30, requestCount.get());
+        assertEquals(30, store.entries.size());
+        assertEquals(first.get("삼평동 3")[1], second.get("삼평동 3")[1]);
+    }
+
+    @Test
+    void duplicateAndSpacedAddressesAreLookedUpOnce() {
+        Map<String, double[]> result = newService().geocodeAll(List.of("삼평동  1", " 삼평동 1", "삼평동 1 "));
+
+        assertEquals(1, result.size());
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void transientErrorsAreRetriedWithBackoff() {
+        failuresLeft.put("삼평동 1", new AtomicInteger(2));
+
+        Map<String, double[]> result = newService().geocodeAll(List.of("삼평동 1"));
+
+        assertEquals(1, result.size());
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    void addressesThatKeepFailingAreNotCached() {
+        config.getImport().getGeocode().setMaxAttempts(2);
+        failuresLeft.put("삼평동 1", new AtomicInteger(100));
+
+        Map<String, double[]> result = newService().geocodeAll(List.of("삼평동 1", "삼평동 2"));
+
+        assertEquals(1, result.size());
+        assertEquals(3, requestCount.get());
+        assertFalse(store.entries.containsKey("삼평동 1"));
+        assertTrue(store.entries.containsKey("삼평동 2"));
+    }
+
+    @Test
+    void notFoundResultsAreCachedNegatively() {
+        List<String> addresses = List.of("없는주소 1");
+
+        Map<String, double[]> first = newService().geocodeAll(addresses);
+        Map<String, double[]> second = newService().geocodeAll(addresses);
+
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        assertEquals(1, requestCount.get());
+        assertFalse(store.entries.get("없는주소 1").isFound());
+    }
+
+    @Test
+    void expiredNegativeEntriesAreLookedUpAgain() {
+        store.entries.put("없는주소 1", new GeocodeCacheEntry("없는주소 1", null, null, false,
+                Instant.now().minus(Duration.ofDays(30))));
+
+        newService().geocodeAll(List.of("없는주소 1"));
+
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void inFlightRequestsAreBounded() {
+        config.getImport().getGeocode().setMaxConcurrent(4);
+        delayMs = 50;
+
+        Map<String, double[]> result = newService().geocodeAll(addresses(24));
+
+        assertEquals(24, result.size());
+        assertTrue(maxInFlight.get() <= 4, "max in flight " + maxInFlight.get());
+        assertTrue(maxInFlight.get() > 1, "max in flight " + maxInFlight.get());
+    }
+
+    @Test
+    void requestRateIsLimitedByTokenBucket() {
+        config.getImport().getGeocode().setRatePerSecond(20);
+        config.getImport().getGeocode().setBurst(5);
+
+        long start = System.nanoTime();
+        newService().geocodeAll(addresses(25));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 처음 5건은 즉시, 나머지 20건은 초당 20건 → 약 1초
+        assertEquals(25, requestCount.get());
+        assertTrue(elapsedMs >= 900, "elapsed " + elapsedMs + "ms");
+        assertTrue(elapsedMs < 3000, "elapsed " + elapsedMs + "ms");
+    }
+
+    @Test
+    void unknownAddressIsAbsentFromResult() {
+        Map<String, double[]> result = newService().geocodeAll(List.of("삼평동 1", "없는주소 2"));
+
+        assertEquals(1, result.size());
+        assertNull(result.get("없는주소 2"));
+    }
+
+    @Test
+    void searchBurstDoesNotStarveGeocoding() {
+        // 검색 한도를 모두 차지한 동안에도 지오코딩은 자기 한도로 진행
+        config.getVworld().getHttp().setMaxConcurrent(1);
+        config.getVworld().getHttp().setAcquireTimeout(Duration.ofMillis(50));
+        config.getImport().getGeocode().setMaxAttempts(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VWorldClient client = new VWorldClient(config, registry);
+        GeocodingService service = newService(client, registry);
+
+        try (VWorldClient.Reservation searchBurst = client.reserve(1)) {
+            assertThrows(VWorldClient.VWorldUnavailableException.class, () -> client.reserve(1));
+            Map<String, double[]> result = service.geocodeAll(addresses(20));
+
+            assertEquals(20, result.size());
+            assertEquals(20, requestCount.get());
+        }
+    }
+
+    @Test
+    void addressLongerThanCacheColumnIsGeocodedButNotCached() {
+        // 정규화 후에도 500자를 넘는 주소 (DB에서는 UPSERT가 실패해 임포트 트랜잭션까지 중단시키던 입력)
+        String longAddress = "삼평동" + "가".repeat(GeocodeCacheEntry.MAX_ADDRESS_LENGTH) + " 7";
+
+        Map<String, double[]> result = newService().geocodeAll(List.of("삼평동 1", longAddress));
+
+        assertEquals(2, result.size());
+        assertEquals(37.407, result.get(longAddress)[1], 1e-9);
+        assertEquals(Set.of("삼평동 1"), store.entries.keySet());
+    }
+
+    @Test
+    void cacheWriteFailureDoesNotFailGeocoding() {
+        store.failWrites = true;
+
+        Map<String, double[]> result = newService().geocodeAll(addresses(5));
+
+        assertEquals(5, result.size());
+        assertTrue(store.entries.isEmpty());
+    }
+
+    private GeocodingService newService() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return newService(new VWorldClient(config, registry), registry);
+    }
+
+    private GeocodingService newService(VWorldClient client, SimpleMeterRegistry registry) {
+        GeocodingService service = new GeocodingService(client, store, config, registry);
+        services.add(service);
+        return service;
+    }
+
+    private static List<String> addresses(int count) {
+        List<String> addresses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            addresses.add("삼평동 " + i);
+        }
+        return addresses;
+    }
+
+    // "삼평동 N" → (37.40 + N/1000, 127.10), "없는주소"는 NOT_FOUND
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+            String address = queryParams(exchange.getRequestURI().getRawQuery()).get("address");
+            AtomicInteger failures = failuresLeft.get(address);
+            if (failures != null && failures.getAndDecrement() > 0) {
+                respond(exchange, 503, "{}");
+                return;
+            }
+            if (address.startsWith("없는주소")) {
+                respond(exchange, 200, "{\"response\":{\"status\":\"NOT_FOUND\"}}");
+                return;
+            }
+            int n = Integer.parseInt(address.substring(address.indexOf(' ') + 1));
+            respond(exchange, 200, "{\"response\":{\"status\":\"OK\",\"result\":{\"point\":{\"x\":\"127.10\",\"y\":\""
+                    + (37.40 + n / 1000.0) + "\"}}}}");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static Map<String, String> queryParams(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            params.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * geocode_cache 테이블 대신 메모리에 보관하는 저장소
+     */
+    private static final class InMemoryCacheStore extends GeocodeCacheStore {
+        final Map<String, GeocodeCacheEntry> entries = new ConcurrentHashMap<>();
+        volatile boolean failWrites;
+
+        InMemoryCacheStore() {
+            super(null);
+        }
+
+        @Override
+        public Map<String, GeocodeCacheEntry> findByAddresses(Collection<String> addresses) {
+            Map<String, GeocodeCacheEntry> result = new HashMap<>();
+            for (String address : addresses) {
+                GeocodeCacheEntry entry = entries.get(address);
+                if (entry != null) {
+                    result.put(address, entry);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void upsert(List<GeocodeCacheEntry> batch) {
+            // 컬럼 길이 초과 등 DB 오류와 같은 예외
+            for (GeocodeCacheEntry entry : batch) {
+                if (failWrites || entry.getAddress().length() > GeocodeCacheEntry.MAX_ADDRESS_LENGTH) {
+                    throw new DataAccessException("ERROR: value too long for type character varying(500)") {
+                    };
+                }
+            }
+            for (GeocodeCacheEntry entry : batch) {
+                entries.put(entry.getAddress(), entry);
+            }
+        }
+    }
+}
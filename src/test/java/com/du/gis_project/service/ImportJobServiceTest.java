@@ -0,0 +1,115 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.domain.entity.RiskType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 임포트 작업 검증: 한 타입이 실패해도 나머지 타입은 끝까지 적재되고, 작업은 완료 시점에 FAILED로 닫히며
+ * 타입별 진행 상황(상태, 처리 행 수, 오류)이 그대로 남아야 함
+ */
+class ImportJobServiceTest {
+
+    private static final RiskType FAILING = RiskType.POLICE;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ImportJobService service = new ImportJobService(new FakeImportService());
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void failingTypeFailsTheJobButOtherTypesComplete() throws InterruptedException {
+        ImportJob job = service.startImportAll();
+        // 진행 중에는 같은 작업을 돌려줌
+        assertSame(job, service.startImportAll());
+        assertFalse(job.isDone());
+
+        release.countDown();
+        awaitDone(job);
+
+        assertEquals(ImportJob.State.FAILED, job.getState());
+        assertNotNull(job.getFinishedAt());
+        long expectedRows = 0;
+        for (ImportProgress progress : job.getFiles()) {
+            assertTrue(progress.isDone(), progress.getType().name());
+            if (progress.getType() == FAILING) {
+                assertEquals(ImportProgress.State.FAILED, progress.getState());
+                assertEquals("police.csv: 3번째 행에서 연결 끊김", progress.getError());
+                assertEquals(2, progress.getRowsProcessed());
+            } else {
+                assertEquals(ImportProgress.State.COMPLETED, progress.getState());
+                assertNull(progress.getError());
+                assertEquals(rowsOf(progress.getType()), progress.getSuccessCount());
+                assertEquals(1, progress.getFailCount());
+            }
+            expectedRows += progress.getRowsProcessed();
+        }
+        assertEquals(expectedRows, job.getRowsProcessed());
+        assertSame(job, service.getJob(job.getId()));
+
+        // 끝난 뒤에는 새 작업을 시작
+        ImportJob next = service.startImportAll();
+        assertNotEquals(job.getId(), next.getId());
+        awaitDone(next);
+    }
+
+    private static void awaitDone(ImportJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.isDone()) {
+            assertTrue(System.nanoTime() < deadline, "import job did not finish");
+            Thread.sleep(10);
+        }
+    }
+
+    private static int rowsOf(RiskType type) {
+        return 10 + type.ordinal() * 5;
+    }
+
+    /**
+     * 타입마다 rowsOf(type)건 성공 + 1건 실패로 적재하고 FAILING 타입은 도중에 예외를 던지는 CsvImportService
+     * (release 전까지는 적재를 시작하지 않음)
+     */
+    private final class FakeImportService extends CsvImportService {
+        FakeImportService() {
+            super(null, null, null, null, null);
+        }
+
+        @Override
+        public List<RiskPointChange> importType(RiskType type, ImportProgress progress) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            progress.start(type.name().toLowerCase() + ".csv");
+            if (type == FAILING) {
+                progress.rowSucceeded();
+                progress.rowSucceeded();
+                throw new IllegalStateException("police.csv: 3번째 행에서 연결 끊김");
+            }
+            for (int i = 0; i < rowsOf(type); i++) {
+                progress.rowSucceeded();
+            }
+            progress.rowFailed();
+            // 변경 목록이 null(전체 재적재)이어도 작업 종료 로그가 깨지지 않아야 함
+            return type.ordinal() == 0 ? null : List.of();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.domain.dto.RiskClusterDto;
+import com.du.gis_project.domain.entity.RiskPoint;
+import com.du.gis_project.domain.entity.RiskType;
+import com.du.gis_project.repository.InMemoryRiskPointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 클러스터 인덱스 검증: 어떤 줌에서도 클러스터의 개수/가중치 합이 원본 시설물과 같고,
+ * 줌을 올릴수록 클러스터가 쪼개지기만 하며, 타입 필터와 영역 조회가 원본과 맞아야 함
+ */
+class RiskClusterIndexTest {
+
+    private static final int[] ZOOMS = { 0, RiskClusterIndex.MIN_ZOOM, 8, 11, 14, RiskClusterIndex.MAX_ZOOM, 22 };
+
+    private final List<RiskPoint> points = points(3000);
+    private final RiskClusterIndex index = new RiskClusterIndex(InMemoryRiskPointRepository.of(points));
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void clustersSumToTheRawPointsAtEveryZoom() throws InterruptedException {
+        assertNull(index.query(10, -180, -85, 180, 85, null));
+        build();
+
+        Map<RiskType, Integer> expectedCounts = new EnumMap<>(RiskType.class);
+        Map<RiskType, Double> expectedWeights = new EnumMap<>(RiskType.class);
+        for (RiskPoint p : points) {
+            expectedCounts.merge(p.getType(), 1, Integer::sum);
+            expectedWeights.merge(p.getType(), p.getWeight(), Double::sum);
+        }
+
+        int previousClusters = 0;
+        for (int zoom : ZOOMS) {
+            List<RiskClusterDto> clusters = index.query(zoom, -180, -85, 180, 85, null);
+            Map<RiskType, Integer> counts = new EnumMap<>(RiskType.class);
+            Map<RiskType, Double> weights = new EnumMap<>(RiskType.class);
+            int total = 0;
+            for (RiskClusterDto cluster : clusters) {
+                int sum = cluster.getCounts().values().stream().mapToInt(Integer::intValue).sum();
+                assertEquals(sum, cluster.getCount());
+                cluster.getCounts().forEach((type, n) -> counts.merge(type, n, Integer::sum));
+                cluster.getWeights().forEach((type, w) -> weights.merge(type, w, Double::sum));
+                total += cluster.getCount();
+            }
+            assertEquals(points.size(), total, "zoom " + zoom);
+            assertEquals(expectedCounts, counts, "zoom " + zoom);
+            for (RiskType type : RiskType.values()) {
+                assertEquals(expectedWeights.get(type), weights.get(type), 1e-9);
+            }
+            // 줌을 올리면 클러스터는 쪼개지기만 함
+            assertTrue(clusters.size() >= previousClusters, "zoom " + zoom);
+            previousClusters = clusters.size();
+        }
+        // 최대 줌 칸(약 0.0007도)보다 떨어진 시설이 대부분이므로 최대 줌에서는 거의 개별 시설
+        assertTrue(previousClusters > points.size() / 2);
+    }
+
+    @Test
+    void typeFilterAndCentroidMatchTheRawPoints() throws InterruptedException {
+        build();
+        for (RiskType type : RiskType.values()) {
+            List<RiskPoint> ofType = points.stream().filter(p -> p.getType() == type).toList();
+            double lat = ofType.stream().mapToDouble(RiskPoint::getLatitude).average().orElseThrow();
+            double lon = ofType.stream().mapToDouble(RiskPoint::getLongitude).average().orElseThrow();
+
+            // 줌 5에서 성남 전체는 한 칸 (다른 지역 시설은 별도 칸)
+            List<RiskClusterDto> clusters = index.query(5, 126.9, 37.2, 127.3, 37.6, type);
+            assertEquals(1, clusters.size());
+            RiskClusterDto city = clusters.get(0);
+            assertEquals(ofType.stream().filter(RiskClusterIndexTest::inCity).count(), city.getCount());
+            assertEquals(List.of(type), new ArrayList<>(city.getCounts().keySet()));
+            if (ofType.stream().allMatch(RiskClusterIndexTest::inCity)) {
+                assertEquals(lat, city.getLat(), 1e-9);
+                assertEquals(lon, city.getLon(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void boundsQueryOnlyReturnsCellsInTheView() throws InterruptedException {
+        build();
+        // 제주 주변만 보면 성남 시설은 나오지 않음
+        List<RiskClusterDto> jeju = index.query(12, 126.4, 33.3, 126.7, 33.6, null);
+        int count = jeju.stream().mapToInt(RiskClusterDto::getCount).sum();
+        assertEquals(points.stream().filter(p -> p.getLatitude() < 36).count(), count);
+    }
+
+    private void build() throws InterruptedException {
+        index.requestRebuild("test");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!index.isReady()) {
+            assertTrue(System.nanoTime() < deadline, "cluster index was not built");
+            Thread.sleep(10);
+        }
+    }
+
+    private static boolean inCity(RiskPoint p) {
+        return p.getLatitude() > 37.2 && p.getLatitude() < 37.6;
+    }
+
+    // 성남시 안의 시설물 + 일부 제주 시설물 (POLICE만)
+    private static List<RiskPoint> points(int count) {
+        Random random = new Random(7);
+        RiskType[] types = RiskType.values();
+        List<RiskPoint> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            RiskType type = types[i % types.length];
+            RiskPoint p;
+            if (type == RiskType.POLICE && i % 4 == 0) {
+                p = new RiskPoint(33.40 + random.nextDouble() * 0.1, 126.50 + random.nextDouble() * 0.1, 1.0,
+                        type);
+            } else {
+                p = new RiskPoint(37.33 + random.nextDouble() * 0.16, 127.05 + random.nextDouble() * 0.13,
+                        0.1 + random.nextInt(10) * 0.1, type);
+            }
+            p.setId(i + 1L);
+            rows.add(p);
+        }
+        return rows;
+    }
+}
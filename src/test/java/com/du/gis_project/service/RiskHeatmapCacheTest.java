@@ -0,0 +1,241 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.dto.RiskGrid;
+import com.du.gis_project.domain.entity.RiskPoint;
+import com.du.gis_project.domain.entity.RiskType;
+import com.du.gis_project.repository.InMemoryRiskPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 히트맵 부분 갱신 검증: 추가/삭제/수정 변경을 섞어 커밋한 뒤의 스냅샷이
+ * 같은 데이터로 처음부터 계산한 격자와 같아야 하며, 전체 재계산의 DB 읽기 도중 커밋된 변경도 두 번 반영되지 않아야 함
+ */
+class RiskHeatmapCacheTest {
+
+    private static final long SETTLE_TIMEOUT_MS = 20_000;
+
+    private final GisConfig config = RiskIntegrationServiceTest.config();
+    private final CityBoundaryMask boundaryMask = new CityBoundaryMask();
+    // 메모리 "DB"와 findAll 도중 실행할 작업 (읽기 전/후)
+    private final List<RiskPoint> db = new ArrayList<>();
+    // 커밋 중인 행 id (DB의 행 잠금처럼 같은 행을 동시에 수정/삭제하지 않도록, db로 동기화)
+    private final Set<Long> locked = new HashSet<>();
+    private final AtomicReference<Runnable> beforeRead = new AtomicReference<>();
+    private final AtomicReference<Runnable> afterRead = new AtomicReference<>();
+    private long nextId;
+
+    private RiskIntegrationService service;
+    private RiskHeatmapCache cache;
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.shutdown();
+        }
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void incrementalUpdatesMatchFullRecompute() throws Exception {
+        start(800);
+        Random random = new Random(11);
+        for (int i = 0; i < 300; i++) {
+            commitRandomChange(random);
+        }
+        assertMatchesFullRecompute();
+    }
+
+    @Test
+    void changesInterleavedWithRebuildsAreAppliedOnce() throws Exception {
+        start(800);
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            long seed = 100 + w;
+            writers.add(new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 100; i++) {
+                    commitRandomChange(random);
+                    if (i % 25 == 0) {
+                        cache.requestRebuild("test");
+                    }
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread t : writers) {
+            t.join();
+        }
+        assertMatchesFullRecompute();
+    }
+
+    @Test
+    void changeCommittedDuringRebuildReadIsAppliedOnce() throws Exception {
+        // 읽기 결과에 포함되는 커밋 (기존 방식에서는 읽기 결과와 부분 갱신으로 두 번 반영됨)
+        start(300);
+        beforeRead.set(() -> commitFromOtherThread(new Random(21)));
+        cache.requestRebuild("test");
+        assertMatchesFullRecompute();
+    }
+
+    @Test
+    void changeCommittedAfterRebuildReadIsNotLost() throws Exception {
+        // 읽기 결과에 빠졌지만 전체 재계산 시작 후에 커밋된 변경
+        start(300);
+        afterRead.set(() -> commitFromOtherThread(new Random(22)));
+        cache.requestRebuild("test");
+        assertMatchesFullRecompute();
+    }
+
+    private void start(int facilities) throws InterruptedException {
+        config.getMap().getGrid().setParallel(false);
+        db.addAll(RiskIntegrationServiceTest.randomFacilities(facilities, 5));
+        nextId = facilities + 1;
+        service = new RiskIntegrationService(InMemoryRiskPointRepository.of(this::read), config, boundaryMask, new SimpleMeterRegistry());
+        cache = new RiskHeatmapCache(service, boundaryMask, new SimpleMeterRegistry());
+        cache.requestRebuild("startup");
+        long deadline = System.currentTimeMillis() + SETTLE_TIMEOUT_MS;
+        while (cache.getSnapshot() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotNull(cache.getSnapshot());
+    }
+
+    private void commitFromOtherThread(Random random) {
+        Thread t = new Thread(() -> commitRandomChange(random));
+        t.start();
+        try {
+            t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 임의 추가/삭제/수정 하나를 트랜잭션 커밋 순서대로 실행
+    private void commitRandomChange(Random random) {
+        int kind = random.nextInt(3);
+        RiskPointChange change;
+        Runnable write;
+        long id;
+        synchronized (db) {
+            RiskPoint target = db.isEmpty() ? null : db.get(random.nextInt(db.size()));
+            if (kind == 0 || target == null || locked.contains(target.getId())) {
+                id = nextId++;
+                RiskPoint p = randomPoint(random, id);
+                change = RiskPointChange.inserted(p);
+                write = () -> db.add(p);
+            } else {
+                RiskPoint before = target;
+                id = before.getId();
+                if (kind == 1) {
+                    change = RiskPointChange.deleted(before);
+                    write = () -> db.remove(before);
+                } else {
+                    RiskPoint after = randomPoint(random, before.getId());
+                    change = RiskPointChange.updated(before, after);
+                    write = () -> db.set(db.indexOf(before), after);
+                }
+            }
+            locked.add(id);
+        }
+        try {
+            commit(new RiskDataChangedEvent("test", List.of(change)), () -> {
+                synchronized (db) {
+                    write.run();
+                }
+            });
+        } finally {
+            synchronized (db) {
+                locked.remove(id);
+            }
+        }
+    }
+
+    // 트랜잭션 안에서 이벤트 발행 → beforeCommit → 커밋(DB 반영) → afterCommit → afterCompletion
+    private void commit(RiskDataChangedEvent event, Runnable write) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.onRiskDataChanged(event);
+            List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+            syncs.forEach(s -> s.beforeCommit(false));
+            write.run();
+            syncs.forEach(TransactionSynchronization::afterCommit);
+            syncs.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static RiskPoint randomPoint(Random random, long id) {
+        RiskType[] types = RiskType.values();
+        RiskPoint p = new RiskPoint(37.32 + random.nextDouble() * 0.18, 127.04 + random.nextDouble() * 0.15,
+                0.1 + random.nextDouble() * 1.4, types[random.nextInt(types.length)]);
+        p.setId(id);
+        return p;
+    }
+
+    // 갱신 스레드가 남은 작업을 마칠 때까지(스냅샷 버전이 한동안 바뀌지 않을 때까지) 기다린 뒤 비교
+    private void assertMatchesFullRecompute() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + SETTLE_TIMEOUT_MS;
+        long version = -1;
+        long stableSince = System.currentTimeMillis();
+        while (System.currentTimeMillis() < deadline) {
+            long v = cache.getSnapshot().getVersion();
+            if (v != version) {
+                version = v;
+                stableSince = System.currentTimeMillis();
+            } else if (System.currentTimeMillis() - stableSince > 500) {
+                break;
+            }
+            Thread.sleep(20);
+        }
+
+        List<RiskPoint> snapshot;
+        synchronized (db) {
+            snapshot = new ArrayList<>(db);
+        }
+        RiskGrid expected = service.buildPyramid(service.calculateScoreGrid(snapshot)).get(service.getDefaultLevel());
+        RiskGrid actual = cache.getSnapshot().getGrid();
+        assertEquals(expected.getInsideCount(), actual.getInsideCount());
+        for (int i = expected.nextInside(0); i >= 0; i = expected.nextInside(i + 1)) {
+            if (Math.abs(expected.scoreAtIndex(i) - actual.scoreAtIndex(i)) > 1e-4) {
+                fail("칸 " + i + " 점수 불일치: 기대 " + expected.scoreAtIndex(i) + ", 실제 " + actual.scoreAtIndex(i));
+            }
+        }
+    }
+
+    // findAll로 읽는 "DB" 내용 (읽기 전/후 작업은 한 번만 실행)
+    private List<RiskPoint> read() {
+        runOnce(beforeRead);
+        List<RiskPoint> copy;
+        synchronized (db) {
+            copy = new ArrayList<>(db);
+        }
+        runOnce(afterRead);
+        return copy;
+    }
+
+    private static void runOnce(AtomicReference<Runnable> task) {
+        Runnable r = task.getAndSet(null);
+        if (r != null) {
+            r.run();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.dto.RiskGrid;
+import com.du.gis_project.domain.entity.RiskPoint;
+import com.du.gis_project.domain.entity.RiskType;
+import com.du.gis_project.repository.InMemoryRiskPointRepository;
+import com.du.gis_project.util.DistanceUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 히트맵 기본 레벨 검증: 설정 간격(step) 격자를 그대로 계산하며,
+ * 피라미드 도입 전 방식(모든 시설물을 선형 탐색하는 격자 순회)과 칸 좌표/점수가 같아야 함
+ * (공간 인덱스 버킷 경계 위의 시설물, 격자 범위 밖 시설물 포함)
+ */
+class RiskIntegrationServiceTest {
+
+    private static final double BASE_SCORE = 2.0;
+    private static final double RADIUS = 300.0;
+
+    private final CityBoundaryMask boundaryMask = new CityBoundaryMask();
+
+    @Test
+    void defaultLevelMatchesPrePyramidGrid() {
+        List<RiskPoint> facilities = randomFacilities(2000, 7);
+
+        for (boolean parallel : new boolean[] { false, true }) {
+            GisConfig config = config();
+            config.getMap().getGrid().setParallel(parallel);
+            RiskIntegrationService service = newService(config, facilities);
+            try {
+                List<RiskGrid> levels = service.buildPyramid(service.calculateScoreGrid());
+                RiskGrid grid = levels.get(service.getDefaultLevel());
+
+                assertSameGrid(bruteForce(config, facilities), grid);
+                assertSameGrid(bruteForce(config, facilities), service.calculateRefinedRiskGrid());
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void facilitiesOnIndexBucketEdgesAndOutsideBoundsMatchLinearScan() {
+        // 공간 인덱스 버킷(반경 300m) 경계 위/바로 옆 시설물, 격자 범위 밖 시설물
+        // 인덱스 버킷은 성남 내부 시설물의 최소 좌표에서 시작하므로 두 모서리 시설물로 경계를 고정
+        List<RiskPoint> facilities = new ArrayList<>();
+        Random random = new Random(9);
+        int buckets = 13;
+        double minLat = 37.40, minLon = 127.10;
+        double cellLat = RADIUS / DistanceUtil.METERS_PER_DEGREE;
+        double maxLat = minLat + buckets * cellLat;
+        double cellLon = RADIUS / (DistanceUtil.METERS_PER_DEGREE * Math.cos(Math.toRadians((minLat + maxLat) / 2)));
+        facilities.add(new RiskPoint(minLat, minLon, 1.0, RiskType.CCTV));
+        facilities.add(new RiskPoint(maxLat, minLon + buckets * cellLon, 1.0, RiskType.CCTV));
+        for (int i = 0; i < 600; i++) {
+            double lat = minLat + random.nextInt(buckets + 1) * cellLat;
+            double lon = minLon + random.nextInt(buckets + 1) * cellLon;
+            int nudge = random.nextInt(3);
+            facilities.add(new RiskPoint(nudge == 1 && lat < maxLat ? Math.nextUp(lat) : lat,
+                    nudge == 2 && lon > minLon ? Math.nextDown(lon) : lon,
+                    0.1 + random.nextDouble() * 1.4, RiskType.STREET_LIGHT));
+        }
+        for (int i = 0; i < 300; i++) {
+            facilities.add(new RiskPoint(minLat + random.nextDouble() * (maxLat - minLat),
+                    minLon + random.nextDouble() * buckets * cellLon, 0.1 + random.nextDouble() * 1.4, RiskType.CCTV));
+        }
+        facilities.add(new RiskPoint(37.329, 127.1, 1.0, RiskType.POLICE));
+        facilities.add(new RiskPoint(37.42, 127.181, 1.0, RiskType.POLICE));
+        facilities.add(new RiskPoint(36.0, 126.0, 1.0, RiskType.POLICE));
+
+        GisConfig config = config();
+        config.getMap().getGrid().setParallel(false);
+        RiskIntegrationService service = newService(config, facilities);
+        try {
+            assertSameGrid(bruteForce(config, facilities), service.calculateRefinedRiskGrid());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void defaultLevelIsTheNativeStepLevel() {
+        GisConfig config = config();
+        RiskIntegrationService service = newService(config, randomFacilities(100, 1));
+        try {
+            List<RiskGrid> levels = service.buildPyramid(service.calculateScoreGrid());
+
+            // 기본 설정(refine 1)에서는 계산 격자 자체가 기본 레벨이며 상위 레벨만 추가로 만들어짐
+            assertEquals(0, service.getDefaultLevel());
+            assertEquals(config.getMap().getGrid().getStepLat(), levels.get(0).getStepLat());
+            assertEquals(config.getMap().getGrid().getStepLon(), levels.get(0).getStepLon());
+            assertEquals(3, levels.size());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private RiskIntegrationService newService(GisConfig config, List<RiskPoint> facilities) {
+        return new RiskIntegrationService(InMemoryRiskPointRepository.of(facilities), config, boundaryMask,
+                new SimpleMeterRegistry());
+    }
+
+    // 피라미드 도입 전 calculateGrid와 같은 순회: step 누적 축, 성남 내부 판정, 전체 시설물 선형 탐색
+    private List<double[]> bruteForce(GisConfig config, List<RiskPoint> all) {
+        GisConfig.Map.Bounds bounds = config.getMap().getBounds();
+        GisConfig.Map.Grid grid = config.getMap().getGrid();
+        List<RiskPoint> facilities = new ArrayList<>();
+        for (RiskPoint rp : all) {
+            if (boundaryMask.contains(rp.getLatitude(), rp.getLongitude())) {
+                facilities.add(rp);
+            }
+        }
+
+        List<double[]> cells = new ArrayList<>();
+        for (double lat = bounds.getMinLat(); lat <= bounds.getMaxLat(); lat += grid.getStepLat()) {
+            double lonScale = DistanceUtil.lonScale(lat);
+            for (double lon = bounds.getMinLon(); lon <= bounds.getMaxLon(); lon += grid.getStepLon()) {
+                if (!boundaryMask.contains(lat, lon)) {
+                    continue;
+                }
+                double score = BASE_SCORE;
+                for (RiskPoint rp : facilities) {
+                    double distSq = DistanceUtil.projectedDistanceSq(lat, lon, rp.getLatitude(), rp.getLongitude(),
+                            lonScale);
+                    if (distSq < RADIUS * RADIUS) {
+                        score -= rp.getWeight() * (1.0 - Math.sqrt(distSq) / RADIUS);
+                    }
+                }
+                cells.add(new double[] { lat, lon, Math.max(0.0, Math.min(score, RiskIntegrationService.MAX_SCORE)) });
+            }
+        }
+        return cells;
+    }
+
+    private static void assertSameGrid(List<double[]> expected, RiskGrid grid) {
+        assertEquals(expected.size(), grid.getInsideCount());
+        int k = 0;
+        for (int i = grid.nextInside(0); i >= 0; i = grid.nextInside(i + 1)) {
+            double[] cell = expected.get(k++);
+            assertEquals(cell[0], grid.latAt(i / grid.getCols()));
+            assertEquals(cell[1], grid.lonAt(i % grid.getCols()));
+            assertEquals((float) cell[2], grid.scoreAtIndex(i));
+        }
+    }
+
+    static GisConfig config() {
+        GisConfig config = new GisConfig();
+        GisConfig.Map.Bounds bounds = config.getMap().getBounds();
+        bounds.setMinLat(37.330);
+        bounds.setMaxLat(37.490);
+        bounds.setMinLon(127.050);
+        bounds.setMaxLon(127.180);
+        config.getMap().getGrid().setStepLat(0.00067);
+        config.getMap().getGrid().setStepLon(0.00082);
+        return config;
+    }
+
+    // 성남 일대(경계 밖 포함) 임의 시설물
+    static List<RiskPoint> randomFacilities(int count, long seed) {
+        Random random = new Random(seed);
+        RiskType[] types = RiskType.values();
+        List<RiskPoint> facilities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RiskPoint rp = new RiskPoint(37.32 + random.nextDouble() * 0.18, 127.04 + random.nextDouble() * 0.15,
+                    0.1 + random.nextDouble() * 1.4, types[random.nextInt(types.length)]);
+            rp.setId((long) i + 1);
+            facilities.add(rp);
+        }
+        return facilities;
+    }
+}
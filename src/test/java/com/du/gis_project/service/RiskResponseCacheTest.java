@@ -0,0 +1,79 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.domain.entity.RiskPoint;
+import com.du.gis_project.domain.entity.RiskType;
+import com.du.gis_project.util.CompressedBody;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 목록 응답 캐시 검증: 같은 데이터 버전에서는 타입/형식별 본문을 한 번만 만들고,
+ * 변경이 있는 이벤트는 버전을 올려 본문을 버리며, 변경 없는 델타 이벤트는 무시해야 함
+ */
+class RiskResponseCacheTest {
+
+    private final RiskResponseCache cache = new RiskResponseCache();
+    private final AtomicInteger serialized = new AtomicInteger();
+
+    @Test
+    void bodyIsBuiltOncePerVersionTypeAndFormat() {
+        CompressedBody all = cache.facilities(null, "binary", this::serialize);
+        assertSame(all, cache.facilities(null, "binary", this::serialize));
+        assertEquals(1, serialized.get());
+
+        assertNotSame(all, cache.facilities(RiskType.CCTV, "binary", this::serialize));
+        assertNotSame(all, cache.facilities(null, "json", this::serialize));
+        assertEquals(3, serialized.get());
+
+        // 1KB 이상이고 압축되는 본문은 gzip도 함께 보관
+        assertTrue(all.getGzip() != null && all.getGzip().length < all.getIdentity().length);
+        assertNull(CompressedBody.of(new byte[100]).getGzip());
+    }
+
+    @Test
+    void dataChangeBumpsTheVersionAndDropsBodies() {
+        String version = cache.getVersionToken();
+        CompressedBody before = cache.facilities(null, "binary", this::serialize);
+
+        cache.onRiskDataChanged(new RiskDataChangedEvent("import", List.of()));
+        assertEquals(version, cache.getVersionToken());
+        assertSame(before, cache.facilities(null, "binary", this::serialize));
+
+        RiskPoint added = new RiskPoint(37.4, 127.1, 0.7, RiskType.CCTV);
+        cache.onRiskDataChanged(new RiskDataChangedEvent("admin", List.of(RiskPointChange.inserted(added))));
+        assertNotEquals(version, cache.getVersionToken());
+        assertNotSame(before, cache.facilities(null, "binary", this::serialize));
+
+        // 전체 재적재(변경 목록 null)도 버전을 올림
+        String delta = cache.getVersionToken();
+        cache.onRiskDataChanged(new RiskDataChangedEvent("import"));
+        assertNotEquals(delta, cache.getVersionToken());
+        assertEquals(2, serialized.get());
+    }
+
+    @Test
+    void bodySerializedWhileDataChangesIsNotKept() {
+        CompressedBody stale = cache.facilities(null, "binary", () -> {
+            byte[] body = serialize();
+            cache.onRiskDataChanged(new RiskDataChangedEvent("import"));
+            return body;
+        });
+        assertNotSame(stale, cache.facilities(null, "binary", this::serialize));
+        assertEquals(2, serialized.get());
+    }
+
+    private byte[] serialize() {
+        serialized.incrementAndGet();
+        return "facility,".repeat(500).getBytes(StandardCharsets.US_ASCII);
+    }
+}
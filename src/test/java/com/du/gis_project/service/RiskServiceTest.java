@@ -0,0 +1,168 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.dto.RiskPointDto;
+import com.du.gis_project.domain.entity.RiskType;
+import com.du.gis_project.repository.RiskPointStreamReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 시설물 JSON 스트리밍 검증: 커서에서 읽은 행이 목록 응답과 같은 형식으로 기록되고,
+ * 도중에 DB 읽기가 실패하면 완결된 JSON처럼 닫히지 않은 채 예외가 전파되어야 함
+ */
+class RiskServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GisConfig config = new GisConfig();
+
+    @Test
+    void streamedJsonMatchesListSerialization() throws IOException {
+        List<RiskPointDto> rows = rows(120);
+        CursorJdbcTemplate jdbc = new CursorJdbcTemplate(rows, -1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service(jdbc).writeRisksJson(null, out);
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("status", "OK");
+        expected.put("result", rows);
+        assertEquals(objectMapper.writeValueAsString(expected), out.toString(StandardCharsets.UTF_8));
+        assertEquals(config.getApi().getStreamFetchSize(), jdbc.fetchSize);
+        assertFalse(jdbc.sql.contains("WHERE"));
+    }
+
+    @Test
+    void typeFilterIsBoundToTheQuery() throws IOException {
+        CursorJdbcTemplate jdbc = new CursorJdbcTemplate(List.of(), -1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service(jdbc).writeRisksJson(RiskType.values()[0], out);
+
+        assertEquals("{\"status\":\"OK\",\"result\":[]}", out.toString(StandardCharsets.UTF_8));
+        assertTrue(jdbc.sql.endsWith("WHERE type = ?"));
+        assertEquals(List.of(RiskType.values()[0].name()), jdbc.parameters);
+    }
+
+    @Test
+    void cursorFailureMidStreamLeavesJsonUnterminated() {
+        CursorJdbcTemplate jdbc = new CursorJdbcTemplate(rows(5000), 3000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(DataAccessException.class, () -> service(jdbc).writeRisksJson(null, out));
+
+        // 이미 기록된 앞부분은 있지만 배열/객체를 닫지 않아 클라이언트가 완결된 응답으로 받아들일 수 없음
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("{\"status\":\"OK\",\"result\":[{"), body.substring(0, 40));
+        assertFalse(body.endsWith("]}"));
+        assertThrows(IOException.class, () -> objectMapper.readTree(body));
+    }
+
+    private RiskService service(JdbcTemplate jdbc) {
+        return new RiskService(null, new RiskPointStreamReader(jdbc), null, objectMapper, config);
+    }
+
+    private static List<RiskPointDto> rows(int count) {
+        RiskType[] types = RiskType.values();
+        List<RiskPointDto> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            RiskPointDto dto = new RiskPointDto(37.33 + i * 1e-5, 127.05 + i * 2e-5, 0.1 + (i % 14) * 0.1,
+                    types[i % types.length]);
+            dto.setId(i + 1L);
+            rows.add(dto);
+        }
+        return rows;
+    }
+
+    /**
+     * PreparedStatement 설정(SQL/fetch size/파라미터)을 기록하고 rows를 커서처럼 한 행씩 넘기는 JdbcTemplate.
+     * failAt번째 행에서 커서 읽기 실패(연결 끊김 등)를 흉내 냄 (음수면 실패하지 않음)
+     */
+    private static final class CursorJdbcTemplate extends JdbcTemplate {
+        private final List<RiskPointDto> rows;
+        private final int failAt;
+        String sql;
+        int fetchSize;
+        final List<Object> parameters = new ArrayList<>();
+
+        CursorJdbcTemplate(List<RiskPointDto> rows, int failAt) {
+            this.rows = rows;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public void query(PreparedStatementCreator psc, RowCallbackHandler rch) {
+            try {
+                psc.createPreparedStatement(connection());
+                for (int i = 0; i < rows.size(); i++) {
+                    if (i == failAt) {
+                        throw new DataAccessException("ERROR: canceling statement due to connection loss") {
+                        };
+                    }
+                    rch.processRow(resultSet(rows.get(i)));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Connection connection() {
+            return proxy(Connection.class, (method, args) -> {
+                if (method.equals("prepareStatement")) {
+                    sql = (String) args[0];
+                    return proxy(PreparedStatement.class, (psMethod, psArgs) -> {
+                        if (psMethod.equals("setFetchSize")) {
+                            fetchSize = (Integer) psArgs[0];
+                        } else if (psMethod.equals("setString")) {
+                            parameters.add(psArgs[1]);
+                        }
+                        return null;
+                    });
+                }
+                throw new UnsupportedOperationException(method);
+            });
+        }
+
+        private static ResultSet resultSet(RiskPointDto row) {
+            return proxy(ResultSet.class, (method, args) -> switch (method + ":" + args[0]) {
+                case "getLong:id" -> row.getId();
+                case "getDouble:latitude" -> row.getLatitude();
+                case "getDouble:longitude" -> row.getLongitude();
+                case "getDouble:weight" -> row.getWeight();
+                case "getString:type" -> row.getType().name();
+                default -> throw new UnsupportedOperationException(method + " " + args[0]);
+            });
+        }
+
+        private interface Handler {
+            Object invoke(String method, Object[] args);
+        }
+
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                    (proxy, method, args) -> handler.invoke(method.getName(), args)));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.dto.RiskGrid;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 타일 렌더링 검증: 알려진 격자 칸 위치의 픽셀 색(점수 → 가중치 → 팔레트)과 성남 외부 칸의 투명 처리,
+ * 그리고 타일 캐시가 최근에 쓰인 타일을 남기고 가장 오래된 타일부터 밀어내는지
+ */
+class RiskTileRendererTest {
+
+    private static final int ZOOM = 16;
+    private static final int ROWS = 20;
+    private static final int COLS = 20;
+    private static final double ORIGIN_LAT = 37.40;
+    private static final double ORIGIN_LON = 127.10;
+    private static final double STEP = 0.001;
+
+    private static final int TRANSPARENT = 0;
+    // 흑 → 백 2단계 그라디언트: 팔레트 i번 = 회색 i
+    private static final int GRAY_128 = 0xFF808080;
+    private static final int WHITE = 0xFFFFFFFF;
+
+    @Test
+    void pixelOfAKnownCellUsesItsScoreColor() throws IOException {
+        RiskTileRenderer renderer = renderer(16);
+        HeatmapSnapshot snapshot = snapshot(1);
+
+        // 왼쪽 절반 점수 1.0 → 가중치 0.5, 오른쪽 절반 2.0 → 최대 강도, 아래쪽 5행은 성남 외부
+        assertEquals(GRAY_128, pixelAt(renderer, snapshot, 10, 4));
+        assertEquals(WHITE, pixelAt(renderer, snapshot, 10, 15));
+        assertEquals(WHITE, pixelAt(renderer, snapshot, 17, 16));
+        assertEquals(TRANSPARENT, pixelAt(renderer, snapshot, 2, 4));
+        assertEquals(TRANSPARENT, pixelAt(renderer, snapshot, 2, 15));
+    }
+
+    @Test
+    void tilesAwayFromTheGridShareTheEmptyTile() {
+        RiskTileRenderer renderer = renderer(16);
+        HeatmapSnapshot snapshot = snapshot(1);
+
+        byte[] pacific = renderer.getTile(snapshot, ZOOM, 0, 0);
+        assertSame(pacific, renderer.getTile(snapshot, ZOOM, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> renderer.getTile(snapshot, ZOOM, 1 << ZOOM, 0));
+        assertThrows(IllegalArgumentException.class, () -> renderer.getTile(snapshot, -1, 0, 0));
+    }
+
+    @Test
+    void cacheEvictsTheLeastRecentlyUsedTile() {
+        RiskTileRenderer renderer = renderer(2);
+        HeatmapSnapshot snapshot = snapshot(1);
+        int x = tileX(ORIGIN_LON + STEP * COLS / 2);
+        int y = tileY(ORIGIN_LAT + STEP * ROWS / 2);
+
+        byte[] a = renderer.getTile(snapshot, ZOOM, x, y);
+        byte[] b = renderer.getTile(snapshot, ZOOM, x + 1, y);
+        // a를 다시 쓰면 b가 가장 오래된 타일이 됨
+        assertSame(a, renderer.getTile(snapshot, ZOOM, x, y));
+        byte[] c = renderer.getTile(snapshot, ZOOM, x, y + 1);
+
+        assertSame(a, renderer.getTile(snapshot, ZOOM, x, y));
+        assertSame(c, renderer.getTile(snapshot, ZOOM, x, y + 1));
+        byte[] rerendered = renderer.getTile(snapshot, ZOOM, x + 1, y);
+        assertNotSame(b, rerendered);
+        assertArrayEquals(b, rerendered);
+
+        // 스냅샷 버전이 바뀌면 같은 좌표도 새로 렌더링
+        assertNotSame(a, renderer.getTile(snapshot(2), ZOOM, x, y));
+    }
+
+    private static RiskTileRenderer renderer(int cacheSize) {
+        GisConfig config = new GisConfig();
+        config.getMap().getHeatmap().setGradient(List.of("#000000", "#FFFFFF"));
+        config.getMap().getHeatmap().setTileCacheSize(cacheSize);
+        return new RiskTileRenderer(config, new SimpleMeterRegistry());
+    }
+
+    private static HeatmapSnapshot snapshot(long version) {
+        double[] latAxis = new double[ROWS];
+        double[] lonAxis = new double[COLS];
+        for (int r = 0; r < ROWS; r++) {
+            latAxis[r] = ORIGIN_LAT + r * STEP;
+        }
+        for (int c = 0; c < COLS; c++) {
+            lonAxis[c] = ORIGIN_LON + c * STEP;
+        }
+        float[] scores = new float[ROWS * COLS];
+        BitSet mask = new BitSet();
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLS; c++) {
+                scores[r * COLS + c] = c < COLS / 2 ? 1f : 2f;
+                if (r >= 5) {
+                    mask.set(r * COLS + c);
+                }
+            }
+        }
+        RiskGrid grid = new RiskGrid(latAxis, lonAxis, STEP, STEP, scores, mask);
+        return new HeatmapSnapshot(version, Instant.now(), List.of(grid), 0);
+    }
+
+    // (row, col) 칸 중심이 그려지는 픽셀의 ARGB
+    private static int pixelAt(RiskTileRenderer renderer, HeatmapSnapshot snapshot, int row, int col)
+            throws IOException {
+        double px = worldX(ORIGIN_LON + col * STEP);
+        double py = worldY(ORIGIN_LAT + row * STEP);
+        byte[] png = renderer.getTile(snapshot, ZOOM, (int) (px / 256), (int) (py / 256));
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        return image.getRGB((int) px % 256, (int) py % 256);
+    }
+
+    private static int tileX(double lon) {
+        return (int) (worldX(lon) / 256);
+    }
+
+    private static int tileY(double lat) {
+        return (int) (worldY(lat) / 256);
+    }
+
+    private static double worldX(double lon) {
+        return (lon + 180) / 360 * 256 * (1 << ZOOM);
+    }
+
+    private static double worldY(double lat) {
+        double sin = Math.sin(Math.toRadians(lat));
+        return (0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)) * 256 * (1 << ZOOM);
+    }
+}
@@ -0,0 +1,249 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * VWorld 공용 HTTP 클라이언트의 시간 제한, 동시 호출 제한(검색/지오코딩 한도 분리), 서킷 브레이커, 연결 재사용 검증
+ * (응답 지연과 상태 코드를 조절할 수 있는 로컬 스텁 서버 사용)
+ */
+class VWorldClientTest {
+
+    private static final String OK = "{\"response\":{\"status\":\"OK\"}}";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    // 요청을 보낸 클라이언트 포트 (연결 재사용 확인용)
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile long delayMs;
+    private volatile int status = 200;
+    private volatile CountDownLatch gate;
+    private GisConfig config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/req", this::handle);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        config = new GisConfig();
+        config.getVworld().setKey("test-key");
+        config.getVworld().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (gate != null) {
+            gate.countDown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void slowResponseFailsAfterReadTimeout() {
+        config.getVworld().getHttp().setReadTimeout(Duration.ofMillis(200));
+        VWorldClient client = new VWorldClient(config, new SimpleMeterRegistry());
+        delayMs = 2000;
+
+        long start = System.nanoTime();
+        assertThrows(VWorldClient.VWorldCallException.class, () -> client.get("/req/search", Map.of()));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 1500, "elapsed " + elapsedMs + "ms");
+    }
+
+    @Test
+    void callsBeyondConcurrencyLimitAreRejected() throws Exception {
+        config.getVworld().getHttp().setMaxConcurrent(2);
+        config.getVworld().getHttp().setAcquireTimeout(Duration.ofMillis(100));
+        VWorldClient client = new VWorldClient(config, new SimpleMeterRegistry());
+        gate = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = callers.submit(() -> client.get("/req/search", Map.of()));
+            Future<String> second = callers.submit(() -> client.get("/req/search", Map.of()));
+            waitForRequests(2);
+
+            // 두 호출이 응답을 기다리는 동안 세 번째 호출은 서버에 도달하지 않고 거절
+            assertThrows(VWorldClient.VWorldUnavailableException.class,
+                    () -> client.get("/req/search", Map.of()));
+            assertEquals(2, requestCount.get());
+
+            gate.countDown();
+            assertEquals(OK, first.get(5, TimeUnit.SECONDS));
+            assertEquals(OK, second.get(5, TimeUnit.SECONDS));
+            assertEquals(OK, client.get("/req/search", Map.of()));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void searchAndGeocodeHaveSeparateConcurrencyBudgets() throws Exception {
+        config.getVworld().getHttp().setMaxConcurrent(2);
+        config.getVworld().getHttp().setAcquireTimeout(Duration.ofMillis(100));
+        config.getImport().getGeocode().setMaxConcurrent(1);
+        VWorldClient client = new VWorldClient(config, new SimpleMeterRegistry());
+        gate = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            // 검색 한도를 모두 차지한 상태
+            Future<String> search1 = callers.submit(() -> client.get("/req/search", Map.of()));
+            Future<String> search2 = callers.submit(() -> client.get("/req/search", Map.of()));
+            waitForRequests(2);
+            assertThrows(VWorldClient.VWorldUnavailableException.class,
+                    () -> client.get("/req/search", Map.of()));
+
+            // 지오코딩은 자기 한도로 서버까지 도달하고, 지오코딩 한도가 차면 지오코딩 호출만 거절
+            Future<String> geocode = callers.submit(
+                    () -> client.get("/req/address", Map.of(), VWorldClient.Budget.GEOCODE));
+            waitForRequests(3);
+            assertThrows(VWorldClient.VWorldUnavailableException.class,
+                    () -> client.get("/req/address", Map.of(), VWorldClient.Budget.GEOCODE));
+            assertEquals(3, requestCount.get());
+
+            gate.countDown();
+            assertEquals(OK, search1.get(5, TimeUnit.SECONDS));
+            assertEquals(OK, search2.get(5, TimeUnit.SECONDS));
+            assertEquals(OK, geocode.get(5, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveFailuresAndRecovers() throws Exception {
+        config.getVworld().getHttp().setFailureThreshold(3);
+        config.getVworld().getHttp().setOpenDuration(Duration.ofMillis(300));
+        VWorldClient client = new VWorldClient(config, new SimpleMeterRegistry());
+        status = 503;
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(VWorldClient.VWorldCallException.class, () -> client.get("/req/search", Map.of()));
+        }
+        assertEquals(VWorldClient.CircuitState.OPEN, client.getCircuitState());
+
+        // 열린 동안에는 서버를 호출하지 않고 바로 실패
+        assertThrows(VWorldClient.VWorldUnavailableException.class, () -> client.get("/req/search", Map.of()));
+        assertEquals(3, requestCount.get());
+
+        // 차단 시간이 지나면 시험 호출 한 번으로 복구
+        status = 200;
+        Thread.sleep(350);
+        assertEquals(VWorldClient.CircuitState.HALF_OPEN, client.getCircuitState());
+        assertEquals(OK, client.get("/req/search", Map.of()));
+        assertEquals(VWorldClient.CircuitState.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void failedTrialCallReopensCircuit() throws Exception {
+        config.getVworld().getHttp().setFailureThreshold(1);
+        config.getVworld().getHttp().setOpenDuration(Duration.ofMillis(200));
+        VWorldClient client = new VWorldClient(config, new SimpleMeterRegistry());
+        status = 500;
+
+        assertThrows(VWorldClient.VWorldCallException.class, () -> client.get("/req/search", Map.of()));
+        Thread.sleep(250);
+        assertThrows(VWorldClient.VWorldCallException.class, () -> client.get("/req/search", Map.of()));
+
+        assertEquals(VWorldClient.CircuitState.OPEN, client.getCircuitState());
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        config.getVworld().getHttp().setFailureThreshold(2);
+        VWorldClient client = new VWorldClient(config, new SimpleMeterRegistry());
+        status = 400;
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(VWorldClient.VWorldCallException.class, () -> client.get("/req/search", Map.of()));
+        }
+        assertEquals(VWorldClient.CircuitState.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void sequentialCallsReuseOneConnection() {
+        VWorldClient client = new VWorldClient(config, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(OK, client.get("/req/search", Map.of()));
+        }
+
+        assertEquals(5, requestCount.get());
+        assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    void templateValuesAreEncodedWithPercentTwenty() {
+        String path = VWorldClient.expand("/req/search?query={query}&key={key}",
+                Map.of("query", "판교역 광장+1", "key", "k"));
+
+        assertEquals("/req/search?query=%ED%8C%90%EA%B5%90%EC%97%AD%20%EA%B4%91%EC%9E%A5%2B1&key=k", path);
+    }
+
+    private void waitForRequests(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (requestCount.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, requestCount.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        try {
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+            CountDownLatch latch = gate;
+            if (latch != null) {
+                latch.await(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = OK.getBytes(StandardCharsets.UTF_8);
+        try {
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            // 시간 초과로 클라이언트가 먼저 연결을 끊은 경우
+        } finally {
+            exchange.close();
+        }
+    }
+}
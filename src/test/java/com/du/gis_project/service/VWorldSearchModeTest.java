@@ -0,0 +1,251 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.dto.AddressSearchResultDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 주소 검색 동시 호출(parallel) 모드 검증: 단계별 지연을 넣은 로컬 스텁 서버 사용
+ * (호출 불가 상태가 하위 단계 결과로 바뀌지 않는지, 동시 호출 한도를 요청 단위로 예약하는지 포함)
+ */
+class VWorldSearchModeTest {
+
+    // 괄호/동 이름이 있어 정제 단계(road-refined, parcel-refined)까지 모두 호출되는 검색어
+    private static final String QUERY = "성남시 분당구 판교역로 235 (삼평동 681)";
+    private static final long DELAY_MS = 300;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    // 결과가 있는 단계 (type/category/검색어 기준 키)
+    private final Set<String> foundStages = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> delays = new ConcurrentHashMap<>();
+    // 5xx로 응답할 단계
+    private final Set<String> failingStages = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/req/search", this::handleSearch);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void parallelModeKeepsStagePriority() {
+        List<List<String>> scenarios = List.of(
+                List.of(),
+                List.of("district"),
+                List.of("road", "district"),
+                List.of("parcel-refined", "parcel"),
+                List.of("road-refined", "place"),
+                List.of("parcel-refined"));
+        for (List<String> scenario : scenarios) {
+            foundStages.clear();
+            foundStages.addAll(scenario);
+
+            AddressSearchResultDto sequential = search(VWorldService.SEARCH_MODE_SEQUENTIAL);
+            AddressSearchResultDto parallel = search(VWorldService.SEARCH_MODE_PARALLEL);
+
+            assertEquals(sequential.getFoundType(), parallel.getFoundType(), scenario.toString());
+            assertEquals(sequential.getData(), parallel.getData(), scenario.toString());
+        }
+    }
+
+    @Test
+    void worstCaseLatencyIsAboutOneUpstreamCall() {
+        for (String stage : List.of("place", "road", "road-refined", "parcel", "parcel-refined", "district")) {
+            delays.put(stage, DELAY_MS);
+        }
+        foundStages.add("district");
+
+        long start = System.nanoTime();
+        AddressSearchResultDto result = search(VWorldService.SEARCH_MODE_PARALLEL);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("district", result.getFoundType());
+        // 순차 호출이면 6 x 300ms 이상
+        assertTrue(elapsedMs < 3 * DELAY_MS, "elapsed " + elapsedMs + "ms");
+    }
+
+    @Test
+    void slowLowerPriorityStagesDoNotDelayTheResult() {
+        delays.put("road", 5000L);
+        delays.put("parcel", 5000L);
+        delays.put("district", 5000L);
+        foundStages.add("place");
+
+        long start = System.nanoTime();
+        AddressSearchResultDto result = search(VWorldService.SEARCH_MODE_PARALLEL);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("place", result.getFoundType());
+        assertTrue(elapsedMs < 2000, "elapsed " + elapsedMs + "ms");
+    }
+
+    @Test
+    void saturatedClientFailsTheSearchInsteadOfReturningNotFound() {
+        foundStages.add("place");
+        for (String mode : List.of(VWorldService.SEARCH_MODE_PARALLEL, VWorldService.SEARCH_MODE_SEQUENTIAL)) {
+            GisConfig config = config(mode);
+            config.getVworld().getHttp().setMaxConcurrent(1);
+            config.getVworld().getHttp().setAcquireTimeout(Duration.ofMillis(100));
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            VWorldClient client = new VWorldClient(config, registry);
+            VWorldService service = new VWorldService(config, client, registry);
+            try {
+                try (VWorldClient.Reservation busy = client.reserve(1)) {
+                    assertThrows(VWorldClient.VWorldUnavailableException.class, () -> service.search(QUERY), mode);
+                }
+                // 거절은 캐시되지 않으므로 한도가 풀리면 바로 결과를 받음
+                assertEquals("place", service.search(QUERY).getFoundType(), mode);
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void openCircuitDuringSearchDoesNotFallThroughToLowerStage() {
+        // place 단계 5xx로 서킷이 열리면 이후 단계는 호출되지 않음 (district 결과로 대신 응답하면 안 됨)
+        failingStages.add("place");
+        foundStages.add("district");
+        GisConfig config = config(VWorldService.SEARCH_MODE_SEQUENTIAL);
+        config.getVworld().getHttp().setFailureThreshold(1);
+        config.getVworld().getHttp().setOpenDuration(Duration.ofMinutes(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VWorldService service = new VWorldService(config, new VWorldClient(config, registry), registry);
+        try {
+            assertThrows(VWorldClient.VWorldUnavailableException.class, () -> service.search(QUERY));
+        } finally {
+            service.shutdown();
+        }
+
+        // parallel 모드: 서킷이 이미 열려 있으면 모든 단계가 거절되며 결과 없음이 아니라 호출 불가로 끝남
+        config.getVworld().setSearchMode(VWorldService.SEARCH_MODE_PARALLEL);
+        VWorldClient client = new VWorldClient(config, registry);
+        assertThrows(VWorldClient.VWorldCallException.class, () -> client.get("/req/search?type=place&query=x",
+                Map.of()));
+        VWorldService parallel = new VWorldService(config, client, registry);
+        try {
+            assertThrows(VWorldClient.VWorldUnavailableException.class, () -> parallel.search(QUERY));
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void parallelStagesShareOneRequestReservation() {
+        // 한도(2)보다 단계가 많아도 요청 하나의 단계는 예약 안에서 차례로 실행되어 거절되지 않음
+        for (String stage : List.of("place", "road", "road-refined", "parcel", "parcel-refined", "district")) {
+            delays.put(stage, 100L);
+        }
+        foundStages.add("district");
+        GisConfig config = config(VWorldService.SEARCH_MODE_PARALLEL);
+        config.getVworld().getHttp().setMaxConcurrent(2);
+        config.getVworld().getHttp().setAcquireTimeout(Duration.ofMillis(50));
+
+        AddressSearchResultDto result = search(config);
+
+        assertEquals("district", result.getFoundType());
+        assertTrue(maxInFlight.get() <= 2, "max in flight " + maxInFlight.get());
+    }
+
+    // 검색마다 새 서비스를 만들어 캐시 영향 없이 비교
+    private AddressSearchResultDto search(String mode) {
+        return search(config(mode));
+    }
+
+    private AddressSearchResultDto search(GisConfig config) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VWorldService service = new VWorldService(config, new VWorldClient(config, registry), registry);
+        try {
+            return service.search(QUERY);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private GisConfig config(String mode) {
+        GisConfig config = new GisConfig();
+        config.getVworld().setKey("test-key");
+        config.getVworld().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        config.getVworld().setSearchMode(mode);
+        return config;
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : exchange.getRequestURI().getRawQuery().split("&")) {
+            String[] kv = pair.split("=", 2);
+            params.put(kv[0], kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "");
+        }
+        String stage = stageOf(params);
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(delays.getOrDefault(stage, 0L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+
+        int status = failingStages.contains(stage) ? 500 : 200;
+        String body = foundStages.contains(stage)
+                ? "{\"response\":{\"status\":\"OK\",\"stage\":\"" + stage + "\"}}"
+                : "{\"response\":{\"status\":\"NOT_FOUND\",\"stage\":\"" + stage + "\"}}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        try {
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            // 취소된 호출은 클라이언트가 먼저 연결을 끊을 수 있음
+        }
+    }
+
+    // 요청 파라미터로 검색 단계 이름을 복원 (정제 단계는 검색어가 원본과 다름)
+    private static String stageOf(Map<String, String> params) {
+        String type = params.get("type");
+        String category = params.get("category");
+        boolean refined = !QUERY.equals(params.get("query"));
+        if ("place".equals(type) || "district".equals(type)) {
+            return type;
+        }
+        return category + (refined ? "-refined" : "");
+    }
+}
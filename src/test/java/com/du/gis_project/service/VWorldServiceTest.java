@@ -0,0 +1,123 @@
+package com.du.gis_project.service;
+
+import com.du.gis_project.config.GisConfig;
+import com.du.gis_project.domain.dto.AddressSearchResultDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * VWorld 프록시 캐시 검증 (로컬 스텁 서버 사용)
+ */
+class VWorldServiceTest {
+
+    private static final String FOUND = "{\"response\":{\"status\":\"OK\",\"record\":{\"total\":\"1\"}}}";
+    private static final String NOT_FOUND = "{\"response\":{\"status\":\"NOT_FOUND\"}}";
+
+    private HttpServer server;
+    // 스텁 서버가 받은 요청 URI (디코딩된 query 문자열)
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile String searchResponse = FOUND;
+    private volatile int addressStatus = 200;
+    private VWorldService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/req/search", exchange -> respond(exchange, 200, searchResponse));
+        server.createContext("/req/address", exchange -> respond(exchange, addressStatus, FOUND));
+        server.start();
+
+        GisConfig config = new GisConfig();
+        config.getVworld().setKey("test-key");
+        config.getVworld().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        // 단계별 호출 수를 세기 위해 순차 모드 사용 (동시 호출 모드는 VWorldSearchModeTest)
+        config.getVworld().setSearchMode(VWorldService.SEARCH_MODE_SEQUENTIAL);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service = new VWorldService(config, new VWorldClient(config, registry), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void repeatedSearchIsServedFromCache() {
+        AddressSearchResultDto first = service.search("판교역");
+        AddressSearchResultDto second = service.search("판교역");
+
+        assertEquals("place", first.getFoundType());
+        assertEquals(first.getData(), second.getData());
+        assertEquals(1, requests.size());
+        assertEquals(1, service.getSearchCacheStats().hitCount());
+    }
+
+    @Test
+    void normalizedQueriesShareCacheEntries() {
+        service.search("판교역  광장");
+        service.search(" 판교역 광장 ");
+
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void notFoundResultsAreCached() {
+        searchResponse = NOT_FOUND;
+
+        service.search("없는 주소 123");
+        int upstreamCalls = requests.size();
+        AddressSearchResultDto second = service.search("없는 주소 123");
+
+        assertTrue(upstreamCalls > 1, "모든 단계를 호출해야 함");
+        assertEquals(upstreamCalls, requests.size());
+        assertEquals("district", second.getFoundType());
+    }
+
+    @Test
+    void reverseGeocodeSharesEntriesWithinPrecision() {
+        service.reverseGeocode(127.10001, 37.40001);
+        service.reverseGeocode(127.10003, 37.40002);
+
+        assertEquals(1, requests.size());
+        assertTrue(requests.get(0).contains("point=127.1000,37.4000"), requests.get(0));
+        assertEquals(1, service.getAddressCacheStats().hitCount());
+    }
+
+    @Test
+    void upstreamErrorsAreNotCached() {
+        addressStatus = 500;
+        assertThrows(RuntimeException.class, () -> service.reverseGeocode(127.1, 37.4));
+
+        addressStatus = 200;
+        service.reverseGeocode(127.1, 37.4);
+
+        assertEquals(2, requests.size());
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        requests.add(URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8));
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
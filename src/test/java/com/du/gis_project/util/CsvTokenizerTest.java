@@ -0,0 +1,222 @@
+package com.du.gis_project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CSV 토크나이저 검증: 따옴표/이스케이프, 줄바꿈 종류, BOM, 빈 필드,
+ * 그리고 parseDouble 결과가 Double.parseDouble과 비트 단위로 같은지 (빠른 경로와 위임 경로 모두)
+ */
+class CsvTokenizerTest {
+
+    @Test
+    void quotedFieldsKeepCommasNewlinesAndEscapedQuotes() throws IOException {
+        List<List<String>> records = parse("id,name,memo\n"
+                + "1,\"성남시, 분당구\",\"그는 \"\"안전\"\"하다고\"\n"
+                + "2,\"두 줄\n주소\",\"\"\n");
+
+        assertEquals(List.of("id", "name", "memo"), records.get(0));
+        assertEquals(List.of("1", "성남시, 분당구", "그는 \"안전\"하다고"), records.get(1));
+        assertEquals(List.of("2", "두 줄\n주소", ""), records.get(2));
+        assertEquals(3, records.size());
+    }
+
+    @Test
+    void crlfLoneCrAndMissingFinalNewlineEndRecords() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e", "f")),
+                parse("a,b\r\nc,d\re,f"));
+        // 따옴표 안의 CRLF는 필드 내용
+        assertEquals(List.of(List.of("x\r\ny", "z")), parse("\"x\r\ny\",z\r\n"));
+    }
+
+    @Test
+    void crlfSplitAcrossReadBufferIsOneLineBreak() throws IOException {
+        // 입력 버퍼(64K) 끝에 \r, 다음 버퍼 처음에 \n
+        StringBuilder csv = new StringBuilder();
+        csv.append("a".repeat(64 * 1024 - 1)).append("\r\n").append("next,1\n");
+        List<List<String>> records = parse(csv.toString());
+
+        assertEquals(2, records.size());
+        assertEquals(64 * 1024 - 1, records.get(0).get(0).length());
+        assertEquals(List.of("next", "1"), records.get(1));
+    }
+
+    @Test
+    void leadingUtf8BomIsSkipped() throws IOException {
+        List<List<String>> records = parse("\uFEFF관리번호,위도\r\nA-1,37.41\r\n");
+
+        assertEquals(List.of("관리번호", "위도"), records.get(0));
+        assertEquals(List.of("A-1", "37.41"), records.get(1));
+        // BOM은 맨 앞에서만 제거
+        assertEquals(List.of(List.of("a\uFEFF")), parse("a\uFEFF\n"));
+    }
+
+    @Test
+    void emptyAndTrailingFieldsAreCounted() throws IOException {
+        try (CsvTokenizer csv = new CsvTokenizer(new StringReader("a,,c,\n,\n\n1,2,,\n"))) {
+            assertTrue(csv.next());
+            assertEquals(4, csv.fieldCount());
+            assertTrue(csv.isBlank(1));
+            assertTrue(csv.isBlank(3));
+            assertEquals("", csv.field(3));
+
+            assertTrue(csv.next());
+            assertEquals(2, csv.fieldCount());
+
+            // 빈 줄은 빈 필드 하나짜리 레코드
+            assertTrue(csv.next());
+            assertEquals(1, csv.fieldCount());
+            assertTrue(csv.isBlank(0));
+
+            assertTrue(csv.next());
+            assertEquals(4, csv.fieldCount());
+            assertTrue(Double.isNaN(csv.parseDouble(3)));
+            // 범위 밖 필드
+            assertEquals("", csv.field(4));
+            assertTrue(csv.isBlank(-1));
+            assertTrue(Double.isNaN(csv.parseDouble(9)));
+
+            assertFalse(csv.next());
+        }
+    }
+
+    @Test
+    void manyAndLongFieldsGrowTheBuffers() throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            line.append(i == 0 ? "" : ",").append("v").append(i).append("x".repeat(50));
+        }
+        List<List<String>> records = parse(line + "\n" + line + "\n");
+
+        assertEquals(2, records.size());
+        assertEquals(100, records.get(1).size());
+        assertEquals("v99" + "x".repeat(50), records.get(1).get(99));
+    }
+
+    @Test
+    void lineNumberIsThePhysicalStartLine() throws IOException {
+        try (CsvTokenizer csv = new CsvTokenizer(new StringReader("h\n\"a\nb\",1\r\nc\r\n\"d\re\"\nf"))) {
+            long[] expected = { 1, 2, 4, 5, 7 };
+            for (long line : expected) {
+                assertTrue(csv.next());
+                assertEquals(line, csv.lineNumber());
+            }
+            assertFalse(csv.next());
+        }
+    }
+
+    @Test
+    void parseDoubleMatchesDoubleParseDouble() throws IOException {
+        String[] values = {
+                "0", "-0", "+0", "0.0", "-0.0", "1", "-1", "+1", "37.419720", "127.138868", "-127.138868",
+                ".5", "-.5", "5.", "-5.", "0.1", "0.2", "0.3", "1.7976931348623157", "4.9",
+                "007.50", "0000000000000000000001.25",
+                // 빠른 경로 경계: 가수 2^53 전후, 유효 숫자 18/19개, 소수 자릿수 22/23개
+                "9007199254740992", "9007199254740993", "9007199254740991.5",
+                "123456789012345678", "1234567890123456789", "0.123456789012345678", "0.1234567890123456789",
+                "1.0000000000000000000001", "0.0000000000000000000001", "0.00000000000000000000001",
+                "37.41972012345678901234567",
+                // 지수 표기 (위임 경로)
+                "1e5", "1E5", "-1e-7", "6.02E23", "2.5e+3", ".5e1", "5.e-1", "1e400", "1e-400"
+        };
+        for (String value : values) {
+            assertSameDouble(value, parseField(value));
+            // 앞뒤 공백과 따옴표는 무시
+            assertSameDouble(value, parseField("  " + value + "\t"));
+            assertSameDouble(value, parseField("\"" + value + "\""));
+        }
+    }
+
+    @Test
+    void parseDoubleMatchesDoubleParseDoubleOnRandomDecimals() throws IOException {
+        Random random = new Random(42);
+        StringBuilder csv = new StringBuilder();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            String value = randomDecimal(random);
+            values.add(value);
+            csv.append(i % 3 == 0 ? "x," : "").append(value).append('\n');
+        }
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv.toString()))) {
+            for (int i = 0; i < values.size(); i++) {
+                assertTrue(tokenizer.next());
+                assertSameDouble(values.get(i), tokenizer.parseDouble(i % 3 == 0 ? 1 : 0));
+            }
+        }
+    }
+
+    @Test
+    void nonNumericFieldsAreNaN() throws IOException {
+        for (String value : new String[] { "", "   ", "-", "+", ".", "-.", "e5", "1.2.3", "12a", "a12", "1 2",
+                "--1", "1e", "1e+", "0x10", "1,5" }) {
+            double parsed = value.equals("1,5") ? parseField("\"1,5\"") : parseField(value);
+            assertTrue(Double.isNaN(parsed), "[" + value + "] -> " + parsed);
+        }
+    }
+
+    // 부호, 정수부(0~20자리, 앞쪽 0 포함), 소수부(0~25자리), 지수(가끔)
+    private static String randomDecimal(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int sign = random.nextInt(4);
+        if (sign == 0) {
+            sb.append('-');
+        } else if (sign == 1) {
+            sb.append('+');
+        }
+        int intDigits = random.nextInt(21);
+        int fracDigits = random.nextInt(26);
+        if (intDigits == 0 && fracDigits == 0) {
+            intDigits = 1;
+        }
+        for (int i = 0; i < intDigits; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        if (fracDigits > 0 || random.nextInt(8) == 0) {
+            sb.append('.');
+        }
+        for (int i = 0; i < fracDigits; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        if (random.nextInt(10) == 0) {
+            sb.append(random.nextBoolean() ? 'e' : 'E').append(random.nextInt(80) - 40);
+        }
+        return sb.toString();
+    }
+
+    private static void assertSameDouble(String value, double parsed) {
+        double expected = Double.parseDouble(value.trim());
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(parsed),
+                "[" + value + "] expected " + expected + " but was " + parsed);
+    }
+
+    private static double parseField(String field) throws IOException {
+        try (CsvTokenizer csv = new CsvTokenizer(new StringReader("a," + field + ",b\n"))) {
+            assertTrue(csv.next());
+            assertEquals(3, csv.fieldCount());
+            return csv.parseDouble(1);
+        }
+    }
+
+    private static List<List<String>> parse(String text) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvTokenizer csv = new CsvTokenizer(new StringReader(text))) {
+            while (csv.next()) {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < csv.fieldCount(); i++) {
+                    fields.add(csv.field(i));
+                }
+                records.add(fields);
+            }
+        }
+        return records;
+    }
+}
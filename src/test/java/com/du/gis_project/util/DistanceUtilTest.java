@@ -0,0 +1,55 @@
+package com.du.gis_project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 등장방형 근사 거리와 하버사인 거리의 오차 검증 (성남 일대 좌표 기준)
+ */
+class DistanceUtilTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void rowScaleErrorIsBelowOneCentimeterWithinHeatmapRadius() {
+        // 히트맵 계산과 같은 방식: 기준점(격자 칸) 위도의 축척 사용, 반경 300m
+        double maxError = maxError(300.0, true);
+        assertTrue(maxError < 0.01, "max error " + maxError + "m");
+    }
+
+    @Test
+    void meanLatitudeErrorIsBelowOneMillimeterWithinFiveKilometers() {
+        double maxError = maxError(5000.0, false);
+        assertTrue(maxError < 0.001, "max error " + maxError + "m");
+    }
+
+    @Test
+    void samePointHasZeroDistance() {
+        assertEquals(0.0, DistanceUtil.projectedDistanceSq(37.42, 127.13, 37.42, 127.13));
+    }
+
+    private static double maxError(double maxDistance, boolean rowScale) {
+        Random random = new Random(42);
+        double maxError = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            double lat1 = 37.30 + random.nextDouble() * 0.20;
+            double lon1 = 127.00 + random.nextDouble() * 0.25;
+            double d = random.nextDouble() * maxDistance;
+            double bearing = random.nextDouble() * 2 * Math.PI;
+            double lat2 = lat1 + d * Math.cos(bearing) / DistanceUtil.METERS_PER_DEGREE;
+            double lon2 = lon1 + d * Math.sin(bearing)
+                    / (DistanceUtil.METERS_PER_DEGREE * Math.cos(Math.toRadians(lat1)));
+
+            double distSq = rowScale
+                    ? DistanceUtil.projectedDistanceSq(lat1, lon1, lat2, lon2, DistanceUtil.lonScale(lat1))
+                    : DistanceUtil.projectedDistanceSq(lat1, lon1, lat2, lon2);
+            double haversine = DistanceUtil.calculateDistance(lat1, lon1, lat2, lon2);
+            maxError = Math.max(maxError, Math.abs(Math.sqrt(distSq) - haversine));
+        }
+        return maxError;
+    }
+}
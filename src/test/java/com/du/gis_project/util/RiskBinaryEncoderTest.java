@@ -0,0 +1,145 @@
+package com.du.gis_project.util;
+
+import com.du.gis_project.domain.dto.RiskGrid;
+import com.du.gis_project.domain.dto.RiskPointDto;
+import com.du.gis_project.domain.entity.RiskType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 바이너리 응답 형식 검증: 헤더 필드/오프셋, 점수 양자화(0 → 0, maxScore → 254, 외부 → 255),
+ * 시설물 컬럼 오프셋과 정렬, 그리고 브라우저 디코더(heatmap.js, layers.js)가 같은 오프셋을 읽는지
+ */
+class RiskBinaryEncoderTest {
+
+    private static final Path JS_DIR = Path.of("src/main/resources/static/js");
+
+    @Test
+    void heatmapHeaderAndQuantization() {
+        double[] latAxis = { 37.33, 37.33067, 37.33134 };
+        double[] lonAxis = { 127.05, 127.05082 };
+        float[] scores = { 0f, 2.5f, 5f, 7.5f, 99f, 3f };
+        BitSet mask = new BitSet();
+        mask.set(0, 5);
+        // 5번 칸(마지막 행 두 번째 열)은 성남 외부
+        RiskGrid grid = new RiskGrid(latAxis, lonAxis, 0.00067, 0.00082, scores, mask);
+
+        byte[] bytes = RiskBinaryEncoder.encodeHeatmap(grid, 7.5);
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(56 + 6, bytes.length);
+        assertEquals("RGRD", new String(bytes, 0, 4, StandardCharsets.US_ASCII));
+        assertEquals(1, buf.getInt(4));
+        assertEquals(3, buf.getInt(8));
+        assertEquals(2, buf.getInt(12));
+        assertEquals(37.33, buf.getDouble(16));
+        assertEquals(127.05, buf.getDouble(24));
+        assertEquals(0.00067, buf.getDouble(32));
+        assertEquals(0.00082, buf.getDouble(40));
+        assertEquals(7.5f, buf.getFloat(48));
+        assertEquals(0, buf.getInt(52));
+
+        int[] levels = new int[6];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = bytes[56 + i] & 0xFF;
+        }
+        // 0, 1/3, 2/3, 최대, 최대 초과(잘림), 외부
+        assertEquals(List.of(0, 85, 169, 254, 254, 255), toList(levels));
+    }
+
+    @Test
+    void facilityColumnsRoundTrip() {
+        List<RiskPointDto> points = new ArrayList<>();
+        points.add(point(7L, 37.419720, 127.138868, 1.5, RiskType.POLICE));
+        points.add(point(123_456_789_012L, 37.3300004, 127.0500006, 0.3, RiskType.CCTV));
+        points.add(point(null, -33.8688, -151.2093, 0.05, RiskType.STREET_LIGHT));
+        int n = points.size();
+
+        byte[] bytes = RiskBinaryEncoder.encodeFacilities(points);
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(16 + n * 21, bytes.length);
+        assertEquals("RPTS", new String(bytes, 0, 4, StandardCharsets.US_ASCII));
+        assertEquals(2, buf.getInt(4));
+        assertEquals(n, buf.getInt(8));
+        assertEquals(0, buf.getInt(12));
+
+        // 컬럼 시작 위치 (TypedArray는 요소 크기의 배수 오프셋에서만 만들 수 있음)
+        int ids = 16;
+        int lats = ids + n * 8;
+        int lons = lats + n * 4;
+        int weights = lons + n * 4;
+        int types = weights + n * 4;
+        assertEquals(0, ids % 8);
+        assertEquals(0, lats % 4);
+        assertEquals(0, lons % 4);
+        assertEquals(0, weights % 4);
+
+        double[] expectedIds = { 7, 123_456_789_012.0, -1 };
+        int[] expectedLats = { 37_419_720, 37_330_000, -33_868_800 };
+        int[] expectedLons = { 127_138_868, 127_050_001, -151_209_300 };
+        for (int i = 0; i < n; i++) {
+            assertEquals(expectedIds[i], buf.getDouble(ids + i * 8));
+            assertEquals(expectedLats[i], buf.getInt(lats + i * 4));
+            assertEquals(expectedLons[i], buf.getInt(lons + i * 4));
+            assertEquals((float) points.get(i).getWeight(), buf.getFloat(weights + i * 4));
+            assertEquals(points.get(i).getType().ordinal(), bytes[types + i] & 0xFF);
+        }
+    }
+
+    @Test
+    void emptyInputsOnlyHaveHeaders() {
+        RiskGrid grid = new RiskGrid(new double[0], new double[0], 0.1, 0.1, new float[0], new BitSet());
+        assertEquals(56, RiskBinaryEncoder.encodeHeatmap(grid, 1.0).length);
+        assertEquals(16, RiskBinaryEncoder.encodeFacilities(List.of()).length);
+    }
+
+    @Test
+    void browserDecodersReadTheSameOffsets() throws IOException {
+        String heatmap = Files.readString(JS_DIR.resolve("heatmap.js"));
+        for (String read : new String[] { "getInt32(8, true)", "getInt32(12, true)", "getFloat64(16, true)",
+                "getFloat64(24, true)", "getFloat64(32, true)", "getFloat64(40, true)", "getFloat32(48, true)",
+                "new Uint8Array(buffer, 56, rows * cols)", "level === 255", "level / 254 * maxScore" }) {
+            assertTrue(heatmap.contains(read), "heatmap.js decodeRiskGrid: " + read);
+        }
+
+        String layers = Files.readString(JS_DIR.resolve("layers.js"));
+        for (String read : new String[] { "getInt32(8, true)", "let offset = 16;", "new Float64Array(buffer, offset",
+                "offset += count * 8;", "new Int32Array(buffer, offset", "new Float32Array(buffer, offset",
+                "new Uint8Array(buffer, offset", "/ 1e6" }) {
+            assertTrue(layers.contains(read), "layers.js decodeRiskPoints: " + read);
+        }
+        // 타입 바이트는 RiskType ordinal
+        StringBuilder order = new StringBuilder("const RISK_TYPES = [");
+        for (RiskType type : RiskType.values()) {
+            order.append(type.ordinal() == 0 ? "" : ", ").append('\'').append(type.name()).append('\'');
+        }
+        assertTrue(layers.contains(order.append("];")), "layers.js RISK_TYPES: " + order);
+    }
+
+    private static RiskPointDto point(Long id, double lat, double lon, double weight, RiskType type) {
+        RiskPointDto dto = new RiskPointDto(lat, lon, weight, type);
+        dto.setId(id);
+        return dto;
+    }
+
+    private static List<Integer> toList(int[] values) {
+        List<Integer> list = new ArrayList<>();
+        for (int v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,174 @@
+package com.du.gis_project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 공간 인덱스 검증: 후보를 반경 판정으로 거른 결과가 전체 선형 탐색 결과와 같아야 함
+ * (버킷 경계 위/바로 옆의 점, 인덱스 범위 밖 검색 중심 포함)
+ */
+class SpatialGridIndexTest {
+
+    private static final double RADIUS = 300.0;
+    // 인덱스가 점들을 담는 범위 (모서리 점으로 고정)
+    private static final double MIN_LAT = 37.33;
+    private static final double MAX_LAT = 37.49;
+    private static final double MIN_LON = 127.05;
+    private static final double MAX_LON = 127.18;
+
+    @Test
+    void filteredCandidatesMatchLinearScan() {
+        Random random = new Random(3);
+        double[][] points = points(random);
+        double[] lats = points[0];
+        double[] lons = points[1];
+        SpatialGridIndex index = new SpatialGridIndex(lats, lons, RADIUS);
+        int[] buffer = new int[index.size()];
+
+        List<double[]> queries = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            // 인덱스 범위보다 반경 몇 개만큼 넓은 영역
+            queries.add(new double[] { MIN_LAT - 0.01 + random.nextDouble() * (MAX_LAT - MIN_LAT + 0.02),
+                    MIN_LON - 0.01 + random.nextDouble() * (MAX_LON - MIN_LON + 0.02) });
+        }
+        for (int k = 0; k <= rows(); k += 7) {
+            for (int c = 0; c <= cols(); c += 5) {
+                // 버킷 경계 교차점과 그 바로 옆
+                double lat = MIN_LAT + k * cellLat();
+                double lon = MIN_LON + c * cellLon();
+                queries.add(new double[] { lat, lon });
+                queries.add(new double[] { Math.nextDown(lat), Math.nextUp(lon) });
+            }
+        }
+        // 인덱스 범위 바로 밖 (반경 안에 범위 가장자리 점이 있음) / 멀리 밖
+        queries.add(new double[] { MIN_LAT - 0.001, MIN_LON - 0.001 });
+        queries.add(new double[] { MAX_LAT + 0.001, MAX_LON + 0.001 });
+        queries.add(new double[] { MIN_LAT - 0.002, (MIN_LON + MAX_LON) / 2 });
+        queries.add(new double[] { (MIN_LAT + MAX_LAT) / 2, MAX_LON + 0.0035 });
+        queries.add(new double[] { 36.0, 126.0 });
+        queries.add(new double[] { 38.0, 128.5 });
+
+        int nonEmpty = 0;
+        for (double[] q : queries) {
+            int count = index.query(q[0], q[1], RADIUS, buffer);
+            int[] candidates = Arrays.copyOf(buffer, count);
+            for (int k = 1; k < count; k++) {
+                assertTrue(candidates[k - 1] < candidates[k], "candidates must be ascending and unique");
+            }
+
+            List<Integer> expected = linearScan(lats, lons, q[0], q[1]);
+            List<Integer> actual = new ArrayList<>();
+            for (int i : candidates) {
+                if (within(lats[i], lons[i], q[0], q[1])) {
+                    actual.add(i);
+                }
+            }
+            assertEquals(expected, actual, "query " + q[0] + "," + q[1]);
+            if (!expected.isEmpty()) {
+                nonEmpty++;
+            }
+        }
+        assertTrue(nonEmpty > queries.size() / 2, "nonEmpty " + nonEmpty);
+    }
+
+    @Test
+    void queriesFarOutsideTheIndexReturnNothing() {
+        double[][] points = points(new Random(4));
+        SpatialGridIndex index = new SpatialGridIndex(points[0], points[1], RADIUS);
+        int[] buffer = new int[index.size()];
+
+        assertEquals(0, index.query(MIN_LAT - 0.01, MIN_LON, RADIUS, buffer));
+        assertEquals(0, index.query(MAX_LAT, MAX_LON + 0.02, RADIUS, buffer));
+        assertEquals(0, index.query(-37.4, -127.1, RADIUS, buffer));
+    }
+
+    @Test
+    void emptyAndDegenerateIndexes() {
+        SpatialGridIndex empty = new SpatialGridIndex(new double[0], new double[0], RADIUS);
+        assertEquals(0, empty.size());
+        assertEquals(0, empty.query(37.4, 127.1, RADIUS, new int[0]));
+
+        // 모든 점이 한 위도 / 한 좌표에 있는 경우 (버킷 한 행/한 칸)
+        double[] lats = { 37.4, 37.4, 37.4, 37.4 };
+        double[] lons = { 127.1, 127.1, 127.101, 127.2 };
+        SpatialGridIndex line = new SpatialGridIndex(lats, lons, RADIUS);
+        int[] buffer = new int[line.size()];
+        int count = line.query(37.4, 127.1, RADIUS, buffer);
+        List<Integer> actual = new ArrayList<>();
+        for (int k = 0; k < count; k++) {
+            if (within(lats[buffer[k]], lons[buffer[k]], 37.4, 127.1)) {
+                actual.add(buffer[k]);
+            }
+        }
+        assertEquals(linearScan(lats, lons, 37.4, 127.1), actual);
+        assertEquals(List.of(0, 1, 2), actual);
+    }
+
+    // 임의 점 + 모서리 고정점 + 버킷 경계 위/바로 옆 점
+    private static double[][] points(Random random) {
+        List<double[]> points = new ArrayList<>();
+        points.add(new double[] { MIN_LAT, MIN_LON });
+        points.add(new double[] { MAX_LAT, MAX_LON });
+        points.add(new double[] { MIN_LAT, MAX_LON });
+        points.add(new double[] { MAX_LAT, MIN_LON });
+        for (int i = 0; i < 4000; i++) {
+            points.add(new double[] { MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT),
+                    MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON) });
+        }
+        for (int i = 0; i < 1500; i++) {
+            double lat = Math.min(MAX_LAT, MIN_LAT + random.nextInt(rows() + 1) * cellLat());
+            double lon = Math.min(MAX_LON, MIN_LON + random.nextInt(cols() + 1) * cellLon());
+            switch (random.nextInt(3)) {
+                case 0 -> points.add(new double[] { lat, lon });
+                case 1 -> points.add(new double[] { Math.max(MIN_LAT, Math.nextDown(lat)), lon });
+                default -> points.add(new double[] { lat, Math.min(MAX_LON, Math.nextUp(lon)) });
+            }
+        }
+        double[] lats = new double[points.size()];
+        double[] lons = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            lats[i] = points.get(i)[0];
+            lons[i] = points.get(i)[1];
+        }
+        return new double[][] { lats, lons };
+    }
+
+    // 히트맵 계산과 같은 판정 (검색 중심 위도의 축척으로 평면 근사한 거리)
+    private static boolean within(double lat, double lon, double qLat, double qLon) {
+        return DistanceUtil.projectedDistanceSq(qLat, qLon, lat, lon, DistanceUtil.lonScale(qLat)) < RADIUS * RADIUS;
+    }
+
+    private static List<Integer> linearScan(double[] lats, double[] lons, double qLat, double qLon) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < lats.length; i++) {
+            if (within(lats[i], lons[i], qLat, qLon)) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    // 인덱스와 같은 방식으로 계산한 버킷 크기 (점 범위는 모서리 고정점으로 정해짐)
+    private static double cellLat() {
+        return RADIUS / DistanceUtil.METERS_PER_DEGREE;
+    }
+
+    private static double cellLon() {
+        return RADIUS / (DistanceUtil.METERS_PER_DEGREE * Math.cos(Math.toRadians((MIN_LAT + MAX_LAT) / 2)));
+    }
+
+    private static int rows() {
+        return (int) ((MAX_LAT - MIN_LAT) / cellLat());
+    }
+
+    private static int cols() {
+        return (int) ((MAX_LON - MIN_LON) / cellLon());
+    }
+}